@@ -0,0 +1,255 @@
+/*
+ * File: DelegatingBackingMapListenerBenchmark.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.coherence.common.builders.ParameterizedBuilder;
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEvent;
+import com.oracle.coherence.common.events.dispatching.EventDispatcher;
+import com.oracle.coherence.common.events.dispatching.SimpleEventDispatcher;
+import com.oracle.coherence.common.events.dispatching.listeners.DelegatingBackingMapListener;
+import com.oracle.coherence.common.events.processing.EventProcessor;
+import com.oracle.coherence.configuration.caching.CacheMapping;
+import com.oracle.coherence.configuration.caching.CacheMappingRegistry;
+import com.oracle.coherence.configuration.parameters.ParameterProvider;
+import com.oracle.coherence.environment.Environment;
+import com.tangosol.net.BackingMapManagerContext;
+import com.tangosol.util.Binary;
+import com.tangosol.util.MapEvent;
+import com.tangosol.util.ObservableHashMap;
+
+/**
+ * Measures the cost of a {@link DelegatingBackingMapListener} raising and synchronously dispatching backing map
+ * events to a cache {@link EventProcessor}, with and without reusable (thread-confined) events.
+ * <p>
+ * The {@link BackingMapManagerContext} and {@link Environment} are simple dynamic proxies (rather than mocks) so
+ * that they contribute little to the measurements.  Use the JMH GC profiler to compare allocation rates:
+ * <pre>
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar DelegatingBackingMapListenerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DelegatingBackingMapListenerBenchmark
+{
+    /**
+     * Whether the {@link DelegatingBackingMapListener} reuses events.
+     */
+    @Param({"false", "true"})
+    public boolean reuse;
+
+    private DelegatingBackingMapListener listener;
+
+    private CountingEventProcessor processor;
+
+    private MapEvent insertEvent;
+
+    private MapEvent updateEvent;
+
+
+    @Setup
+    public void setup()
+    {
+        processor = new CountingEventProcessor();
+
+        CacheMapping cacheMapping = new CacheMapping("benchmark", "benchmark-scheme", null);
+        cacheMapping.addEnrichment(ParameterizedBuilder.class, "event-processor", new ProcessorBuilder(processor));
+
+        CacheMappingRegistry registry = new CacheMappingRegistry();
+        registry.addCacheMapping(cacheMapping);
+
+        Environment environment = newEnvironment(registry);
+
+        listener = new DelegatingBackingMapListener(newContext(), "benchmark", environment);
+        listener.setReusingEvents(reuse);
+
+        ObservableHashMap map = new ObservableHashMap();
+        Binary key = new Binary("key".getBytes());
+        Binary oldValue = new Binary("old-value".getBytes());
+        Binary newValue = new Binary("new-value".getBytes());
+
+        insertEvent = new MapEvent(map, MapEvent.ENTRY_INSERTED, key, null, newValue);
+        updateEvent = new MapEvent(map, MapEvent.ENTRY_UPDATED, key, oldValue, newValue);
+    }
+
+
+    @Benchmark
+    public long entryInserted()
+    {
+        listener.entryInserted(insertEvent);
+
+        return processor.count;
+    }
+
+
+    @Benchmark
+    public long entryUpdated()
+    {
+        listener.entryUpdated(updateEvent);
+
+        return processor.count;
+    }
+
+
+    /**
+     * Creates a {@link BackingMapManagerContext} that owns every key and never reports decorations.
+     *
+     * @return A {@link BackingMapManagerContext}
+     */
+    private static BackingMapManagerContext newContext()
+    {
+        return (BackingMapManagerContext) Proxy.newProxyInstance(BackingMapManagerContext.class.getClassLoader(),
+                                                                 new Class<?>[] {BackingMapManagerContext.class},
+                                                                 new InvocationHandler()
+        {
+            public Object invoke(Object proxy,
+                                 Method method,
+                                 Object[] args)
+            {
+                if (method.getName().equals("isKeyOwned"))
+                {
+                    return Boolean.TRUE;
+                }
+                else if (method.getReturnType() == boolean.class)
+                {
+                    return Boolean.FALSE;
+                }
+                else
+                {
+                    return null;
+                }
+            }
+        });
+    }
+
+
+    /**
+     * Creates an {@link Environment} providing the specified {@link CacheMappingRegistry} and a
+     * {@link SimpleEventDispatcher}.
+     *
+     * @param registry The {@link CacheMappingRegistry}
+     *
+     * @return An {@link Environment}
+     */
+    private static Environment newEnvironment(final CacheMappingRegistry registry)
+    {
+        final Object[] dispatcher = new Object[1];
+
+        Environment environment = (Environment) Proxy.newProxyInstance(Environment.class.getClassLoader(),
+                                                                       new Class<?>[] {Environment.class},
+                                                                       new InvocationHandler()
+        {
+            public Object invoke(Object proxy,
+                                 Method method,
+                                 Object[] args)
+            {
+                if (method.getName().equals("getResource") && args.length == 1)
+                {
+                    if (args[0] == CacheMappingRegistry.class)
+                    {
+                        return registry;
+                    }
+                    else if (args[0] == EventDispatcher.class)
+                    {
+                        return dispatcher[0];
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        dispatcher[0] = new SimpleEventDispatcher(environment);
+
+        return environment;
+    }
+
+
+    /**
+     * An {@link EventProcessor} that counts the {@link BackingMapEntryEvent}s it processes (reading their values as a
+     * typical processor would).
+     */
+    public static class CountingEventProcessor implements EventProcessor<Event>
+    {
+        private long count;
+
+
+        public void process(EventDispatcher eventDispatcher,
+                            Event event)
+        {
+            if (event instanceof BackingMapEntryEvent && ((BackingMapEntryEvent) event).getEntry().getBinaryValue() != null)
+            {
+                count++;
+            }
+        }
+    }
+
+
+    /**
+     * A {@link ParameterizedBuilder} for a pre-constructed {@link EventProcessor}.
+     */
+    private static class ProcessorBuilder implements ParameterizedBuilder<EventProcessor<Event>>
+    {
+        private final EventProcessor<Event> processor;
+
+
+        ProcessorBuilder(EventProcessor<Event> processor)
+        {
+            this.processor = processor;
+        }
+
+
+        public EventProcessor<Event> realize(ParameterProvider parameterProvider)
+        {
+            return processor;
+        }
+
+
+        public boolean realizesClassOf(Class<?> clazz,
+                                       ParameterProvider parameterProvider)
+        {
+            return clazz.isInstance(processor);
+        }
+    }
+}
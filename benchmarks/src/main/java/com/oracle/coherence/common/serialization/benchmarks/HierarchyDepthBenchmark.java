@@ -0,0 +1,128 @@
+/*
+ * File: HierarchyDepthBenchmark.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.coherence.common.serialization.ReflectiveSerializer;
+import com.tangosol.io.ByteArrayWriteBuffer;
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+/**
+ * Measures the cost of serializing and deserializing reflected types with the {@link ReflectiveSerializer} for
+ * increasing depths of {@link com.oracle.coherence.common.serialization.annotations.PofType} inheritance.
+ * <p>
+ * To compare implementations, run the benchmark against each build of coherence-common, for example:
+ * <pre>
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar HierarchyDepthBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HierarchyDepthBenchmark
+{
+    /**
+     * The number of levels of inheritance below the root of the hierarchy.
+     */
+    @Param({"0", "1", "2", "3"})
+    public int depth;
+
+    private ConfigurablePofContext pofContext;
+
+    private Object value;
+
+    private Binary binary;
+
+    private ByteArrayWriteBuffer buffer;
+
+
+    @Setup
+    public void setup()
+    {
+        pofContext = new ConfigurablePofContext(
+            "com/oracle/coherence/common/serialization/benchmarks/benchmark-pof-config.xml");
+
+        HierarchyLevel0 level;
+
+        switch (depth)
+        {
+        case 0 :
+            level = new HierarchyLevel0();
+            break;
+
+        case 1 :
+            level = new HierarchyLevel1();
+            break;
+
+        case 2 :
+            level = new HierarchyLevel2();
+            break;
+
+        default :
+            level = new HierarchyLevel3();
+            break;
+        }
+
+        level.init();
+
+        value = level;
+        binary = ExternalizableHelper.toBinary(value, pofContext);
+        buffer = new ByteArrayWriteBuffer(1024);
+    }
+
+
+    @Benchmark
+    public int serialize() throws IOException
+    {
+        buffer.clear();
+        pofContext.serialize(buffer.getBufferOutput(), value);
+
+        return buffer.length();
+    }
+
+
+    @Benchmark
+    public Object deserialize() throws IOException
+    {
+        return pofContext.deserialize(binary.getBufferInput());
+    }
+}
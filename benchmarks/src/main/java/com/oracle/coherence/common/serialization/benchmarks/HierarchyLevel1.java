@@ -0,0 +1,59 @@
+/*
+ * File: HierarchyLevel1.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.benchmarks;
+
+import com.oracle.coherence.common.serialization.annotations.PofType;
+
+/**
+ * Level 1 of the {@link PofType} hierarchy used to measure the cost of serializing each level of inheritance.
+ */
+@PofType(id = 2001)
+public class HierarchyLevel1 extends HierarchyLevel0
+{
+    private int count1;
+
+    private double value1;
+
+    private String name1;
+
+
+    /**
+     * Standard Constructor (required for serialization).
+     */
+    public HierarchyLevel1()
+    {
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init()
+    {
+        super.init();
+
+        count1 = 1;
+        value1 = 1.5;
+        name1 = "level-1";
+    }
+}
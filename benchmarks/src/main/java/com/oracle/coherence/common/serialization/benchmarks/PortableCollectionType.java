@@ -0,0 +1,117 @@
+/*
+ * File: PortableCollectionType.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+/**
+ * A hand-written {@link PortableObject} equivalent of the reflected CollectionType test type.
+ */
+public class PortableCollectionType implements PortableObject
+{
+    private Map<String, String> explicitMapStringToString;
+
+    private ArrayList<String> implicitListOfStrings;
+
+    private List<List<String>> listOfListOfStrings;
+
+    private List<String> listOfStrings;
+
+    private Map<String, String> mapStringToString;
+
+    private TreeMap<String, String> treeMapStringToString;
+
+
+    /**
+     * Standard Constructor (required for serialization).
+     */
+    public PortableCollectionType()
+    {
+    }
+
+
+    /**
+     * Initializes the fields with the same values as CollectionType.init().
+     */
+    public void init()
+    {
+        Map<String, String> map = new HashMap<String, String>();
+
+        map.put("one", "ett");
+        map.put("two", "tva");
+        map.put("three", "tre");
+        map.put("four", "fyra");
+
+        listOfStrings = new ArrayList<String>(Arrays.asList("one", "two", "three", "four"));
+
+        listOfListOfStrings = new ArrayList<List<String>>();
+        listOfListOfStrings.add(listOfStrings);
+        listOfListOfStrings.add(listOfStrings);
+
+        implicitListOfStrings = new ArrayList<String>(listOfStrings);
+        mapStringToString = new ConcurrentHashMap<String, String>(map);
+        explicitMapStringToString = new HashMap<String, String>(map);
+        treeMapStringToString = new TreeMap<String, String>(map);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readExternal(PofReader reader) throws IOException
+    {
+        explicitMapStringToString = reader.readMap(1, new ConcurrentHashMap<String, String>());
+        implicitListOfStrings = (ArrayList<String>) reader.readCollection(2, new ArrayList<String>());
+        listOfListOfStrings = (List<List<String>>) reader.readCollection(3, new ArrayList<List<String>>());
+        listOfStrings = (List<String>) reader.readCollection(4, new ArrayList<String>());
+        mapStringToString = reader.readMap(5, new HashMap<String, String>());
+        treeMapStringToString = (TreeMap<String, String>) reader.readMap(6, new TreeMap<String, String>());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeExternal(PofWriter writer) throws IOException
+    {
+        writer.writeMap(1, explicitMapStringToString, String.class, String.class);
+        writer.writeCollection(2, implicitListOfStrings, String.class);
+        writer.writeCollection(3, listOfListOfStrings);
+        writer.writeCollection(4, listOfStrings, String.class);
+        writer.writeMap(5, mapStringToString, String.class, String.class);
+        writer.writeMap(6, treeMapStringToString, String.class, String.class);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * File: PortableComplexType.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.benchmarks;
+
+import java.io.IOException;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+/**
+ * A hand-written {@link PortableObject} equivalent of the reflected ComplexType test type.
+ */
+public class PortableComplexType implements PortableObject
+{
+    private Object[] objectArrayField;
+
+
+    /**
+     * Standard Constructor (required for serialization).
+     */
+    public PortableComplexType()
+    {
+    }
+
+
+    /**
+     * Initializes the fields with the same values as ComplexType.init().
+     */
+    public void init()
+    {
+        objectArrayField = new Object[] {"a", "b", "c"};
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readExternal(PofReader reader) throws IOException
+    {
+        objectArrayField = reader.readObjectArray(1, new Object[0]);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeExternal(PofWriter writer) throws IOException
+    {
+        writer.writeObjectArray(1, objectArrayField);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * File: PortableSimpleType.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.benchmarks;
+
+import java.io.IOException;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+/**
+ * A hand-written {@link PortableObject} equivalent of the reflected SimpleType test type.
+ */
+public class PortableSimpleType implements PortableObject
+{
+    private int a;
+
+    private float b;
+
+    private double c;
+
+    private byte d;
+
+    private boolean f;
+
+    private short g;
+
+    private long h;
+
+
+    /**
+     * Standard Constructor (required for serialization).
+     */
+    public PortableSimpleType()
+    {
+    }
+
+
+    /**
+     * Initializes the fields with the same values as SimpleType.init().
+     */
+    public void init()
+    {
+        a = 1;
+        b = 2.0f;
+        c = 3.0;
+        d = 4;
+        f = true;
+        g = 6;
+        h = 7;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readExternal(PofReader reader) throws IOException
+    {
+        a = reader.readInt(1);
+        b = reader.readFloat(2);
+        c = reader.readDouble(3);
+        d = reader.readByte(4);
+        f = reader.readBoolean(5);
+        g = reader.readShort(6);
+        h = reader.readLong(7);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeExternal(PofWriter writer) throws IOException
+    {
+        writer.writeInt(1, a);
+        writer.writeFloat(2, b);
+        writer.writeDouble(3, c);
+        writer.writeByte(4, d);
+        writer.writeBoolean(5, f);
+        writer.writeShort(6, g);
+        writer.writeLong(7, h);
+    }
+}
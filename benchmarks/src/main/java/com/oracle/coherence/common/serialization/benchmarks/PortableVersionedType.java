@@ -0,0 +1,193 @@
+/*
+ * File: PortableVersionedType.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.benchmarks;
+
+import java.io.IOException;
+
+import com.tangosol.io.pof.EvolvablePortableObject;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.util.Binary;
+
+/**
+ * A hand-written {@link EvolvablePortableObject} equivalent of the reflected VersionedType test type (version 1).
+ */
+public class PortableVersionedType implements EvolvablePortableObject
+{
+    private int a;
+
+    private float b;
+
+    private double c;
+
+    private byte d;
+
+    private boolean f;
+
+    private short g;
+
+    private long h;
+
+    private int a1;
+
+    private float b1;
+
+    private double c1;
+
+    private byte d1;
+
+    private boolean f1;
+
+    private short g1;
+
+    private long h1;
+
+    private int dataVersion;
+
+    private Binary futureData;
+
+
+    /**
+     * Standard Constructor (required for serialization).
+     */
+    public PortableVersionedType()
+    {
+    }
+
+
+    /**
+     * Initializes the fields with the same values as VersionedType.init(1).
+     */
+    public void init()
+    {
+        a = 1;
+        b = 2.0f;
+        c = 3.0;
+        d = 4;
+        f = true;
+        g = 6;
+        h = 7;
+        a1 = 10;
+        b1 = 20.0f;
+        c1 = 30.0;
+        d1 = 40;
+        f1 = true;
+        g1 = 60;
+        h1 = 70;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getImplVersion()
+    {
+        return 1;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getDataVersion()
+    {
+        return dataVersion;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDataVersion(int dataVersion)
+    {
+        this.dataVersion = dataVersion;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Binary getFutureData()
+    {
+        return futureData;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFutureData(Binary futureData)
+    {
+        this.futureData = futureData;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readExternal(PofReader reader) throws IOException
+    {
+        a = reader.readInt(1);
+        b = reader.readFloat(2);
+        c = reader.readDouble(3);
+        d = reader.readByte(4);
+        f = reader.readBoolean(5);
+        g = reader.readShort(6);
+        h = reader.readLong(7);
+        a1 = reader.readInt(8);
+        b1 = reader.readFloat(9);
+        c1 = reader.readDouble(10);
+        d1 = reader.readByte(11);
+        f1 = reader.readBoolean(12);
+        g1 = reader.readShort(13);
+        h1 = reader.readLong(14);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeExternal(PofWriter writer) throws IOException
+    {
+        writer.writeInt(1, a);
+        writer.writeFloat(2, b);
+        writer.writeDouble(3, c);
+        writer.writeByte(4, d);
+        writer.writeBoolean(5, f);
+        writer.writeShort(6, g);
+        writer.writeLong(7, h);
+        writer.writeInt(8, a1);
+        writer.writeFloat(9, b1);
+        writer.writeDouble(10, c1);
+        writer.writeByte(11, d1);
+        writer.writeBoolean(12, f1);
+        writer.writeShort(13, g1);
+        writer.writeLong(14, h1);
+    }
+}
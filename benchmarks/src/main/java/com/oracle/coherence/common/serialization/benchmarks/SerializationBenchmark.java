@@ -0,0 +1,221 @@
+/*
+ * File: SerializationBenchmark.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.coherence.common.serialization.CollectionType;
+import com.oracle.coherence.common.serialization.ComplexType;
+import com.oracle.coherence.common.serialization.DefaultReflectedPofSerializer;
+import com.oracle.coherence.common.serialization.SimpleType;
+import com.oracle.coherence.common.serialization.VersionedType;
+import com.tangosol.io.ByteArrayWriteBuffer;
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+/**
+ * Compares the reflective serialization (by the {@link DefaultReflectedPofSerializer}) of the unit test types
+ * with equivalent hand-written {@link com.tangosol.io.pof.PortableObject}s.
+ * <p>
+ * Throughput is reported per operation, the size of the serialized form by the <code>bytes</code> counter
+ * (divide by the operation count for bytes per operation) and allocation per operation when run with the
+ * JMH GC profiler, for example:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SerializationBenchmark -prof gc
+ * </pre>
+ * The benchmark requires the test classes of coherence-common (<code>mvn install</code> publishes them as the
+ * <code>tests</code> artifact).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SerializationBenchmark
+{
+    /**
+     * The type of value to serialize.
+     */
+    @Param({"SimpleType", "ComplexType", "CollectionType", "VersionedType"})
+    public String type;
+
+    /**
+     * How the value is serialized: "reflected" uses the ReflectiveSerializer, "portable" uses a
+     * hand-written PortableObject.
+     */
+    @Param({"reflected", "portable"})
+    public String serialization;
+
+    private ConfigurablePofContext pofContext;
+
+    private Object value;
+
+    private Binary binary;
+
+    private ByteArrayWriteBuffer buffer;
+
+
+    /**
+     * Counts the number of bytes produced by serialization.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SerializedBytes
+    {
+        public long bytes;
+
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            bytes = 0;
+        }
+    }
+
+
+    @Setup
+    public void setup()
+    {
+        pofContext = new ConfigurablePofContext(
+            "com/oracle/coherence/common/serialization/benchmarks/benchmark-pof-config.xml");
+
+        value = "portable".equals(serialization) ? createPortableValue(type) : createReflectedValue(type);
+        binary = ExternalizableHelper.toBinary(value, pofContext);
+        buffer = new ByteArrayWriteBuffer(4096);
+    }
+
+
+    @Benchmark
+    public int serialize(SerializedBytes counter) throws IOException
+    {
+        buffer.clear();
+        pofContext.serialize(buffer.getBufferOutput(), value);
+
+        counter.bytes += buffer.length();
+
+        return buffer.length();
+    }
+
+
+    @Benchmark
+    public Object deserialize() throws IOException
+    {
+        return pofContext.deserialize(binary.getBufferInput());
+    }
+
+
+    /**
+     * Creates an initialized instance of the named reflected unit test type.
+     */
+    private static Object createReflectedValue(String type)
+    {
+        if ("SimpleType".equals(type))
+        {
+            SimpleType value = new SimpleType();
+
+            value.init();
+
+            return value;
+        }
+        else if ("ComplexType".equals(type))
+        {
+            ComplexType value = new ComplexType();
+
+            value.init();
+
+            return value;
+        }
+        else if ("CollectionType".equals(type))
+        {
+            CollectionType value = new CollectionType();
+
+            value.init();
+
+            return value;
+        }
+        else
+        {
+            VersionedType value = new VersionedType();
+
+            value.init(1);
+
+            return value;
+        }
+    }
+
+
+    /**
+     * Creates an initialized instance of the hand-written equivalent of the named reflected unit test type.
+     */
+    private static Object createPortableValue(String type)
+    {
+        if ("SimpleType".equals(type))
+        {
+            PortableSimpleType value = new PortableSimpleType();
+
+            value.init();
+
+            return value;
+        }
+        else if ("ComplexType".equals(type))
+        {
+            PortableComplexType value = new PortableComplexType();
+
+            value.init();
+
+            return value;
+        }
+        else if ("CollectionType".equals(type))
+        {
+            PortableCollectionType value = new PortableCollectionType();
+
+            value.init();
+
+            return value;
+        }
+        else
+        {
+            PortableVersionedType value = new PortableVersionedType();
+
+            value.init();
+
+            return value;
+        }
+    }
+}
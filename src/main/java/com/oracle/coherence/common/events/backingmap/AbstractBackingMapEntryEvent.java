@@ -38,11 +38,21 @@ import com.tangosol.util.extractor.EntryExtractor;
 /**
  * <p>A base implementation for {@link BackingMapEntryEvent}s.</p>
  * 
+ * <p>{@link AbstractBackingMapEntryEvent}s may be reusable (flyweight) instances provided by a
+ * {@link BackingMapEntryEventPool}.  Reusable instances are only valid while they are being processed
+ * (synchronously), so those retaining {@link BackingMapEntryEvent}s should use
+ * {@link BackingMapEntryEventPool#ensureRetainable(com.oracle.coherence.common.events.Event)} (or {@link #copy()}).</p>
+ * 
  * @author Brian Oliver
  */
 public abstract class AbstractBackingMapEntryEvent implements BackingMapEntryEvent
 {
 
+    /**
+     * <p>The partition identifier of a {@link BackingMapEntryEvent} whose partition can't be determined.</p>
+     */
+    public static final int UNKNOWN_PARTITION = -1;
+
     /**
      * <p>The {@link BackingMapManagerContext} in which the {@link BackingMapEntryEvent} occurred.</p>
      */
@@ -58,6 +68,16 @@ public abstract class AbstractBackingMapEntryEvent implements BackingMapEntryEve
      */
     private final EventEntry entry;
 
+    /**
+     * <p>Whether the {@link BackingMapEntryEvent} is a reusable (pooled) instance.</p>
+     */
+    private boolean isReusable;
+
+    /**
+     * <p>The partition of the {@link Entry} (determined lazily, {@link #UNKNOWN_PARTITION} until then).</p>
+     */
+    private int partitionId;
+
 
     /**
      * <p>Standard Constructor (when using {@link Entry}s).</p>
@@ -72,6 +92,7 @@ public abstract class AbstractBackingMapEntryEvent implements BackingMapEntryEve
     {
         this.backingMapManagerContext = backingMapManagerContext;
         this.cacheName = cacheName;
+        this.partitionId = UNKNOWN_PARTITION;
 
         if (entry instanceof EventEntry)
         {
@@ -103,11 +124,27 @@ public abstract class AbstractBackingMapEntryEvent implements BackingMapEntryEve
     {
         this.backingMapManagerContext = backingMapManagerContext;
         this.cacheName = cacheName;
+        this.partitionId = UNKNOWN_PARTITION;
 
         this.entry = new EventEntry(key, value);
     }
 
 
+    /**
+     * <p>Copy Constructor.  The copy is never reusable.</p>
+     * 
+     * @param event The {@link AbstractBackingMapEntryEvent} to copy
+     */
+    protected AbstractBackingMapEntryEvent(AbstractBackingMapEntryEvent event)
+    {
+        this.backingMapManagerContext = event.backingMapManagerContext;
+        this.cacheName = event.cacheName;
+        this.partitionId = event.partitionId;
+
+        this.entry = new EventEntry(event.entry);
+    }
+
+
     /**
      * {@inheritDoc}
      */
@@ -135,6 +172,101 @@ public abstract class AbstractBackingMapEntryEvent implements BackingMapEntryEve
     }
 
 
+    /**
+     * <p>Returns the partition (as determined by {@link BackingMapManagerContext#getKeyPartition(Binary)}) of the
+     * {@link BinaryEntry} on which the {@link BackingMapEntryEvent} occurred.  {@link BackingMapEntryEvent}s for the
+     * same partition are raised in order, so the partition may be used to process them concurrently with
+     * {@link BackingMapEntryEvent}s for other partitions without losing their order.</p>
+     * 
+     * @return The partition identifier or {@link #UNKNOWN_PARTITION} if it can't be determined
+     */
+    public int getPartitionId()
+    {
+        // the partition is determined lazily as many events are never routed by partition
+        // (racing threads will determine the same partition)
+        if (partitionId == UNKNOWN_PARTITION && backingMapManagerContext != null)
+        {
+            Binary binaryKey = entry.getBinaryKey();
+
+            if (binaryKey != null)
+            {
+                partitionId = backingMapManagerContext.getKeyPartition(binaryKey);
+            }
+        }
+
+        return partitionId;
+    }
+
+
+    /**
+     * <p>Determines if the {@link BackingMapEntryEvent} is a reusable (flyweight) instance.  Reusable instances are
+     * only valid while they are being processed (synchronously), after which they are reinitialized for other
+     * {@link BackingMapEntryEvent}s.  They must not be retained by
+     * {@link com.oracle.coherence.common.events.processing.EventProcessor}s (use {@link #copy()} instead).</p>
+     * 
+     * @return true if the {@link BackingMapEntryEvent} is reusable
+     */
+    public boolean isReusable()
+    {
+        return isReusable;
+    }
+
+
+    /**
+     * <p>Marks the {@link BackingMapEntryEvent} as a reusable (pooled) instance.</p>
+     * 
+     * @param isReusable Whether the {@link BackingMapEntryEvent} is reusable
+     */
+    void setReusable(boolean isReusable)
+    {
+        this.isReusable = isReusable;
+    }
+
+
+    /**
+     * <p>Reinitializes a reusable {@link BackingMapEntryEvent} for another key and value.</p>
+     * 
+     * @param key   The key associated with this event
+     * @param value The value associated with this event
+     */
+    void reuse(Object key,
+               Object value)
+    {
+        entry.reset(key, value);
+        partitionId = UNKNOWN_PARTITION;
+    }
+
+
+    /**
+     * <p>Releases the key and value of a reusable {@link BackingMapEntryEvent} (so they may be garbage collected).</p>
+     */
+    void clear()
+    {
+        entry.reset(null, null);
+        partitionId = UNKNOWN_PARTITION;
+    }
+
+
+    /**
+     * <p>Returns a {@link BackingMapEntryEvent} that may be retained after it has been processed, that is, a copy of
+     * a reusable {@link BackingMapEntryEvent} or otherwise the {@link BackingMapEntryEvent} itself.</p>
+     * 
+     * @return A {@link BackingMapEntryEvent} that may be retained
+     */
+    public AbstractBackingMapEntryEvent copy()
+    {
+        return isReusable ? createCopy() : this;
+    }
+
+
+    /**
+     * <p>Creates a (non-reusable) copy of this {@link BackingMapEntryEvent}, of the same class.</p>
+     * 
+     * @return A new {@link AbstractBackingMapEntryEvent}
+     */
+    protected abstract AbstractBackingMapEntryEvent createCopy();
+
+
     /**
      * {@inheritDoc}
      */
@@ -183,6 +315,33 @@ public abstract class AbstractBackingMapEntryEvent implements BackingMapEntryEve
          */
         public EventEntry(Object key,
                           Object value)
+        {
+            reset(key, value);
+        }
+
+
+        /**
+         * <p>Copy constructor.</p>
+         * 
+         * @param entry The {@link EventEntry} to copy
+         */
+        public EventEntry(EventEntry entry)
+        {
+            this.binaryKey = entry.binaryKey;
+            this.binaryValue = entry.binaryValue;
+            this.deserializedKey = entry.deserializedKey;
+            this.deserializedValue = entry.deserializedValue;
+        }
+
+
+        /**
+         * <p>Reinitializes this {@link EventEntry} with the specified key and value.</p>
+         * 
+         * @param key   The key of this {@link EventEntry}
+         * @param value The value of this {@link EventEntry}
+         */
+        void reset(Object key,
+                   Object value)
         {
             if (key instanceof Binary)
             {
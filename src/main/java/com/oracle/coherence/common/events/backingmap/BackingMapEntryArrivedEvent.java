@@ -65,4 +65,25 @@ public class BackingMapEntryArrivedEvent extends BackingMapEntryInsertedEvent
     {
         super(backingMapManagerContext, cacheName, key, value);
     }
+
+
+    /**
+     * Copy Constructor.
+     * 
+     * @param event The {@link BackingMapEntryArrivedEvent} to copy
+     */
+    protected BackingMapEntryArrivedEvent(BackingMapEntryArrivedEvent event)
+    {
+        super(event);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BackingMapEntryArrivedEvent createCopy()
+    {
+        return new BackingMapEntryArrivedEvent(this);
+    }
 }
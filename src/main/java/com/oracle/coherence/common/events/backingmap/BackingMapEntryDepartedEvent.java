@@ -64,4 +64,25 @@ public class BackingMapEntryDepartedEvent extends BackingMapEntryRemovedEvent
     {
         super(backingMapManagerContext, cacheName, key, value);
     }
+
+
+    /**
+     * Copy Constructor.
+     * 
+     * @param event The {@link BackingMapEntryDepartedEvent} to copy
+     */
+    protected BackingMapEntryDepartedEvent(BackingMapEntryDepartedEvent event)
+    {
+        super(event);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BackingMapEntryDepartedEvent createCopy()
+    {
+        return new BackingMapEntryDepartedEvent(this);
+    }
 }
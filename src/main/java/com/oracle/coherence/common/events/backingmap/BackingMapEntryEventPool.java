@@ -0,0 +1,355 @@
+/*
+ * File: BackingMapEntryEventPool.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.backingmap;
+
+import com.oracle.coherence.common.events.Event;
+import com.tangosol.net.BackingMapManagerContext;
+
+/**
+ * <p>A {@link BackingMapEntryEventPool} provides reusable (flyweight) {@link BackingMapEntryEvent}s for a cache, so
+ * that {@link BackingMapEntryEvent}s that are dispatched and processed synchronously don't need to be allocated.</p>
+ * 
+ * <p>A {@link BackingMapEntryEventPool} is <strong>not</strong> thread-safe.  It must only be used by a single
+ * thread (ie: be thread-confined).  Only one {@link BackingMapEntryEvent} from a {@link BackingMapEntryEventPool} may
+ * be in use at a time.  Should another {@link BackingMapEntryEvent} be requested (ie: re-entrantly) before the
+ * current {@link BackingMapEntryEvent} has been released, a new (non-reusable) {@link BackingMapEntryEvent} is
+ * returned.</p>
+ * 
+ * @see AbstractBackingMapEntryEvent#isReusable()
+ * @see AbstractBackingMapEntryEvent#copy()
+ */
+public class BackingMapEntryEventPool
+{
+
+    /**
+     * <p>The {@link BackingMapManagerContext} of the {@link BackingMapEntryEvent}s.</p>
+     */
+    private final BackingMapManagerContext backingMapManagerContext;
+
+    /**
+     * <p>The name of the cache of the {@link BackingMapEntryEvent}s.</p>
+     */
+    private final String cacheName;
+
+    /**
+     * <p>Whether a {@link BackingMapEntryEvent} from the {@link BackingMapEntryEventPool} is currently in use.</p>
+     */
+    private boolean isInUse;
+
+    /**
+     * <p>The reusable {@link BackingMapEntryInsertedEvent} (created when first required).</p>
+     */
+    private BackingMapEntryInsertedEvent insertedEvent;
+
+    /**
+     * <p>The reusable {@link BackingMapEntryStoredEvent} (created when first required).</p>
+     */
+    private BackingMapEntryStoredEvent storedEvent;
+
+    /**
+     * <p>The reusable {@link BackingMapEntryArrivedEvent} (created when first required).</p>
+     */
+    private BackingMapEntryArrivedEvent arrivedEvent;
+
+    /**
+     * <p>The reusable {@link BackingMapEntryUpdatedEvent} (created when first required).</p>
+     */
+    private BackingMapEntryUpdatedEvent updatedEvent;
+
+    /**
+     * <p>The reusable {@link BackingMapEntryRemovedEvent} (created when first required).</p>
+     */
+    private BackingMapEntryRemovedEvent removedEvent;
+
+    /**
+     * <p>The reusable {@link BackingMapEntryEvictedEvent} (created when first required).</p>
+     */
+    private BackingMapEntryEvictedEvent evictedEvent;
+
+    /**
+     * <p>The reusable {@link BackingMapEntryDepartedEvent} (created when first required).</p>
+     */
+    private BackingMapEntryDepartedEvent departedEvent;
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     * 
+     * @param backingMapManagerContext The {@link BackingMapManagerContext} of the {@link BackingMapEntryEvent}s
+     * @param cacheName                The name of the cache of the {@link BackingMapEntryEvent}s
+     */
+    public BackingMapEntryEventPool(BackingMapManagerContext backingMapManagerContext,
+                                    String cacheName)
+    {
+        this.backingMapManagerContext = backingMapManagerContext;
+        this.cacheName = cacheName;
+        this.isInUse = false;
+    }
+
+
+    /**
+     * <p>Obtains a {@link BackingMapEntryInsertedEvent} for the specified key and value.</p>
+     * 
+     * @param key   The key associated with the event
+     * @param value The value associated with the event
+     * 
+     * @return A {@link BackingMapEntryInsertedEvent}
+     */
+    public BackingMapEntryInsertedEvent getInsertedEvent(Object key,
+                                                         Object value)
+    {
+        if (isInUse)
+        {
+            return new BackingMapEntryInsertedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        if (insertedEvent == null)
+        {
+            insertedEvent = new BackingMapEntryInsertedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        return acquire(insertedEvent, key, value);
+    }
+
+
+    /**
+     * <p>Obtains a {@link BackingMapEntryStoredEvent} for the specified key and value.</p>
+     * 
+     * @param key   The key associated with the event
+     * @param value The value associated with the event
+     * 
+     * @return A {@link BackingMapEntryStoredEvent}
+     */
+    public BackingMapEntryStoredEvent getStoredEvent(Object key,
+                                                     Object value)
+    {
+        if (isInUse)
+        {
+            return new BackingMapEntryStoredEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        if (storedEvent == null)
+        {
+            storedEvent = new BackingMapEntryStoredEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        return acquire(storedEvent, key, value);
+    }
+
+
+    /**
+     * <p>Obtains a {@link BackingMapEntryArrivedEvent} for the specified key and value.</p>
+     * 
+     * @param key   The key associated with the event
+     * @param value The value associated with the event
+     * 
+     * @return A {@link BackingMapEntryArrivedEvent}
+     */
+    public BackingMapEntryArrivedEvent getArrivedEvent(Object key,
+                                                       Object value)
+    {
+        if (isInUse)
+        {
+            return new BackingMapEntryArrivedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        if (arrivedEvent == null)
+        {
+            arrivedEvent = new BackingMapEntryArrivedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        return acquire(arrivedEvent, key, value);
+    }
+
+
+    /**
+     * <p>Obtains a {@link BackingMapEntryUpdatedEvent} for the specified key and values.</p>
+     * 
+     * @param key           The key associated with the event
+     * @param originalValue The original value of the entry
+     * @param newValue      The new value of the entry
+     * 
+     * @return A {@link BackingMapEntryUpdatedEvent}
+     */
+    public BackingMapEntryUpdatedEvent getUpdatedEvent(Object key,
+                                                       Object originalValue,
+                                                       Object newValue)
+    {
+        if (isInUse)
+        {
+            return new BackingMapEntryUpdatedEvent(backingMapManagerContext, cacheName, key, originalValue, newValue);
+        }
+
+        if (updatedEvent == null)
+        {
+            updatedEvent = new BackingMapEntryUpdatedEvent(backingMapManagerContext, cacheName, key, originalValue,
+                newValue);
+            updatedEvent.setReusable(true);
+        }
+        else
+        {
+            updatedEvent.reuse(key, originalValue, newValue);
+        }
+
+        isInUse = true;
+
+        return updatedEvent;
+    }
+
+
+    /**
+     * <p>Obtains a {@link BackingMapEntryRemovedEvent} for the specified key and value.</p>
+     * 
+     * @param key   The key associated with the event
+     * @param value The value associated with the event
+     * 
+     * @return A {@link BackingMapEntryRemovedEvent}
+     */
+    public BackingMapEntryRemovedEvent getRemovedEvent(Object key,
+                                                       Object value)
+    {
+        if (isInUse)
+        {
+            return new BackingMapEntryRemovedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        if (removedEvent == null)
+        {
+            removedEvent = new BackingMapEntryRemovedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        return acquire(removedEvent, key, value);
+    }
+
+
+    /**
+     * <p>Obtains a {@link BackingMapEntryEvictedEvent} for the specified key and value.</p>
+     * 
+     * @param key   The key associated with the event
+     * @param value The value associated with the event
+     * 
+     * @return A {@link BackingMapEntryEvictedEvent}
+     */
+    public BackingMapEntryEvictedEvent getEvictedEvent(Object key,
+                                                       Object value)
+    {
+        if (isInUse)
+        {
+            return new BackingMapEntryEvictedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        if (evictedEvent == null)
+        {
+            evictedEvent = new BackingMapEntryEvictedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        return acquire(evictedEvent, key, value);
+    }
+
+
+    /**
+     * <p>Obtains a {@link BackingMapEntryDepartedEvent} for the specified key and value.</p>
+     * 
+     * @param key   The key associated with the event
+     * @param value The value associated with the event
+     * 
+     * @return A {@link BackingMapEntryDepartedEvent}
+     */
+    public BackingMapEntryDepartedEvent getDepartedEvent(Object key,
+                                                         Object value)
+    {
+        if (isInUse)
+        {
+            return new BackingMapEntryDepartedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        if (departedEvent == null)
+        {
+            departedEvent = new BackingMapEntryDepartedEvent(backingMapManagerContext, cacheName, key, value);
+        }
+
+        return acquire(departedEvent, key, value);
+    }
+
+
+    /**
+     * <p>Releases a {@link BackingMapEntryEvent} obtained from the {@link BackingMapEntryEventPool} once it has been
+     * processed, so that it may be reused.</p>
+     * 
+     * @param event The {@link BackingMapEntryEvent} to release
+     */
+    public void release(BackingMapEntryEvent event)
+    {
+        if (event instanceof AbstractBackingMapEntryEvent && ((AbstractBackingMapEntryEvent) event).isReusable())
+        {
+            ((AbstractBackingMapEntryEvent) event).clear();
+            isInUse = false;
+        }
+    }
+
+
+    /**
+     * <p>Ensures that the specified {@link Event} may be retained after it has been processed, by copying it should
+     * it be a reusable {@link BackingMapEntryEvent}.</p>
+     * 
+     * @param <E>   The type of {@link Event}
+     * @param event The {@link Event}
+     * 
+     * @return An {@link Event} that may be retained
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Event> E ensureRetainable(E event)
+    {
+        return event instanceof AbstractBackingMapEntryEvent && ((AbstractBackingMapEntryEvent) event).isReusable()
+               ? (E) ((AbstractBackingMapEntryEvent) event).copy() : event;
+    }
+
+
+    /**
+     * <p>Acquires the specified reusable {@link AbstractBackingMapEntryEvent}, reinitializing it for the specified
+     * key and value.</p>
+     * 
+     * @param event The {@link AbstractBackingMapEntryEvent} to acquire
+     * @param key   The key associated with the event
+     * @param value The value associated with the event
+     * 
+     * @return The {@link AbstractBackingMapEntryEvent}
+     */
+    private <E extends AbstractBackingMapEntryEvent> E acquire(E event,
+                                                               Object key,
+                                                               Object value)
+    {
+        if (event.isReusable())
+        {
+            event.reuse(key, value);
+        }
+        else
+        {
+            // the event was just created for the key and value
+            event.setReusable(true);
+        }
+
+        isInUse = true;
+
+        return event;
+    }
+}
@@ -47,4 +47,25 @@ public class BackingMapEntryEvictedEvent extends BackingMapEntryRemovedEvent
     {
         super(backingMapManagerContext, cacheName, key, value);
     }
+
+
+    /**
+     * Copy Constructor.
+     * 
+     * @param event The {@link BackingMapEntryEvictedEvent} to copy
+     */
+    protected BackingMapEntryEvictedEvent(BackingMapEntryEvictedEvent event)
+    {
+        super(event);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BackingMapEntryEvictedEvent createCopy()
+    {
+        return new BackingMapEntryEvictedEvent(this);
+    }
 }
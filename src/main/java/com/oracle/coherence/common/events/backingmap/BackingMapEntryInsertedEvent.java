@@ -64,4 +64,25 @@ public class BackingMapEntryInsertedEvent extends AbstractBackingMapEntryEvent i
     {
         super(backingMapManagerContext, cacheName, key, value);
     }
+
+
+    /**
+     * Copy Constructor.
+     * 
+     * @param event The {@link BackingMapEntryInsertedEvent} to copy
+     */
+    protected BackingMapEntryInsertedEvent(BackingMapEntryInsertedEvent event)
+    {
+        super(event);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BackingMapEntryInsertedEvent createCopy()
+    {
+        return new BackingMapEntryInsertedEvent(this);
+    }
 }
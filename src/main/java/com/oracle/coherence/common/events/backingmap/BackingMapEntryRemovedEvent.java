@@ -65,4 +65,25 @@ public class BackingMapEntryRemovedEvent extends AbstractBackingMapEntryEvent im
     {
         super(backingMapManagerContext, cacheName, key, value);
     }
+
+
+    /**
+     * Copy Constructor.
+     * 
+     * @param event The {@link BackingMapEntryRemovedEvent} to copy
+     */
+    protected BackingMapEntryRemovedEvent(BackingMapEntryRemovedEvent event)
+    {
+        super(event);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BackingMapEntryRemovedEvent createCopy()
+    {
+        return new BackingMapEntryRemovedEvent(this);
+    }
 }
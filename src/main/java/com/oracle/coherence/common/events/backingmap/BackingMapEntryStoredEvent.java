@@ -65,4 +65,25 @@ public class BackingMapEntryStoredEvent extends AbstractBackingMapEntryEvent
     {
         super(backingMapManagerContext, cacheName, key, value);
     }
+
+
+    /**
+     * Copy Constructor.
+     * 
+     * @param event The {@link BackingMapEntryStoredEvent} to copy
+     */
+    protected BackingMapEntryStoredEvent(BackingMapEntryStoredEvent event)
+    {
+        super(event);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BackingMapEntryStoredEvent createCopy()
+    {
+        return new BackingMapEntryStoredEvent(this);
+    }
 }
@@ -40,6 +40,11 @@ public class BackingMapEntryUpdatedEvent extends AbstractBackingMapEntryEvent im
      */
     private EventEntry originalEntry;
 
+    /**
+     * The number of updates this {@link BackingMapEntryUpdatedEvent} represents (more than one when coalesced).
+     */
+    private int updateCount;
+
 
     /**
      * Standard Constructor.
@@ -58,6 +63,35 @@ public class BackingMapEntryUpdatedEvent extends AbstractBackingMapEntryEvent im
     {
         super(backingMapManagerContext, cacheName, key, newValue);
         this.originalEntry = new EventEntry(key, originalValue);
+        this.updateCount = 1;
+    }
+
+
+    /**
+     * Constructor for a coalesced {@link BackingMapEntryUpdatedEvent}.
+     * 
+     * @param firstEvent The first of the coalesced {@link BackingMapEntryUpdatedEvent}s (provides the original entry)
+     * @param lastEvent  The last of the coalesced {@link BackingMapEntryUpdatedEvent}s (provides the new entry)
+     */
+    private BackingMapEntryUpdatedEvent(BackingMapEntryUpdatedEvent firstEvent,
+                                        BackingMapEntryUpdatedEvent lastEvent)
+    {
+        super(firstEvent.getContext(), firstEvent.getCacheName(), lastEvent.getEntry());
+        this.originalEntry = firstEvent.originalEntry;
+        this.updateCount = firstEvent.updateCount + lastEvent.updateCount;
+    }
+
+
+    /**
+     * Copy Constructor.
+     * 
+     * @param event The {@link BackingMapEntryUpdatedEvent} to copy
+     */
+    protected BackingMapEntryUpdatedEvent(BackingMapEntryUpdatedEvent event)
+    {
+        super(event);
+        this.originalEntry = new EventEntry(event.originalEntry);
+        this.updateCount = event.updateCount;
     }
 
 
@@ -70,12 +104,87 @@ public class BackingMapEntryUpdatedEvent extends AbstractBackingMapEntryEvent im
     }
 
 
+    /**
+     * Returns the number of updates this {@link BackingMapEntryUpdatedEvent} represents.  This is only ever more than
+     * one when consecutive updates on the same entry have been coalesced.
+     * 
+     * @return The number of updates
+     */
+    public int getUpdateCount()
+    {
+        return updateCount;
+    }
+
+
+    /**
+     * Coalesces this {@link BackingMapEntryUpdatedEvent} with a later {@link BackingMapEntryUpdatedEvent} on the same
+     * entry, producing a {@link BackingMapEntryUpdatedEvent} with the original entry of this event and the new entry
+     * of the later event.
+     * 
+     * @param laterEvent The later {@link BackingMapEntryUpdatedEvent}
+     * 
+     * @return A new coalesced {@link BackingMapEntryUpdatedEvent}
+     */
+    public BackingMapEntryUpdatedEvent coalesce(BackingMapEntryUpdatedEvent laterEvent)
+    {
+        return new BackingMapEntryUpdatedEvent(this, laterEvent);
+    }
+
+
+    /**
+     * Reinitializes a reusable {@link BackingMapEntryUpdatedEvent} for another update.
+     * 
+     * @param key           The key associated with this event
+     * @param originalValue The original value for this entry
+     * @param newValue      The new value for this entry
+     */
+    void reuse(Object key,
+               Object originalValue,
+               Object newValue)
+    {
+        reuse(key, newValue);
+        originalEntry.reset(key, originalValue);
+        updateCount = 1;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void clear()
+    {
+        super.clear();
+        originalEntry.reset(null, null);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BackingMapEntryUpdatedEvent copy()
+    {
+        return (BackingMapEntryUpdatedEvent) super.copy();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BackingMapEntryUpdatedEvent createCopy()
+    {
+        return new BackingMapEntryUpdatedEvent(this);
+    }
+
+
     /**
      * {@inheritDoc}
      */
     public String toString()
     {
-        return String.format("%s{cacheName=%s, originalEntry=%s, newEntry=%s}", getClass().getName(), getCacheName(),
-            getOriginalEntry(), getEntry());
+        return String.format("%s{cacheName=%s, originalEntry=%s, newEntry=%s, updateCount=%d}", getClass().getName(),
+            getCacheName(), getOriginalEntry(), getEntry(), updateCount);
     }
 }
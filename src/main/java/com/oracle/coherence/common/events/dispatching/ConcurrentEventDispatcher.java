@@ -0,0 +1,450 @@
+/*
+ * File: ConcurrentEventDispatcher.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.coherence.common.events.EntryEvent;
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEventPool;
+import com.oracle.coherence.common.events.processing.EventProcessor;
+import com.oracle.coherence.common.threading.ExecutorServiceFactory;
+import com.oracle.coherence.common.threading.ThreadFactories;
+import com.oracle.coherence.environment.Environment;
+import com.tangosol.util.Base;
+
+/**
+ * <p>A {@link ConcurrentEventDispatcher} is a {@link SimpleEventDispatcher} that may process {@link Event}s
+ * using threads other than the thread requesting the dispatch, according to an {@link ExecutionMode}.</p>
+ *
+ * <p>With {@link ExecutionMode#ORDERED} {@link Event}s are processed asynchronously by a fixed number of
+ * single threaded "stripes".  {@link EntryEvent}s for the same key are always processed by the same stripe
+ * (and thus in the order they were dispatched), while {@link EntryEvent}s for different keys may be processed in
+ * parallel.  All other {@link Event}s are processed (in order) by the first stripe.</p>
+ *
+ * <p>With {@link ExecutionMode#PARALLEL} the {@link EventProcessor}s interested in an {@link Event} are assumed to
+ * be independent of each other and process the {@link Event} in parallel.  The dispatching thread participates in
+ * the processing and waits for all of the {@link EventProcessor}s to complete, so dispatching remains synchronous.
+ * {@link EventProcessor}s that haven't been started by a worker thread when the dispatching thread is done with its
+ * own are executed by the dispatching thread, so {@link Event}s may also be dispatched from within
+ * {@link EventProcessor}s (even when all of the worker threads are busy).</p>
+ *
+ * <p>{@link ExecutionMode#INLINE} behaves exactly like a {@link SimpleEventDispatcher}.</p>
+ *
+ * <p>When an {@link Event} is dispatched to a specific {@link EventProcessor} (as well as the registered
+ * {@link EventProcessor}s), the said {@link EventProcessor} is executed according to the {@link ExecutionMode}, always
+ * before the registered {@link EventProcessor}s.</p>
+ *
+ * <p>An {@link com.oracle.coherence.environment.extensible.ExtensibleEnvironment} uses a
+ * {@link ConcurrentEventDispatcher} in {@link ExecutionMode#INLINE} mode, which may be changed (before any
+ * {@link Event}s are dispatched) using the &lt;environment:event-dispatcher&gt; element.</p>
+ *
+ * <p>As {@link EventProcessor}s may be executed on threads other than Coherence owned threads, {@link Event}s
+ * (specifically their entries) must not be assumed to be valid after the dispatching thread has returned.</p>
+ */
+public class ConcurrentEventDispatcher extends SimpleEventDispatcher
+{
+
+    /**
+     * <p>The ways in which a {@link ConcurrentEventDispatcher} may execute {@link EventProcessor}s.</p>
+     */
+    public enum ExecutionMode
+    {
+        /**
+         * <p>{@link EventProcessor}s are executed on the thread requesting the dispatch.</p>
+         */
+        INLINE,
+
+        /**
+         * <p>{@link EventProcessor}s are executed asynchronously, in order per entry key.</p>
+         */
+        ORDERED,
+
+        /**
+         * <p>{@link EventProcessor}s for an {@link Event} are executed in parallel, waiting for their completion.</p>
+         */
+        PARALLEL;
+    }
+
+
+    /**
+     * <p>The {@link ExecutionMode} of the {@link ConcurrentEventDispatcher}.</p>
+     */
+    private volatile ExecutionMode executionMode;
+
+    /**
+     * <p>The {@link ExecutorService}s used to execute {@link EventProcessor}s.  For {@link ExecutionMode#ORDERED}
+     * there is one single threaded {@link ExecutorService} per stripe.  For {@link ExecutionMode#PARALLEL} there
+     * is a single (shared) {@link ExecutorService}.  For {@link ExecutionMode#INLINE} there are none.</p>
+     */
+    private volatile ExecutorService[] executorServices;
+
+
+    /**
+     * <p>Standard Constructor (using {@link ExecutionMode#INLINE}).</p>
+     *
+     * @param environment The {@link Environment} to use
+     */
+    public ConcurrentEventDispatcher(Environment environment)
+    {
+        this(environment, ExecutionMode.INLINE, 0);
+    }
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     *
+     * @param environment   The {@link Environment} to use
+     * @param executionMode The {@link ExecutionMode} for executing {@link EventProcessor}s
+     * @param threadCount   The number of threads to use (ignored for {@link ExecutionMode#INLINE})
+     */
+    public ConcurrentEventDispatcher(Environment environment,
+                                     ExecutionMode executionMode,
+                                     int threadCount)
+    {
+        super(environment);
+
+        this.executionMode = ExecutionMode.INLINE;
+        this.executorServices = new ExecutorService[0];
+
+        setExecutionMode(executionMode, threadCount);
+    }
+
+
+    /**
+     * <p>Returns the {@link ExecutionMode} of the {@link ConcurrentEventDispatcher}.</p>
+     *
+     * @return The {@link ExecutionMode}
+     */
+    public ExecutionMode getExecutionMode()
+    {
+        return executionMode;
+    }
+
+
+    /**
+     * <p>Sets the {@link ExecutionMode} of the {@link ConcurrentEventDispatcher}.  The {@link ExecutionMode} may only
+     * be changed while the {@link ConcurrentEventDispatcher} is using {@link ExecutionMode#INLINE}, typically
+     * before any {@link Event}s have been dispatched.</p>
+     *
+     * @param executionMode The {@link ExecutionMode} for executing {@link EventProcessor}s
+     * @param threadCount   The number of threads to use (ignored for {@link ExecutionMode#INLINE})
+     *
+     * @throws IllegalStateException When the {@link ConcurrentEventDispatcher} already uses threads
+     */
+    public synchronized void setExecutionMode(ExecutionMode executionMode,
+                                              int threadCount)
+    {
+        if (executionMode != ExecutionMode.INLINE && threadCount <= 0)
+        {
+            throw new IllegalArgumentException("A ConcurrentEventDispatcher requires at least one thread");
+        }
+
+        if (executorServices.length > 0)
+        {
+            throw new IllegalStateException(String.format(
+                "The ExecutionMode of the ConcurrentEventDispatcher can't be changed from %s", this.executionMode));
+        }
+
+        ExecutorService[] services;
+
+        switch (executionMode)
+        {
+        case ORDERED :
+            services = new ExecutorService[threadCount];
+
+            for (int i = 0; i < threadCount; i++)
+            {
+                services[i] = ExecutorServiceFactory.newSingleThreadExecutor(ThreadFactories
+                    .newThreadFactory(true, "ConcurrentEventDispatcher.Stripe-" + i, null));
+            }
+
+            break;
+
+        case PARALLEL :
+            services = new ExecutorService[] { ExecutorServiceFactory.newFixedThreadPool(threadCount,
+                ThreadFactories.newThreadFactory(true, "ConcurrentEventDispatcher.Worker", null)) };
+
+            break;
+
+        default :
+            services = new ExecutorService[0];
+        }
+
+        // the executor services are published before the mode that uses them
+        this.executorServices = services;
+        this.executionMode = executionMode;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <E extends Event> void dispatchEvent(E event)
+    {
+        switch (executionMode)
+        {
+        case ORDERED :
+            final E retainableEvent = BackingMapEntryEventPool.ensureRetainable(event);
+
+            getStripe(getOrderingKey(retainableEvent)).execute(new Runnable()
+            {
+                public void run()
+                {
+                    ConcurrentEventDispatcher.super.dispatchEvent(retainableEvent);
+                }
+            });
+
+            break;
+
+        case PARALLEL :
+            dispatchInParallel(event, getEventProcessors(event));
+
+            break;
+
+        default :
+            super.dispatchEvent(event);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <E extends Event> void dispatchEvent(E event,
+                                                final EventProcessor<E> eventProcessor)
+    {
+        switch (executionMode)
+        {
+        case ORDERED :
+            final E retainableEvent = BackingMapEntryEventPool.ensureRetainable(event);
+
+            // the specified event processor is executed by the stripe, before the registered event processors
+            getStripe(getOrderingKey(retainableEvent)).execute(new Runnable()
+            {
+                public void run()
+                {
+                    process(retainableEvent, eventProcessor);
+                    ConcurrentEventDispatcher.super.dispatchEvent(retainableEvent);
+                }
+            });
+
+            break;
+
+        case PARALLEL :
+            List<EventProcessor<?>> eventProcessors = getEventProcessors(event);
+            eventProcessors.add(0, eventProcessor);
+
+            dispatchInParallel(event, eventProcessors);
+
+            break;
+
+        default :
+            super.dispatchEvent(event, eventProcessor);
+        }
+    }
+
+
+    /**
+     * <p>Processes the specified {@link Event} with each of the specified {@link EventProcessor}s in parallel,
+     * waiting for them all to complete.</p>
+     *
+     * @param event           The {@link Event} to process
+     * @param eventProcessors The {@link EventProcessor}s to process the {@link Event}
+     */
+    @SuppressWarnings("unchecked")
+    private <E extends Event> void dispatchInParallel(final E event,
+                                                      List<EventProcessor<?>> eventProcessors)
+    {
+        if (eventProcessors.size() <= 1)
+        {
+            // there's nothing to parallelize
+            for (EventProcessor<?> eventProcessor : eventProcessors)
+            {
+                process(event, (EventProcessor<E>) eventProcessor);
+            }
+        }
+        else
+        {
+            // fork all but the first event processor, which we'll execute ourselves
+            ArrayList<FutureTask<Object>> tasks = new ArrayList<FutureTask<Object>>(eventProcessors.size() - 1);
+
+            for (int i = 1; i < eventProcessors.size(); i++)
+            {
+                final EventProcessor<E> eventProcessor = (EventProcessor<E>) eventProcessors.get(i);
+
+                FutureTask<Object> task = new FutureTask<Object>(new Runnable()
+                {
+                    public void run()
+                    {
+                        process(event, eventProcessor);
+                    }
+                }, null);
+
+                tasks.add(task);
+
+                try
+                {
+                    executorServices[0].execute(task);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    // the task will be run by this thread
+                }
+            }
+
+            process(event, (EventProcessor<E>) eventProcessors.get(0));
+
+            // run the forked event processors that no worker has started (running a task that has already been
+            // started does nothing), so we never wait for tasks that are queued behind busy workers
+            for (FutureTask<Object> task : tasks)
+            {
+                task.run();
+            }
+
+            // join the forked event processors (all of them, as the event must not be used after we return)
+            boolean isInterrupted = false;
+            ExecutionException failure = null;
+
+            for (FutureTask<Object> task : tasks)
+            {
+                while (true)
+                {
+                    try
+                    {
+                        task.get();
+
+                        break;
+                    }
+                    catch (InterruptedException e)
+                    {
+                        isInterrupted = true;
+                    }
+                    catch (ExecutionException e)
+                    {
+                        failure = failure == null ? e : failure;
+
+                        break;
+                    }
+                }
+            }
+
+            if (isInterrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            if (failure != null)
+            {
+                throw Base.ensureRuntimeException(failure.getCause());
+            }
+        }
+    }
+
+
+    /**
+     * <p>Determines the key used to order the processing of the specified {@link Event}.  {@link Event}s with
+     * equal keys are processed in order.</p>
+     *
+     * @param event The {@link Event}
+     *
+     * @return The key (or <code>null</code> if the {@link Event} isn't an {@link EntryEvent})
+     */
+    protected Object getOrderingKey(Event event)
+    {
+        if (event instanceof BackingMapEntryEvent)
+        {
+            // use the binary key so we avoid deserializing the key
+            return ((BackingMapEntryEvent) event).getEntry().getBinaryKey();
+        }
+        else if (event instanceof EntryEvent)
+        {
+            return ((EntryEvent<?>) event).getEntry().getKey();
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * <p>Determines the stripe ({@link ExecutorService}) for the specified ordering key.</p>
+     *
+     * @param key The ordering key (may be <code>null</code>)
+     *
+     * @return The {@link ExecutorService} of the stripe
+     */
+    private ExecutorService getStripe(Object key)
+    {
+        ExecutorService[] stripes = executorServices;
+
+        return stripes[key == null ? 0 : (key.hashCode() & Integer.MAX_VALUE) % stripes.length];
+    }
+
+
+    /**
+     * <p>Stops the threads of the {@link ConcurrentEventDispatcher}, after any {@link Event}s that have already been
+     * dispatched have been processed, and then processes the {@link Event}s they have batched for
+     * {@link com.oracle.coherence.common.events.processing.BatchingEventProcessor}s.</p>
+     */
+    public void shutdown()
+    {
+        for (ExecutorService executorService : executorServices)
+        {
+            executorService.shutdown();
+        }
+
+        boolean isInterrupted = false;
+
+        for (ExecutorService executorService : executorServices)
+        {
+            try
+            {
+                while (!executorService.awaitTermination(1, TimeUnit.SECONDS))
+                {
+                    // keep waiting for the events being processed
+                }
+            }
+            catch (InterruptedException e)
+            {
+                isInterrupted = true;
+            }
+        }
+
+        flushBatches();
+
+        if (isInterrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * File: EventBatcher.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.oracle.coherence.common.events.CacheEvent;
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.AbstractBackingMapEntryEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEventPool;
+import com.oracle.coherence.common.events.processing.BatchingEventProcessor;
+import com.oracle.coherence.common.threading.ExecutorServiceFactory;
+import com.oracle.coherence.common.threading.ThreadFactories;
+import com.oracle.coherence.environment.Environment;
+
+/**
+ * <p>An {@link EventBatcher} accumulates the {@link Event}s dispatched to {@link BatchingEventProcessor}s into
+ * batches (one per {@link BatchingEventProcessor}, cache and partition), delivering each batch when it reaches the
+ * maximum batch size or when its maximum batch latency expires.</p>
+ * 
+ * <p>Batches are delivered without holding the monitor of the batch, so threads may continue to add {@link Event}s
+ * while a batch is being processed.  Consecutive batches for a {@link BatchingEventProcessor} and group are delivered
+ * in order, by one thread at a time.  A batch that is full is delivered on the thread that filled it (unless another
+ * thread is already delivering batches for the group), while a batch whose latency has expired is delivered using the
+ * {@link ExecutorService} of the {@link Environment}.  Should the {@link ExecutorService} discard (cancel) the
+ * delivery of a batch whose latency has expired, the latency timer is re-armed rather than the batch being
+ * stranded.</p>
+ * 
+ * <p>Latencies are timed using the {@link ScheduledExecutorService} of the {@link Environment} (which is shut down
+ * with the {@link Environment}), or a shared {@link ScheduledExecutorService} when the {@link Environment} doesn't
+ * provide one.</p>
+ */
+class EventBatcher
+{
+
+    /**
+     * The {@link Logger} to use.
+     */
+    private static Logger logger = Logger.getLogger(EventBatcher.class.getName());
+
+    /**
+     * <p>The {@link EventDispatcher} on behalf of which batches are delivered.</p>
+     */
+    private final EventDispatcher eventDispatcher;
+
+    /**
+     * <p>The current {@link Batch}es by {@link BatchingEventProcessor} and group.</p>
+     */
+    private final ConcurrentHashMap<List<Object>, Batch> batches;
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     * 
+     * @param eventDispatcher The {@link EventDispatcher} on behalf of which batches are delivered
+     */
+    EventBatcher(EventDispatcher eventDispatcher)
+    {
+        this.eventDispatcher = eventDispatcher;
+        this.batches = new ConcurrentHashMap<List<Object>, Batch>();
+    }
+
+
+    /**
+     * <p>Adds the specified {@link Event} to the appropriate batch for the specified {@link BatchingEventProcessor},
+     * delivering the batch (on the calling thread) should it become full.</p>
+     * 
+     * @param event          The {@link Event}
+     * @param eventProcessor The {@link BatchingEventProcessor}
+     */
+    <E extends Event> void add(E event,
+                               BatchingEventProcessor<E> eventProcessor)
+    {
+        List<Object> key = Arrays.asList(eventProcessor, getGroup(event));
+
+        while (true)
+        {
+            Batch batch = batches.get(key);
+
+            if (batch == null)
+            {
+                Batch newBatch = new Batch(key, eventProcessor);
+
+                batch = batches.putIfAbsent(key, newBatch);
+                batch = batch == null ? newBatch : batch;
+            }
+
+            if (batch.add(BackingMapEntryEventPool.ensureRetainable(event)))
+            {
+                return;
+            }
+
+            // the batch was retired while we were adding to it, so try again with a new one
+        }
+    }
+
+
+    /**
+     * <p>Delivers all of the current batches (on the calling thread), waiting for any batches being delivered by
+     * other threads.</p>
+     */
+    void flush()
+    {
+        for (Batch batch : batches.values())
+        {
+            batch.deliver(true);
+            batch.awaitDelivered();
+        }
+    }
+
+
+    /**
+     * <p>Schedules the specified {@link Batch} to be delivered once the maximum batch latency of its
+     * {@link BatchingEventProcessor} has expired.</p>
+     * 
+     * @param batch The {@link Batch}
+     * 
+     * @return <code>false</code> if the {@link Batch} couldn't be scheduled (ie: the
+     *         {@link ScheduledExecutorService} has been shut down)
+     */
+    private boolean schedule(Batch batch)
+    {
+        Environment environment = eventDispatcher.getEnvironment();
+        ScheduledExecutorService scheduler = environment == null
+                                             ? null : environment.getResource(ScheduledExecutorService.class);
+
+        try
+        {
+            (scheduler == null ? DefaultScheduler.INSTANCE : scheduler).schedule(batch, batch.eventProcessor
+                .getMaximumBatchLatencyMS(), TimeUnit.MILLISECONDS);
+
+            return true;
+        }
+        catch (RejectedExecutionException e)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * <p>Determines the group of the specified {@link Event}, that is, the cache and partition for
+     * {@link AbstractBackingMapEntryEvent}s, the cache for other {@link CacheEvent}s or otherwise
+     * <code>null</code>.</p>
+     * 
+     * @param event The {@link Event}
+     * 
+     * @return The group of the {@link Event}
+     */
+    protected Object getGroup(Event event)
+    {
+        if (event instanceof AbstractBackingMapEntryEvent)
+        {
+            AbstractBackingMapEntryEvent backingMapEntryEvent = (AbstractBackingMapEntryEvent) event;
+
+            return Arrays.asList(backingMapEntryEvent.getCacheName(), backingMapEntryEvent.getPartitionId());
+        }
+        else if (event instanceof CacheEvent)
+        {
+            return ((CacheEvent) event).getCacheName();
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * <p>A {@link Batch} accumulates the {@link Event}s for a {@link BatchingEventProcessor} and group.</p>
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private class Batch implements Runnable
+    {
+        /**
+         * <p>The key of the {@link Batch} in the batches.</p>
+         */
+        private final List<Object> key;
+
+        /**
+         * <p>The {@link BatchingEventProcessor} to which the {@link Batch} will be delivered.</p>
+         */
+        private final BatchingEventProcessor eventProcessor;
+
+        /**
+         * <p>The accumulated {@link Event}s.</p>
+         */
+        private ArrayList<Event> events;
+
+        /**
+         * <p>The batches of {@link Event}s waiting to be delivered (in order).</p>
+         */
+        private final LinkedList<ArrayList<Event>> readyEvents;
+
+        /**
+         * <p>The {@link Thread} delivering the ready batches (<code>null</code> when no batches are being
+         * delivered).</p>
+         */
+        private Thread deliveringThread;
+
+        /**
+         * <p>Whether the {@link Batch} has been retired (removed from the batches) as it was idle.</p>
+         */
+        private boolean isRetired;
+
+
+        /**
+         * <p>Standard Constructor.</p>
+         * 
+         * @param key            The key of the {@link Batch}
+         * @param eventProcessor The {@link BatchingEventProcessor}
+         */
+        Batch(List<Object> key,
+              BatchingEventProcessor eventProcessor)
+        {
+            this.key = key;
+            this.eventProcessor = eventProcessor;
+            this.events = new ArrayList<Event>();
+            this.readyEvents = new LinkedList<ArrayList<Event>>();
+            this.deliveringThread = null;
+            this.isRetired = false;
+        }
+
+
+        /**
+         * <p>Adds an {@link Event} to the {@link Batch}, delivering the {@link Batch} should it become full.</p>
+         * 
+         * @param event The {@link Event}
+         * 
+         * @return <code>false</code> if the {@link Batch} has been retired (and the {@link Event} wasn't added)
+         */
+        boolean add(Event event)
+        {
+            boolean isFull;
+
+            synchronized (this)
+            {
+                if (isRetired)
+                {
+                    return false;
+                }
+
+                events.add(event);
+
+                isFull = events.size() >= eventProcessor.getMaximumBatchSize();
+
+                // when the latency can't be timed (ie: the scheduler has been shut down) we deliver immediately
+                if (!isFull && events.size() == 1)
+                {
+                    isFull = !schedule(this);
+                }
+            }
+
+            if (isFull)
+            {
+                deliver(false);
+            }
+
+            return true;
+        }
+
+
+        /**
+         * <p>Delivers the accumulated {@link Event}s (if any) to the {@link BatchingEventProcessor}, together with any
+         * other batches waiting to be delivered, unless another thread is already delivering batches (in which case
+         * that thread will deliver them).  The {@link BatchingEventProcessor} is called without holding the monitor
+         * of the {@link Batch}.  A batch whose processing fails is logged and dropped.</p>
+         * 
+         * @param isRetiringWhenEmpty Whether the {@link Batch} should be retired if there are no {@link Event}s
+         */
+        void deliver(boolean isRetiringWhenEmpty)
+        {
+            synchronized (this)
+            {
+                if (!events.isEmpty())
+                {
+                    readyEvents.add(events);
+                    events = new ArrayList<Event>();
+                }
+                else if (isRetiringWhenEmpty && !isRetired && readyEvents.isEmpty() && deliveringThread == null)
+                {
+                    isRetired = true;
+                    batches.remove(key, this);
+                }
+
+                if (deliveringThread != null || readyEvents.isEmpty())
+                {
+                    return;
+                }
+
+                deliveringThread = Thread.currentThread();
+            }
+
+            while (true)
+            {
+                ArrayList<Event> batch;
+
+                synchronized (this)
+                {
+                    batch = readyEvents.poll();
+
+                    if (batch == null)
+                    {
+                        deliveringThread = null;
+                        notifyAll();
+
+                        return;
+                    }
+                }
+
+                if (logger.isLoggable(Level.FINEST))
+                {
+                    logger.log(Level.FINEST, "Delivering a batch of {0} events to {1}", new Object[] {batch.size(),
+                            eventProcessor});
+                }
+
+                try
+                {
+                    eventProcessor.processBatch(eventDispatcher, batch);
+                }
+                catch (RuntimeException runtimeException)
+                {
+                    logger.log(Level.SEVERE, "Failed to deliver a batch of " + batch.size() + " events to "
+                                             + eventProcessor + " (the batch has been dropped)", runtimeException);
+                }
+            }
+        }
+
+
+        /**
+         * <p>Waits until no batches are being delivered by another thread.</p>
+         */
+        synchronized void awaitDelivered()
+        {
+            boolean isInterrupted = false;
+
+            while (deliveringThread != null && deliveringThread != Thread.currentThread())
+            {
+                try
+                {
+                    wait();
+                }
+                catch (InterruptedException e)
+                {
+                    isInterrupted = true;
+                }
+            }
+
+            if (isInterrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+
+        /**
+         * <p>Hands the {@link Batch} (whose latency has expired) to the {@link ExecutorService} of the
+         * {@link Environment} for delivery, or delivers it on the calling thread when there is no such
+         * {@link ExecutorService}.  Should the {@link ExecutorService} discard the delivery, the latency timer is
+         * re-armed.</p>
+         */
+        public void run()
+        {
+            Environment environment = eventDispatcher.getEnvironment();
+            ExecutorService executorService = environment == null ? null
+                                                                  : environment.getResource(ExecutorService.class);
+
+            if (executorService != null)
+            {
+                try
+                {
+                    executorService.execute(new FutureTask<Object>(new Runnable()
+                    {
+                        public void run()
+                        {
+                            // batches that have already been delivered (ie: due to their size) are idle, so we
+                            // retire them
+                            deliver(true);
+                        }
+                    }, null)
+                    {
+                        @Override
+                        protected void done()
+                        {
+                            // an executor may discard (and thus cancel) the delivery when its queue is full, in which
+                            // case we re-arm the timer rather than strand the accumulated events
+                            if (isCancelled() && !schedule(Batch.this))
+                            {
+                                deliver(true);
+                            }
+                        }
+                    });
+
+                    return;
+                }
+                catch (RejectedExecutionException e)
+                {
+                    // the executor is shutting down, so deliver the batch here rather than lose it
+                }
+            }
+
+            deliver(true);
+        }
+    }
+
+
+    /**
+     * <p>Holds the {@link ScheduledExecutorService} used to detect batches whose latency has expired when the
+     * {@link Environment} doesn't provide one (it's only created when first required).</p>
+     */
+    private static class DefaultScheduler
+    {
+        /**
+         * <p>The shared {@link ScheduledExecutorService}.</p>
+         */
+        private static final ScheduledExecutorService INSTANCE =
+            ExecutorServiceFactory.newSingleThreadScheduledExecutor(ThreadFactories.newThreadFactory(true,
+                "EventBatcher", null));
+    }
+}
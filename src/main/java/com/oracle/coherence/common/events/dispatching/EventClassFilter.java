@@ -0,0 +1,145 @@
+/*
+ * File: EventClassFilter.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching;
+
+import com.oracle.coherence.common.events.CacheEvent;
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEvent;
+import com.oracle.coherence.common.events.partition.PartitionEvent;
+
+/**
+ * <p>An {@link EventClassFilter} is an {@link EventTypeFilter} that accepts all {@link Event}s that are instances
+ * of a specified type, for example all {@link BackingMapEntryEvent}s or all {@link PartitionEvent}s.  An
+ * {@link EventClassFilter} may optionally be restricted to the {@link CacheEvent}s of a single cache.</p>
+ *
+ * <p>NOTE: {@link EventClassFilter}s are not serializable as they are only ever used locally.</p>
+ */
+public class EventClassFilter implements EventTypeFilter
+{
+    /**
+     * <p>The type of {@link Event}s accepted by the {@link EventClassFilter}.</p>
+     */
+    private Class<? extends Event> eventType;
+
+    /**
+     * <p>The name of the cache of the {@link CacheEvent}s accepted by the {@link EventClassFilter}
+     * (<code>null</code> when {@link Event}s for any cache are accepted).</p>
+     */
+    private String cacheName;
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     *
+     * @param eventType The type of {@link Event}s to accept
+     */
+    public EventClassFilter(Class<? extends Event> eventType)
+    {
+        this(eventType, null);
+    }
+
+
+    /**
+     * <p>Constructor for an {@link EventClassFilter} that only accepts the {@link CacheEvent}s of a single cache.</p>
+     *
+     * @param eventType The type of {@link Event}s to accept
+     * @param cacheName The name of the cache (<code>null</code> to accept {@link Event}s for any cache)
+     */
+    public EventClassFilter(Class<? extends Event> eventType,
+                            String cacheName)
+    {
+        this.eventType = eventType;
+        this.cacheName = cacheName;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<? extends Event> getEventType()
+    {
+        return eventType;
+    }
+
+
+    /**
+     * <p>Returns the name of the cache of the {@link CacheEvent}s accepted by the {@link EventClassFilter}.</p>
+     *
+     * @return The name of the cache (<code>null</code> when {@link Event}s for any cache are accepted)
+     */
+    public String getCacheName()
+    {
+        return cacheName;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean evaluate(Object object)
+    {
+        return eventType.isInstance(object)
+               && (cacheName == null
+                   || (object instanceof CacheEvent && cacheName.equals(((CacheEvent) object).getCacheName())));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        if (other instanceof EventClassFilter)
+        {
+            EventClassFilter otherFilter = (EventClassFilter) other;
+
+            return eventType.equals(otherFilter.eventType)
+                   && (cacheName == null ? otherFilter.cacheName == null : cacheName.equals(otherFilter.cacheName));
+        }
+        else
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode()
+    {
+        return eventType.hashCode() * 31 + (cacheName == null ? 0 : cacheName.hashCode());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return cacheName == null ? String.format("EventClassFilter{%s}", eventType.getName())
+                                 : String.format("EventClassFilter{%s, cacheName=%s}", eventType.getName(), cacheName);
+    }
+}
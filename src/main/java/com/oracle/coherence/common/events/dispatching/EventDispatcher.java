@@ -87,6 +87,12 @@ public interface EventDispatcher
      * There is no guarantee as to when the specified {@link Event} will be dispatched and processed, only that it
      * will occur at sometime in the future.</p>
      * 
+     * <p>When the {@link Environment} has a
+     * {@link com.oracle.coherence.common.threading.PartitionOrderedExecutorService} (ie: an
+     * <code>&lt;environment:partitioned-executor&gt;</code> has been configured),
+     * {@link com.oracle.coherence.common.events.backingmap.BackingMapEntryEvent}s of the same partition are dispatched
+     * in the order they were requested, while those of different partitions may be dispatched concurrently.</p>
+     * 
      * @param <E>   The type of {@link Event}
      * @param event The {@link Event} to be processed by the {@link EventProcessor}s.
      */
@@ -0,0 +1,42 @@
+/*
+ * File: EventTypeFilter.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching;
+
+import com.oracle.coherence.common.events.Event;
+import com.tangosol.util.Filter;
+
+/**
+ * <p>An {@link EventTypeFilter} is a {@link Filter} that only ever accepts {@link Event}s that are instances of a
+ * known type (though it may further restrict the {@link Event}s it accepts).</p>
+ *
+ * <p>{@link SimpleEventDispatcher}s use the type to index registrations, so that {@link EventTypeFilter}s are only
+ * evaluated against {@link Event}s of the said type.</p>
+ */
+public interface EventTypeFilter extends Filter
+{
+    /**
+     * <p>Returns the type of {@link Event}s that may be accepted by the {@link EventTypeFilter}.</p>
+     *
+     * @return The type of {@link Event}
+     */
+    public Class<? extends Event> getEventType();
+}
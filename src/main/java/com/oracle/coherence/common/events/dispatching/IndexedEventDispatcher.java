@@ -0,0 +1,64 @@
+/*
+ * File: IndexedEventDispatcher.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching;
+
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.processing.EventProcessor;
+import com.tangosol.util.Filter;
+
+/**
+ * <p>An {@link IndexedEventDispatcher} is an {@link EventDispatcher} that indexes its registrations, so that it can
+ * cheaply determine whether it's worth creating and dispatching {@link Event}s of a type at all.</p>
+ *
+ * <p>Supporting this interface is optional.  Those raising {@link Event}s should assume that an
+ * {@link EventDispatcher} that isn't an {@link IndexedEventDispatcher} could process every {@link Event}.</p>
+ */
+public interface IndexedEventDispatcher extends EventDispatcher
+{
+    /**
+     * <p>Determines if any of the registered {@link EventProcessor}s could be selected to process {@link Event}s of
+     * the specified type, ie: whether it's worth creating and dispatching such {@link Event}s at all.</p>
+     *
+     * <p>A result of <code>true</code> doesn't guarantee that an {@link Event} will be processed, only that the
+     * {@link Filter} of a registration could accept it.</p>
+     *
+     * @param eventClass The type of {@link Event}
+     *
+     * @return <code>false</code> if no registered {@link EventProcessor} could process such {@link Event}s
+     */
+    public boolean hasEventProcessorsFor(Class<? extends Event> eventClass);
+
+
+    /**
+     * <p>Determines if any of the registered {@link EventProcessor}s could be selected to process {@link Event}s of
+     * the specified type for the specified cache.  Registrations with an {@link EventClassFilter} for another cache
+     * are not considered.</p>
+     *
+     * @param eventClass The type of {@link Event}
+     * @param cacheName  The name of the cache (<code>null</code> for any cache)
+     *
+     * @return <code>false</code> if no registered {@link EventProcessor} could process such {@link Event}s for the
+     *         cache
+     */
+    public boolean hasEventProcessorsFor(Class<? extends Event> eventClass,
+                                         String cacheName);
+}
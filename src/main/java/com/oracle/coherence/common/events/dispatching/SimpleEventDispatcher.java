@@ -21,6 +21,10 @@
  */
 package com.oracle.coherence.common.events.dispatching;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -29,8 +33,15 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.AbstractBackingMapEntryEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEventPool;
+import com.oracle.coherence.common.events.lifecycle.NamedCacheLifecycleEvent;
+import com.oracle.coherence.common.events.lifecycle.filters.NamedCacheLifecycleEventFilter;
+import com.oracle.coherence.common.events.processing.BatchingEventProcessor;
 import com.oracle.coherence.common.events.processing.EventProcessor;
 import com.oracle.coherence.common.events.processing.LifecycleAwareEventProcessor;
+import com.oracle.coherence.common.threading.PartitionOrderedExecutorService;
+import com.oracle.coherence.common.threading.PartitionedRunnable;
 import com.oracle.coherence.environment.Environment;
 import com.tangosol.util.Filter;
 
@@ -39,7 +50,7 @@ import com.tangosol.util.Filter;
  * 
  * @author Brian Oliver
  */
-public class SimpleEventDispatcher implements EventDispatcher
+public class SimpleEventDispatcher implements IndexedEventDispatcher
 {
 
     /**
@@ -53,6 +64,17 @@ public class SimpleEventDispatcher implements EventDispatcher
      */
     private ConcurrentHashMap<Filter, CopyOnWriteArraySet<EventProcessor<?>>> eventProcessors;
 
+    /**
+     * <p>The current (immutable) {@link FilterIndex} over the registered {@link Filter}s, rebuilt whenever a
+     * {@link Filter} is registered or unregistered.</p>
+     */
+    private volatile FilterIndex filterIndex;
+
+    /**
+     * <p>The {@link EventBatcher} accumulating {@link Event}s for {@link BatchingEventProcessor}s.</p>
+     */
+    private final EventBatcher eventBatcher;
+
     /**
      * The {@link Logger} to use.
      */
@@ -68,6 +90,8 @@ public class SimpleEventDispatcher implements EventDispatcher
     {
         this.environment = environment;
         this.eventProcessors = new ConcurrentHashMap<Filter, CopyOnWriteArraySet<EventProcessor<?>>>();
+        this.filterIndex = new FilterIndex(eventProcessors);
+        this.eventBatcher = new EventBatcher(this);
     }
 
 
@@ -87,16 +111,8 @@ public class SimpleEventDispatcher implements EventDispatcher
                                                 EventProcessor<E> eventProcessor)
     {
         //have the specified event processed with the specified event processor
-        if (logger.isLoggable(Level.FINEST))
-        {
-            logger.log(Level.FINEST, "[Commenced] Processing {0} with {1}", new Object[] { event, eventProcessor });
-        }
-        ((EventProcessor<E>) eventProcessor).process(this, event);
+        process(event, eventProcessor);
 
-        if (logger.isLoggable(Level.FINEST))
-        {
-            logger.log(Level.FINEST, "[Completed] Processing {0} with {1}", new Object[] { event, eventProcessor });
-        }
         //dispatch the event to other event processors
         dispatchEvent(event);
     }
@@ -105,15 +121,37 @@ public class SimpleEventDispatcher implements EventDispatcher
     /**
      * {@inheritDoc}
      */
-    public <E extends Event> void dispatchEventLater(final E event)
+    public <E extends Event> void dispatchEventLater(E event)
     {
+        final E retainableEvent = BackingMapEntryEventPool.ensureRetainable(event);
+
+        //when a partitioned executor has been configured, backing map events are dispatched in order per partition
+        //(and concurrently for different partitions)
+        final int partitionId = retainableEvent instanceof AbstractBackingMapEntryEvent
+                                ? ((AbstractBackingMapEntryEvent) retainableEvent).getPartitionId()
+                                : AbstractBackingMapEntryEvent.UNKNOWN_PARTITION;
+
+        ExecutorService executorService = partitionId == AbstractBackingMapEntryEvent.UNKNOWN_PARTITION
+                                          ? null : getEnvironment().getResource(PartitionOrderedExecutorService.class);
+
+        if (executorService == null)
+        {
+            executorService = getEnvironment().getResource(ExecutorService.class);
+        }
+
         //schedule the event to be dispatched later using our execution service
-        getEnvironment().getResource(ExecutorService.class).execute(new Runnable()
+        executorService.execute(new PartitionedRunnable()
         {
 
+            public int getPartitionId()
+            {
+                return partitionId;
+            }
+
+
             public void run()
             {
-                dispatchEvent(event);
+                dispatchEvent(retainableEvent);
             }
         });
 
@@ -137,6 +175,9 @@ public class SimpleEventDispatcher implements EventDispatcher
             if (eventProcessorSet == null)
             {
                 eventProcessorSet = eventProcessors.get(filter);
+
+                // a new filter requires the index to be rebuilt
+                filterIndex = new FilterIndex(eventProcessors);
             }
 
             boolean isAlreadyRegistered = eventProcessorSet.contains(eventProcessor);
@@ -187,6 +228,7 @@ public class SimpleEventDispatcher implements EventDispatcher
                 {
                     eventProcessors.remove(filter);
 
+                    filterIndex = new FilterIndex(eventProcessors);
                 }
             }
         }
@@ -199,27 +241,256 @@ public class SimpleEventDispatcher implements EventDispatcher
     @SuppressWarnings("unchecked")
     public <E extends Event> void dispatchEvent(E event)
     {
-        for (Filter filter : eventProcessors.keySet())
+        for (EventProcessor<?> eventProcessor : getEventProcessors(event))
+        {
+            process(event, (EventProcessor<E>) eventProcessor);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasEventProcessorsFor(Class<? extends Event> eventClass)
+    {
+        return hasEventProcessorsFor(eventClass, null);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasEventProcessorsFor(Class<? extends Event> eventClass,
+                                         String cacheName)
+    {
+        FilterIndex index = filterIndex;
+
+        for (Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>> entry : index.getCandidates(eventClass))
+        {
+            Filter filter = entry.getKey();
+
+            // only EventClassFilters are known to be restricted to a cache (sub-classes may evaluate differently)
+            if (cacheName == null || filter.getClass() != EventClassFilter.class
+                || ((EventClassFilter) filter).getCacheName() == null
+                || cacheName.equals(((EventClassFilter) filter).getCacheName()))
+            {
+                return true;
+            }
+        }
+
+        return NamedCacheLifecycleEvent.class.isAssignableFrom(eventClass)
+               && (cacheName == null ? !index.eventProcessorsByCacheName.isEmpty()
+                                     : index.eventProcessorsByCacheName.containsKey(cacheName));
+    }
+
+
+    /**
+     * <p>Determines the registered {@link EventProcessor}s that should process the specified {@link Event}, that is,
+     * those registered with a {@link Filter} that evaluates to <code>true</code> for the {@link Event}.</p>
+     *
+     * <p>Only the {@link Filter}s that are candidates for the {@link Event} according to the {@link FilterIndex}
+     * are evaluated.</p>
+     *
+     * @param event The {@link Event} to be processed
+     *
+     * @return A {@link List} of {@link EventProcessor}s (in the order they should process the {@link Event})
+     */
+    protected <E extends Event> List<EventProcessor<?>> getEventProcessors(E event)
+    {
+        ArrayList<EventProcessor<?>> interestedEventProcessors = new ArrayList<EventProcessor<?>>();
+        FilterIndex index = filterIndex;
+
+        for (Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>> entry : index.getCandidates(event.getClass()))
+        {
+            if (entry.getKey().evaluate(event))
+            {
+                interestedEventProcessors.addAll(entry.getValue());
+            }
+        }
+
+        if (event instanceof NamedCacheLifecycleEvent)
         {
-            if (filter.evaluate(event))
+            // registrations for exactly the named cache don't require evaluation
+            List<CopyOnWriteArraySet<EventProcessor<?>>> eventProcessorSets = index.eventProcessorsByCacheName
+                .get(((NamedCacheLifecycleEvent) event).getCacheName());
+
+            if (eventProcessorSets != null)
             {
-                for (EventProcessor<?> eventProcessor : eventProcessors.get(filter))
+                for (CopyOnWriteArraySet<EventProcessor<?>> eventProcessorSet : eventProcessorSets)
                 {
-                    if (logger.isLoggable(Level.FINEST))
+                    interestedEventProcessors.addAll(eventProcessorSet);
+                }
+            }
+        }
+
+        return interestedEventProcessors;
+    }
+
+
+    /**
+     * <p>Processes the specified {@link Event} with the specified {@link EventProcessor} (on the calling thread).</p>
+     *
+     * <p>{@link Event}s for {@link BatchingEventProcessor}s are added to a batch, which is processed when it's full or
+     * its maximum latency has expired.</p>
+     *
+     * @param event          The {@link Event} to process
+     * @param eventProcessor The {@link EventProcessor} to process the {@link Event}
+     */
+    protected <E extends Event> void process(E event,
+                                             EventProcessor<E> eventProcessor)
+    {
+        if (eventProcessor instanceof BatchingEventProcessor)
+        {
+            eventBatcher.add(event, (BatchingEventProcessor<E>) eventProcessor);
+
+            return;
+        }
+
+        if (logger.isLoggable(Level.FINEST))
+        {
+            logger.log(Level.FINEST, "[Commenced] Processing {0} with {1}", new Object[] { event, eventProcessor });
+        }
+
+        eventProcessor.process(this, event);
+
+        if (logger.isLoggable(Level.FINEST))
+        {
+            logger.log(Level.FINEST, "[Completed] Processing {0} with {1}", new Object[] { event, eventProcessor });
+        }
+    }
+
+
+    /**
+     * <p>Processes (on the calling thread) all of the {@link Event}s that have been batched for
+     * {@link BatchingEventProcessor}s but not yet processed, waiting for any batches being processed by other
+     * threads.</p>
+     */
+    public void flushBatches()
+    {
+        eventBatcher.flush();
+    }
+
+
+    /**
+     * <p>A {@link FilterIndex} is an immutable index over the registered {@link Filter}s, used to avoid evaluating
+     * every {@link Filter} for every {@link Event}.</p>
+     *
+     * <p>{@link EventTypeFilter}s are indexed by the type of {@link Event} they accept, so they are only ever
+     * evaluated against {@link Event}s of that type.  {@link NamedCacheLifecycleEventFilter}s for an exact cache name
+     * are indexed by the cache name (and are never evaluated), unless they are instances of a sub-class.  All other
+     * {@link Filter}s are evaluated against every {@link Event}.</p>
+     */
+    private static final class FilterIndex
+    {
+        /**
+         * <p>The {@link EventTypeFilter}s (and their {@link EventProcessor}s) by the type of {@link Event}
+         * they accept.</p>
+         */
+        private final Map<Class<?>, List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>>> entriesByEventType;
+
+        /**
+         * <p>The {@link Filter}s (and their {@link EventProcessor}s) that can't be indexed.</p>
+         */
+        private final List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>> unindexedEntries;
+
+        /**
+         * <p>The {@link EventProcessor}s registered for exactly named caches (by cache name).</p>
+         */
+        private final Map<String, List<CopyOnWriteArraySet<EventProcessor<?>>>> eventProcessorsByCacheName;
+
+        /**
+         * <p>The candidate {@link Filter}s (and their {@link EventProcessor}s) for each concrete type of {@link Event},
+         * determined lazily as {@link Event}s are dispatched.</p>
+         */
+        private final ConcurrentHashMap<Class<?>, List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>>> candidatesByClass;
+
+
+        /**
+         * <p>Standard Constructor.</p>
+         *
+         * @param eventProcessors The currently registered {@link EventProcessor}s by {@link Filter}
+         */
+        FilterIndex(Map<Filter, CopyOnWriteArraySet<EventProcessor<?>>> eventProcessors)
+        {
+            entriesByEventType = new HashMap<Class<?>, List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>>>();
+            unindexedEntries = new ArrayList<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>>();
+            eventProcessorsByCacheName = new HashMap<String, List<CopyOnWriteArraySet<EventProcessor<?>>>>();
+            candidatesByClass = new ConcurrentHashMap<Class<?>,
+                List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>>>();
+
+            for (Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>> entry : eventProcessors.entrySet())
+            {
+                Filter filter = entry.getKey();
+
+                // only filters known to match exact cache names are indexed by name (sub-classes may evaluate
+                // differently, so they are evaluated like any other filter)
+                if (filter.getClass() == NamedCacheLifecycleEventFilter.class
+                        && !((NamedCacheLifecycleEventFilter) filter).isWildcard())
+                {
+                    String cacheName = ((NamedCacheLifecycleEventFilter) filter).getCacheName();
+                    List<CopyOnWriteArraySet<EventProcessor<?>>> eventProcessorSets = eventProcessorsByCacheName
+                        .get(cacheName);
+
+                    if (eventProcessorSets == null)
                     {
-                        logger.log(Level.FINEST, "[Commenced] Processing {0} with {1}", new Object[] { event,
-                                eventProcessor });
+                        eventProcessorSets = new ArrayList<CopyOnWriteArraySet<EventProcessor<?>>>();
+                        eventProcessorsByCacheName.put(cacheName, eventProcessorSets);
                     }
 
-                    ((EventProcessor<E>) eventProcessor).process(this, event);
+                    eventProcessorSets.add(entry.getValue());
+                }
+                else if (filter instanceof EventTypeFilter)
+                {
+                    Class<?> eventType = ((EventTypeFilter) filter).getEventType();
+                    List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>> entries = entriesByEventType
+                        .get(eventType);
 
-                    if (logger.isLoggable(Level.FINEST))
+                    if (entries == null)
                     {
-                        logger.log(Level.FINEST, "[Completed] Processing {0} with {1}", new Object[] { event,
-                                eventProcessor });
+                        entries = new ArrayList<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>>();
+                        entriesByEventType.put(eventType, entries);
                     }
+
+                    entries.add(entry);
+                }
+                else
+                {
+                    unindexedEntries.add(entry);
                 }
             }
         }
+
+
+        /**
+         * <p>Determines the {@link Filter}s (and their {@link EventProcessor}s) that must be evaluated for
+         * {@link Event}s of the specified concrete type.</p>
+         *
+         * @param eventClass The concrete type of the {@link Event}
+         *
+         * @return The candidate {@link Filter}s (and their {@link EventProcessor}s)
+         */
+        List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>> getCandidates(Class<?> eventClass)
+        {
+            List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>> candidates = candidatesByClass
+                .get(eventClass);
+
+            if (candidates == null)
+            {
+                candidates = new ArrayList<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>>(unindexedEntries);
+
+                for (Map.Entry<Class<?>, List<Map.Entry<Filter, CopyOnWriteArraySet<EventProcessor<?>>>>> entry
+                        : entriesByEventType.entrySet())
+                {
+                    if (entry.getKey().isAssignableFrom(eventClass))
+                    {
+                        candidates.addAll(entry.getValue());
+                    }
+                }
+
+                candidatesByClass.put(eventClass, candidates);
+            }
+
+            return candidates;
+        }
     }
 }
@@ -28,12 +28,17 @@ import com.oracle.coherence.common.events.EntryEvent;
 import com.oracle.coherence.common.events.Event;
 import com.oracle.coherence.common.events.backingmap.BackingMapEntryArrivedEvent;
 import com.oracle.coherence.common.events.backingmap.BackingMapEntryDepartedEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEventPool;
 import com.oracle.coherence.common.events.backingmap.BackingMapEntryEvictedEvent;
 import com.oracle.coherence.common.events.backingmap.BackingMapEntryInsertedEvent;
 import com.oracle.coherence.common.events.backingmap.BackingMapEntryRemovedEvent;
 import com.oracle.coherence.common.events.backingmap.BackingMapEntryStoredEvent;
 import com.oracle.coherence.common.events.backingmap.BackingMapEntryUpdatedEvent;
 import com.oracle.coherence.common.events.dispatching.EventDispatcher;
+import com.oracle.coherence.common.events.dispatching.IndexedEventDispatcher;
+import com.oracle.coherence.common.events.processing.CoalescingEventProcessor;
+import com.oracle.coherence.common.events.processing.CoalescingPolicy;
 import com.oracle.coherence.common.events.processing.EventProcessor;
 import com.oracle.coherence.common.events.processing.EventProcessorFactory;
 import com.oracle.coherence.common.events.processing.annotations.EventProcessorFor;
@@ -47,6 +52,12 @@ import com.oracle.coherence.configuration.parameters.SystemPropertyParameterProv
 
 import com.oracle.coherence.environment.Environment;
 
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.Serializer;
+
+import com.tangosol.io.pof.PofConstants;
+import com.tangosol.io.pof.PofContext;
+
 import com.tangosol.net.BackingMapManagerContext;
 import com.tangosol.net.CacheFactory;
 
@@ -58,12 +69,15 @@ import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.MapEvent;
 import com.tangosol.util.MapListener;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -90,6 +104,11 @@ import java.util.logging.Logger;
  * Lastly, if an {@link java.util.Map.Entry} value is annotated with {@link SupportsEventProcessing} or {@link LiveObject}
  * then  the {@link Event}s are dispatched to the appropriate method annotated with {@link EventProcessorFor} on the said
  * {@link java.util.Map.Entry} value class.
+ * <p>
+ * Consecutive {@link BackingMapEntryUpdatedEvent}s on the same entry may be coalesced into a single
+ * {@link BackingMapEntryUpdatedEvent} (carrying the first original value and the last new value), either for all
+ * {@link EventProcessor}s of a cache (by declaring a {@link CoalescingPolicy} for the cache) or for individual
+ * {@link CoalescingEventProcessor}s.
  *
  * @author Brian Oliver
  */
@@ -100,6 +119,41 @@ public class DelegatingBackingMapListener implements MapListener
      */
     private static final Logger logger = Logger.getLogger(DelegatingBackingMapListener.class.getName());
 
+    /**
+     * The {@link EventProcessor} used to remember that a value class has no event processing method for an
+     * {@link Event} class (so that we don't search for one again).
+     */
+    private static final EventProcessor<Event> NO_EVENT_PROCESSOR = new EventProcessor<Event>()
+    {
+        public void process(EventDispatcher eventDispatcher,
+                            Event event)
+        {
+            // SKIP: never used to process events
+        }
+    };
+
+    /**
+     * The types of {@link Event}s that may be raised for an inserted entry.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Event>[] INSERTED_EVENT_CLASSES = new Class[] {BackingMapEntryStoredEvent.class,
+                                                                                        BackingMapEntryInsertedEvent.class,
+                                                                                        BackingMapEntryArrivedEvent.class};
+
+    /**
+     * The types of {@link Event}s that may be raised for an updated entry.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Event>[] UPDATED_EVENT_CLASSES = new Class[] {BackingMapEntryUpdatedEvent.class};
+
+    /**
+     * The types of {@link Event}s that may be raised for a deleted entry.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Event>[] DELETED_EVENT_CLASSES = new Class[] {BackingMapEntryEvictedEvent.class,
+                                                                                       BackingMapEntryRemovedEvent.class,
+                                                                                       BackingMapEntryDepartedEvent.class};
+
     /**
      * The {@link BackingMapManagerContext} that owns this listener. (all Backing {@link MapListener}s require a
      * {@link BackingMapManagerContext}).
@@ -118,6 +172,38 @@ public class DelegatingBackingMapListener implements MapListener
      */
     private volatile EventProcessor<Event> m_eventProcessor;
 
+    /**
+     * The {@link CoalescingPolicy} for {@link BackingMapEntryUpdatedEvent}s on the cache (<code>null</code> if
+     * {@link BackingMapEntryUpdatedEvent}s should only be coalesced for {@link CoalescingEventProcessor}s).
+     */
+    private CoalescingPolicy m_coalescingPolicy;
+
+    /**
+     * The {@link UpdatedEventCoalescer} holding back {@link BackingMapEntryUpdatedEvent}s being coalesced.
+     */
+    private final UpdatedEventCoalescer m_coalescer;
+
+    /**
+     * The number of {@link MapEvent}s for which no {@link Event} was created, as nothing could process it.
+     */
+    private final AtomicLong m_cSuppressedEvents;
+
+    /**
+     * The number of {@link MapEvent}s for which an {@link Event} was created and dispatched.
+     */
+    private final AtomicLong m_cDispatchedEvents;
+
+    /**
+     * Whether reusable (thread-confined) {@link BackingMapEntryEvent}s should be dispatched, instead of allocating
+     * {@link BackingMapEntryEvent}s for each {@link MapEvent}.
+     */
+    private volatile boolean m_fReuseEvents;
+
+    /**
+     * The {@link BackingMapEntryEventPool} of each thread (used when reusing {@link BackingMapEntryEvent}s).
+     */
+    private final ThreadLocal<BackingMapEntryEventPool> m_tlEventPool;
+
     /**
      * The cached {@link EventDispatcher} for delegating {@link Event}s.
      */
@@ -133,6 +219,12 @@ public class DelegatingBackingMapListener implements MapListener
      */
     private ConcurrentHashMap<Class<?>, LinkedHashMap<Class<? extends Event>, EventProcessor<? extends Event>>> m_mapEventProcessingMethodsByClass;
 
+    /**
+     * A {@link ConcurrentMap} of value {@link Class}es to the resolved event processing method for each concrete
+     * {@link Event} {@link Class} (or {@link #NO_EVENT_PROCESSOR} if there's no such method).
+     */
+    private ConcurrentHashMap<Class<?>, ConcurrentHashMap<Class<?>, EventProcessor<? extends Event>>> m_mapEventProcessorsByValueClass;
+
 
     /**
      * Construct a {@link DelegatingBackingMapListener}.
@@ -171,6 +263,20 @@ public class DelegatingBackingMapListener implements MapListener
         m_mapEventProcessingMethodsByClass = new ConcurrentHashMap<Class<?>,
                                                                    LinkedHashMap<Class<? extends Event>,
                                                                                  EventProcessor<? extends Event>>>();
+        m_mapEventProcessorsByValueClass = new ConcurrentHashMap<Class<?>,
+                                                                 ConcurrentHashMap<Class<?>,
+                                                                                   EventProcessor<? extends Event>>>();
+        m_coalescer = new UpdatedEventCoalescer(this, environment);
+        m_cSuppressedEvents = new AtomicLong();
+        m_cDispatchedEvents = new AtomicLong();
+        m_tlEventPool = new ThreadLocal<BackingMapEntryEventPool>()
+        {
+            @Override
+            protected BackingMapEntryEventPool initialValue()
+            {
+                return new BackingMapEntryEventPool(getContext(), getCacheName());
+            }
+        };
 
         // grab the CacheMapping for this cache - it has decorations containing the EventProcessor
         CacheMapping cacheMapping = environment.getResource(CacheMappingRegistry.class).findCacheMapping(cacheName);
@@ -180,6 +286,9 @@ public class DelegatingBackingMapListener implements MapListener
         {
             m_eventProcessor = (EventProcessor<Event>) builder.realize(SystemPropertyParameterProvider.INSTANCE);
         }
+
+        m_coalescingPolicy = cacheMapping.getEnrichment(CoalescingPolicy.class, "event-coalescing");
+        m_fReuseEvents     = Boolean.TRUE.equals(cacheMapping.getEnrichment(Boolean.class, "reuse-events"));
     }
 
 
@@ -269,12 +378,127 @@ public class DelegatingBackingMapListener implements MapListener
     }
 
 
+    /**
+     * Determines if reusable (thread-confined) {@link BackingMapEntryEvent}s are dispatched.
+     *
+     * @return true if {@link BackingMapEntryEvent}s are reused
+     */
+    public boolean isReusingEvents()
+    {
+        return m_fReuseEvents;
+    }
+
+
+    /**
+     * Sets whether reusable (thread-confined) {@link BackingMapEntryEvent}s should be dispatched.  Reusable
+     * {@link BackingMapEntryEvent}s are only valid while they are being processed, so {@link EventProcessor}s that
+     * retain them must retain a {@link BackingMapEntryEvent#copy()} instead.
+     *
+     * @param fReuseEvents true if {@link BackingMapEntryEvent}s should be reused
+     */
+    public void setReusingEvents(boolean fReuseEvents)
+    {
+        m_fReuseEvents = fReuseEvents;
+    }
+
+
+    /**
+     * Obtains the number of {@link MapEvent}s for which no {@link Event} was created and dispatched, as no
+     * {@link EventProcessor} could have processed it.
+     *
+     * @return the number of suppressed {@link MapEvent}s
+     */
+    public long getSuppressedEventCount()
+    {
+        return m_cSuppressedEvents.get();
+    }
+
+
+    /**
+     * Obtains the number of {@link MapEvent}s for which an {@link Event} was created and dispatched.
+     *
+     * @return the number of dispatched {@link MapEvent}s
+     */
+    public long getDispatchedEventCount()
+    {
+        return m_cDispatchedEvents.get();
+    }
+
+
+    /**
+     * Determines if an {@link EventProcessor} could be interested in any of the specified types of {@link Event}s
+     * for an entry with the specified value, so that we avoid creating {@link Event}s that no one would process.
+     * <p>
+     * An {@link EventProcessor} could be interested if one is defined for the cache, if one is registered with the
+     * {@link EventDispatcher} for any of the types of {@link Event}s, or if the value could provide one (which is
+     * assumed unless the class of the value can be determined from its {@link Binary} form).
+     *
+     * @param clzEvents the types of {@link Event}s that could be raised
+     * @param oValue    the (internal) value of the entry
+     * @param clzValue  the {@link Class} of the value (see {@link #resolveValueClass(Object)}), or
+     *                  <code>null</code> if it's unknown
+     *
+     * @return true if an {@link Event} should be created and dispatched
+     */
+    protected boolean isInterested(Class<? extends Event>[] clzEvents,
+                                   Object oValue,
+                                   Class<?> clzValue)
+    {
+        boolean fInterested = m_eventProcessor != null;
+
+        EventDispatcher dispatcher = getEventDispatcher();
+
+        for (int i = 0; i < clzEvents.length && !fInterested; i++)
+        {
+            // dispatchers that can't tell which events they'd process are assumed to process all of them
+            fInterested = !(dispatcher instanceof IndexedEventDispatcher)
+                          || ((IndexedEventDispatcher) dispatcher).hasEventProcessorsFor(clzEvents[i], getCacheName());
+        }
+
+        if (!fInterested)
+        {
+            if (clzValue == null || EventProcessor.class.isAssignableFrom(clzValue)
+                || EventProcessorFactory.class.isAssignableFrom(clzValue))
+            {
+                // we can't tell if the value will process the event without deserializing it
+                fInterested = oValue != null;
+            }
+            else
+            {
+                for (int i = 0; i < clzEvents.length && !fInterested; i++)
+                {
+                    fInterested = getEventProcessingMethod(clzValue, clzEvents[i]) != null;
+                }
+            }
+        }
+
+        if (fInterested)
+        {
+            m_cDispatchedEvents.incrementAndGet();
+        }
+        else
+        {
+            m_cSuppressedEvents.incrementAndGet();
+        }
+
+        return fInterested;
+    }
+
+
     /**
      * {@inheritDoc}
      */
     public void entryInserted(MapEvent mapEvent)
     {
-        EntryEvent<?> event;
+        Class<?> clzValue = resolveValueClass(mapEvent.getNewValue());
+
+        if (!isInterested(INSERTED_EVENT_CLASSES, mapEvent.getNewValue(), clzValue))
+        {
+            return;
+        }
+
+        BackingMapEntryEventPool pool = getEventPool();
+        BackingMapEntryEvent     event;
 
         if (getContext().isKeyOwned(mapEvent.getKey()))
         {
@@ -282,28 +506,34 @@ public class DelegatingBackingMapListener implements MapListener
             // We use this to determine if it's an EntryStoredEvent or not
             if (isDecorationRemoved(mapEvent, ExternalizableHelper.DECO_STORE))
             {
-                event = new BackingMapEntryStoredEvent(getContext(),
-                                                       getCacheName(),
-                                                       mapEvent.getKey(),
-                                                       mapEvent.getNewValue());
+                event = pool == null
+                        ? new BackingMapEntryStoredEvent(getContext(),
+                                                         getCacheName(),
+                                                         mapEvent.getKey(),
+                                                         mapEvent.getNewValue())
+                        : pool.getStoredEvent(mapEvent.getKey(), mapEvent.getNewValue());
             }
             else
             {
-                event = new BackingMapEntryInsertedEvent(getContext(),
-                                                         getCacheName(),
-                                                         mapEvent.getKey(),
-                                                         mapEvent.getNewValue());
+                event = pool == null
+                        ? new BackingMapEntryInsertedEvent(getContext(),
+                                                           getCacheName(),
+                                                           mapEvent.getKey(),
+                                                           mapEvent.getNewValue())
+                        : pool.getInsertedEvent(mapEvent.getKey(), mapEvent.getNewValue());
             }
         }
         else
         {
-            event = new BackingMapEntryArrivedEvent(getContext(),
-                                                    getCacheName(),
-                                                    mapEvent.getKey(),
-                                                    mapEvent.getNewValue());
+            event = pool == null
+                    ? new BackingMapEntryArrivedEvent(getContext(),
+                                                      getCacheName(),
+                                                      mapEvent.getKey(),
+                                                      mapEvent.getNewValue())
+                    : pool.getArrivedEvent(mapEvent.getKey(), mapEvent.getNewValue());
         }
 
-        scheduleProcessor(event);
+        scheduleProcessor(event, pool, clzValue);
     }
 
 
@@ -312,13 +542,25 @@ public class DelegatingBackingMapListener implements MapListener
      */
     public void entryUpdated(MapEvent mapEvent)
     {
-        EntryEvent<?> event = new BackingMapEntryUpdatedEvent(getContext(),
-                                                              getCacheName(),
-                                                              mapEvent.getKey(),
-                                                              mapEvent.getOldValue(),
-                                                              mapEvent.getNewValue());
+        Class<?> clzValue = resolveValueClass(mapEvent.getNewValue());
+
+        if (!isInterested(UPDATED_EVENT_CLASSES, mapEvent.getNewValue(), clzValue))
+        {
+            return;
+        }
 
-        scheduleProcessor(event);
+        BackingMapEntryEventPool pool  = getEventPool();
+        BackingMapEntryEvent     event = pool == null
+                                         ? new BackingMapEntryUpdatedEvent(getContext(),
+                                                                           getCacheName(),
+                                                                           mapEvent.getKey(),
+                                                                           mapEvent.getOldValue(),
+                                                                           mapEvent.getNewValue())
+                                         : pool.getUpdatedEvent(mapEvent.getKey(),
+                                                                mapEvent.getOldValue(),
+                                                                mapEvent.getNewValue());
+
+        scheduleProcessor(event, pool, clzValue);
     }
 
 
@@ -327,34 +569,86 @@ public class DelegatingBackingMapListener implements MapListener
      */
     public void entryDeleted(MapEvent mapEvent)
     {
-        EntryEvent<?> event;
+        Class<?> clzValue = resolveValueClass(mapEvent.getOldValue());
+
+        if (!isInterested(DELETED_EVENT_CLASSES, mapEvent.getOldValue(), clzValue))
+        {
+            return;
+        }
+
+        BackingMapEntryEventPool pool = getEventPool();
+        BackingMapEntryEvent     event;
 
         if (m_ctxBackingMapManager.isKeyOwned(mapEvent.getKey()))
         {
             if (mapEvent instanceof CacheEvent && ((CacheEvent) mapEvent).isSynthetic())
             {
-                event = new BackingMapEntryEvictedEvent(getContext(),
-                                                        getCacheName(),
-                                                        mapEvent.getKey(),
-                                                        mapEvent.getOldValue());
+                event = pool == null
+                        ? new BackingMapEntryEvictedEvent(getContext(),
+                                                          getCacheName(),
+                                                          mapEvent.getKey(),
+                                                          mapEvent.getOldValue())
+                        : pool.getEvictedEvent(mapEvent.getKey(), mapEvent.getOldValue());
             }
             else
             {
-                event = new BackingMapEntryRemovedEvent(getContext(),
-                                                        getCacheName(),
-                                                        mapEvent.getKey(),
-                                                        mapEvent.getOldValue());
+                event = pool == null
+                        ? new BackingMapEntryRemovedEvent(getContext(),
+                                                          getCacheName(),
+                                                          mapEvent.getKey(),
+                                                          mapEvent.getOldValue())
+                        : pool.getRemovedEvent(mapEvent.getKey(), mapEvent.getOldValue());
             }
         }
         else
         {
-            event = new BackingMapEntryDepartedEvent(getContext(),
-                                                     getCacheName(),
-                                                     mapEvent.getKey(),
-                                                     mapEvent.getOldValue());
+            event = pool == null
+                    ? new BackingMapEntryDepartedEvent(getContext(),
+                                                       getCacheName(),
+                                                       mapEvent.getKey(),
+                                                       mapEvent.getOldValue())
+                    : pool.getDepartedEvent(mapEvent.getKey(), mapEvent.getOldValue());
         }
 
-        scheduleProcessor(event);
+        scheduleProcessor(event, pool, clzValue);
+    }
+
+
+    /**
+     * Obtains the {@link BackingMapEntryEventPool} of the calling thread, when reusable {@link Event}s are enabled.
+     *
+     * @return the {@link BackingMapEntryEventPool} or <code>null</code> if {@link Event}s should not be reused
+     */
+    private BackingMapEntryEventPool getEventPool()
+    {
+        return m_fReuseEvents ? m_tlEventPool.get() : null;
+    }
+
+
+    /**
+     * Schedule the processing of an event, releasing it to the specified {@link BackingMapEntryEventPool} (if any)
+     * once it has been processed.
+     *
+     * @param event    The event to schedule for processing
+     * @param pool     The {@link BackingMapEntryEventPool} from which the event was obtained (may be
+     *                 <code>null</code>)
+     * @param clzValue The {@link Class} of the value of the entry (may be <code>null</code> if it's unknown)
+     */
+    private void scheduleProcessor(BackingMapEntryEvent event,
+                                   BackingMapEntryEventPool pool,
+                                   Class<?> clzValue)
+    {
+        try
+        {
+            scheduleProcessor(event, clzValue);
+        }
+        finally
+        {
+            if (pool != null)
+            {
+                pool.release(event);
+            }
+        }
     }
 
 
@@ -437,13 +731,150 @@ public class DelegatingBackingMapListener implements MapListener
     }
 
 
+    /**
+     * Determines the {@link EventProcessor} (method) on the specified value class for {@link Event}s of the specified
+     * concrete class.  The result is cached for each value and {@link Event} class, so the annotated methods of a
+     * value class are only searched once for each type of {@link Event}.
+     *
+     * @param clzValue the {@link Class} of the value that performs event processing
+     * @param clzEvent the concrete {@link Class} of the {@link Event}
+     *
+     * @return the {@link EventProcessor} (method) or <code>null</code> if the value class doesn't process such
+     *         {@link Event}s
+     */
+    private EventProcessor<? extends Event> getEventProcessingMethod(Class<?> clzValue,
+                                                                     Class<?> clzEvent)
+    {
+        ConcurrentHashMap<Class<?>, EventProcessor<? extends Event>> mapEventProcessorsByEventClass =
+            m_mapEventProcessorsByValueClass.get(clzValue);
+
+        if (mapEventProcessorsByEventClass == null)
+        {
+            mapEventProcessorsByEventClass = new ConcurrentHashMap<Class<?>, EventProcessor<? extends Event>>();
+
+            ConcurrentHashMap<Class<?>, EventProcessor<? extends Event>> mapExisting =
+                m_mapEventProcessorsByValueClass.putIfAbsent(clzValue, mapEventProcessorsByEventClass);
+
+            if (mapExisting != null)
+            {
+                mapEventProcessorsByEventClass = mapExisting;
+            }
+        }
+
+        EventProcessor<? extends Event> processor = mapEventProcessorsByEventClass.get(clzEvent);
+
+        if (processor == null)
+        {
+            // find the first compatible processor for the event class (in declaration order)
+            processor = NO_EVENT_PROCESSOR;
+
+            for (Map.Entry<Class<? extends Event>, EventProcessor<? extends Event>> entry
+                    : getEventProcessingMethods(clzValue).entrySet())
+            {
+                if (entry.getKey().isAssignableFrom(clzEvent))
+                {
+                    processor = entry.getValue();
+                    break;
+                }
+            }
+
+            mapEventProcessorsByEventClass.put(clzEvent, processor);
+        }
+
+        return processor == NO_EVENT_PROCESSOR ? null : processor;
+    }
+
+
+    /**
+     * Determines the {@link Class} of a value from its {@link Binary} (internal) form, without deserializing it,
+     * by reading the POF user type identifier from the header of the {@link Binary}.
+     *
+     * @param binValue the {@link Binary} value (may be <code>null</code>)
+     *
+     * @return the {@link Class} of the value or <code>null</code> if it can't be determined (ie: the cache doesn't
+     *         use POF or the value isn't a POF user type)
+     */
+    protected Class<?> getValueClass(Binary binValue)
+    {
+        Serializer serializer = getContext().getCacheService().getSerializer();
+
+        if (binValue == null || !(serializer instanceof PofContext))
+        {
+            return null;
+        }
+
+        try
+        {
+            ReadBuffer buffer = binValue;
+
+            if (ExternalizableHelper.isIntDecorated(buffer))
+            {
+                buffer = ExternalizableHelper.removeIntDecoration(buffer);
+            }
+
+            if (ExternalizableHelper.isDecorated(buffer))
+            {
+                buffer = ExternalizableHelper.getUndecorated(buffer);
+            }
+
+            ReadBuffer.BufferInput in = buffer.getBufferInput();
+
+            if (buffer.length() > 1 && in.readUnsignedByte() == ExternalizableHelper.FMT_EXT)
+            {
+                int nTypeId = in.readPackedInt();
+
+                if (nTypeId == PofConstants.T_IDENTITY)
+                {
+                    // skip the identity of the value (when object references are enabled)
+                    in.readPackedInt();
+                    nTypeId = in.readPackedInt();
+                }
+
+                return nTypeId >= 0 ? ((PofContext) serializer).getClass(nTypeId) : null;
+            }
+            else
+            {
+                return null;
+            }
+        }
+        catch (Exception exception)
+        {
+            // the header isn't what we expected, so we'll have to deserialize the value to determine its class
+            if (logger.isLoggable(Level.FINEST))
+            {
+                logger.log(Level.FINEST, "Failed to determine the class of a value from its binary form", exception);
+            }
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Determines the {@link Class} of the (internal) value of an entry once per {@link MapEvent}, so that both
+     * {@link #isInterested(Class[], Object, Class)} and the scheduling of the {@link Event} use it without reading
+     * the {@link Binary} header again.  The {@link Class} isn't needed (nor determined) when an
+     * {@link EventProcessor} is defined for the cache.
+     *
+     * @param oValue the (internal) value of the entry
+     *
+     * @return the {@link Class} of the value or <code>null</code> if it's unknown (or not needed)
+     */
+    private Class<?> resolveValueClass(Object oValue)
+    {
+        return m_eventProcessor == null && oValue instanceof Binary ? getValueClass((Binary) oValue) : null;
+    }
+
+
     /**
      * Schedule the processing of an event.
      *
-     * @param event The event to schedule for processing
+     * @param event    The event to schedule for processing
+     * @param clzValue The {@link Class} of the value of the entry (may be <code>null</code> if it's unknown)
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private void scheduleProcessor(Event event)
+    private void scheduleProcessor(Event event,
+                                   Class<?> clzValue)
     {
         if (event instanceof EntryEvent)
         {
@@ -456,47 +887,35 @@ public class DelegatingBackingMapListener implements MapListener
             {
                 // as there is no event processor defined for the delegating backing map listener,
                 // determine the processor based on the entry value
-                Object oValue = entryEvent.getEntry().getValue();
-
-                if (oValue == null)
-                {
-                    processor = null;
-                }
-                else if (oValue instanceof EventProcessor)
-                {
-                    // the value itself is an event processor
-                    processor = (EventProcessor) oValue;
-                }
-                else if (oValue instanceof EventProcessorFactory)
+                if (clzValue != null && !EventProcessor.class.isAssignableFrom(clzValue)
+                    && !EventProcessorFactory.class.isAssignableFrom(clzValue))
                 {
-                    // the value is an event processor factory, so ask the factory for an event processor
-                    processor = ((EventProcessorFactory) oValue).getEventProcessor(entryEvent);
+                    // the value class is enough to determine the event processor based on annotated methods,
+                    // so we avoid deserializing the value (the methods will deserialize it when they're invoked)
+                    processor = getEventProcessingMethod(clzValue, entryEvent.getClass());
                 }
                 else
                 {
-                    // determine the event processor based on annotated object and methods
-                    Class<?> clzValue = oValue.getClass();
-
-                    LinkedHashMap<Class<? extends Event>, EventProcessor<? extends Event>> mapEventProcessingMethods =
-                        getEventProcessingMethods(clzValue);
+                    Object oValue = entryEvent.getEntry().getValue();
 
-                    if (mapEventProcessingMethods.isEmpty())
+                    if (oValue == null)
                     {
                         processor = null;
                     }
+                    else if (oValue instanceof EventProcessor)
+                    {
+                        // the value itself is an event processor
+                        processor = (EventProcessor) oValue;
+                    }
+                    else if (oValue instanceof EventProcessorFactory)
+                    {
+                        // the value is an event processor factory, so ask the factory for an event processor
+                        processor = ((EventProcessorFactory) oValue).getEventProcessor(entryEvent);
+                    }
                     else
                     {
-                        // find a compatible processor for the event class
-                        processor = null;
-
-                        for (Class<? extends Event> clzEvent : mapEventProcessingMethods.keySet())
-                        {
-                            if (clzEvent.isInstance(entryEvent))
-                            {
-                                processor = mapEventProcessingMethods.get(clzEvent);
-                                break;
-                            }
-                        }
+                        // determine the event processor based on annotated object and methods
+                        processor = getEventProcessingMethod(oValue.getClass(), entryEvent.getClass());
                     }
                 }
             }
@@ -506,14 +925,24 @@ public class DelegatingBackingMapListener implements MapListener
                 processor = m_eventProcessor;
             }
 
-            // dispatch the event
-            if (processor == null)
+            // determine if updates should be coalesced (for the processor or otherwise the cache)
+            CoalescingPolicy policy = processor instanceof CoalescingEventProcessor
+                                      ? ((CoalescingEventProcessor) processor).getCoalescingPolicy()
+                                      : m_coalescingPolicy;
+
+            if (policy != null && entryEvent instanceof BackingMapEntryUpdatedEvent)
             {
-                getEventDispatcher().dispatchEvent(entryEvent);
+                m_coalescer.coalesce((BackingMapEntryUpdatedEvent) entryEvent, processor, policy);
             }
             else
             {
-                getEventDispatcher().dispatchEvent(entryEvent, processor);
+                // ensure any updates being coalesced for the entry are dispatched first
+                if (entryEvent instanceof BackingMapEntryEvent)
+                {
+                    m_coalescer.flush(((BackingMapEntryEvent) entryEvent).getEntry().getBinaryKey());
+                }
+
+                dispatch(entryEvent, processor);
             }
         }
         else
@@ -523,6 +952,28 @@ public class DelegatingBackingMapListener implements MapListener
     }
 
 
+    /**
+     * Dispatch an {@link EntryEvent} to the specified {@link EventProcessor} or, when no {@link EventProcessor} is
+     * specified, to the {@link EventProcessor}s registered with the {@link EventDispatcher}.
+     *
+     * @param entryEvent The {@link EntryEvent} to dispatch
+     * @param processor  The {@link EventProcessor} (may be <code>null</code>)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void dispatch(EntryEvent<?> entryEvent,
+                  EventProcessor processor)
+    {
+        if (processor == null)
+        {
+            getEventDispatcher().dispatchEvent(entryEvent);
+        }
+        else
+        {
+            getEventDispatcher().dispatchEvent(entryEvent, processor);
+        }
+    }
+
+
     /**
      * A {@link MethodBasedEventProcessor} is useful for processing {@link Event}s using a specific {@link Method}.
      */
@@ -542,6 +993,16 @@ public class DelegatingBackingMapListener implements MapListener
         public MethodBasedEventProcessor(Method method)
         {
             this.method = method;
+
+            try
+            {
+                // avoid the access checks on each invocation
+                this.method.setAccessible(true);
+            }
+            catch (SecurityException securityException)
+            {
+                // SKIP: we'll just have to pay for the access checks
+            }
         }
 
 
@@ -555,6 +1016,12 @@ public class DelegatingBackingMapListener implements MapListener
             {
                 method.invoke(event.getEntry().getValue(), eventDispatcher, event);
             }
+            catch (InvocationTargetException invocationTargetException)
+            {
+                logger.log(Level.SEVERE, "Exception in process method ", invocationTargetException.getCause());
+
+                throw Base.ensureRuntimeException(invocationTargetException.getCause());
+            }
             catch (Exception exception)
             {
                 logger.log(Level.SEVERE, "Exception in process method ", exception);
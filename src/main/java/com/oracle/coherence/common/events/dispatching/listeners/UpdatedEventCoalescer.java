@@ -0,0 +1,517 @@
+/*
+ * File: UpdatedEventCoalescer.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching.listeners;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.coherence.common.events.EntryEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryUpdatedEvent;
+import com.oracle.coherence.common.events.processing.CoalescingPolicy;
+import com.oracle.coherence.common.events.processing.EventProcessor;
+import com.oracle.coherence.common.threading.ExecutorServiceFactory;
+import com.oracle.coherence.common.threading.ThreadFactories;
+import com.oracle.coherence.environment.Environment;
+import com.tangosol.util.Binary;
+
+/**
+ * <p>An {@link UpdatedEventCoalescer} holds back consecutive {@link BackingMapEntryUpdatedEvent}s on the same entry
+ * (of a single {@link DelegatingBackingMapListener}), merging them into a single {@link BackingMapEntryUpdatedEvent}
+ * that is dispatched when the window of the {@link CoalescingPolicy} closes.</p>
+ * 
+ * <p>When a window closes the coalesced {@link BackingMapEntryUpdatedEvent} is dispatched using the
+ * {@link ExecutorService} of the {@link Environment}, so that slow {@link EventProcessor}s don't delay the closing
+ * of other windows.  Consequently, {@link EventProcessor}s that are otherwise called synchronously (on the thread
+ * raising the {@link EntryEvent}) are called on a background thread for {@link BackingMapEntryUpdatedEvent}s
+ * dispatched by an expired window.  Should the {@link ExecutorService} discard (cancel) the dispatching of a window,
+ * the window is re-armed rather than the {@link BackingMapEntryUpdatedEvent} being lost.</p>
+ * 
+ * <p>Windows are timed using the {@link ScheduledExecutorService} of the {@link Environment} (which is shut down with
+ * the {@link Environment}), or a shared {@link ScheduledExecutorService} when the {@link Environment} doesn't provide
+ * one.</p>
+ * 
+ * <p>To preserve the order of {@link EntryEvent}s for an entry, any pending {@link BackingMapEntryUpdatedEvent} for
+ * an entry must be flushed (using {@link #flush(Binary)}) before other {@link EntryEvent}s on the entry are
+ * dispatched.  Should the pending {@link BackingMapEntryUpdatedEvent} already be being dispatched by another thread,
+ * the flushing thread waits for it to be dispatched.</p>
+ * 
+ * <p>{@link BackingMapEntryUpdatedEvent}s are coalesced only when they are for {@link EventProcessor}s of the same
+ * class, in which case the coalesced {@link BackingMapEntryUpdatedEvent} is dispatched to the {@link EventProcessor}
+ * of the latest {@link BackingMapEntryUpdatedEvent} (ie: the value of the entry, when it is an
+ * {@link EventProcessor}).</p>
+ */
+class UpdatedEventCoalescer
+{
+
+    /**
+     * <p>The {@link DelegatingBackingMapListener} that will dispatch the coalesced {@link EntryEvent}s.</p>
+     */
+    private final DelegatingBackingMapListener listener;
+
+    /**
+     * <p>The {@link Environment} providing the {@link ExecutorService} to dispatch expired windows.</p>
+     */
+    private final Environment environment;
+
+    /**
+     * <p>The {@link PendingEvent}s by binary key.</p>
+     */
+    private final ConcurrentHashMap<Binary, PendingEvent> pendingEvents;
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     * 
+     * @param listener    The {@link DelegatingBackingMapListener} that will dispatch coalesced {@link EntryEvent}s
+     * @param environment The {@link Environment} providing the {@link ExecutorService} to dispatch expired windows
+     */
+    UpdatedEventCoalescer(DelegatingBackingMapListener listener,
+                          Environment environment)
+    {
+        this.listener = listener;
+        this.environment = environment;
+        this.pendingEvents = new ConcurrentHashMap<Binary, PendingEvent>();
+    }
+
+
+    /**
+     * <p>Coalesces the specified {@link BackingMapEntryUpdatedEvent} (for the specified {@link EventProcessor}) with
+     * a pending {@link BackingMapEntryUpdatedEvent} on the same entry, or starts a new window for it.</p>
+     * 
+     * @param event     The {@link BackingMapEntryUpdatedEvent}
+     * @param processor The {@link EventProcessor} for the {@link BackingMapEntryUpdatedEvent} (may be
+     *                  <code>null</code> when the {@link EntryEvent} is dispatched to all registered
+     *                  {@link EventProcessor}s)
+     * @param policy    The {@link CoalescingPolicy} to use for a new window
+     */
+    void coalesce(BackingMapEntryUpdatedEvent event,
+                  EventProcessor<?> processor,
+                  CoalescingPolicy policy)
+    {
+        // we hold on to the event, so it can't be a reusable event
+        event = event.copy();
+
+        Binary key = event.getEntry().getBinaryKey();
+        PendingEvent pendingEvent = pendingEvents.get(key);
+
+        if (pendingEvent != null)
+        {
+            if (pendingEvent.coalesce(event, processor))
+            {
+                return;
+            }
+
+            // the pending event can't be coalesced with the event (ie: the processor changed), so dispatch it now
+            pendingEvent.dispatch();
+        }
+
+        pendingEvent = new PendingEvent(key, event, processor, policy.getMaximumCount());
+        pendingEvents.put(key, pendingEvent);
+
+        if (policy.getMaximumCount() == 1 || !schedule(new WindowExpiry(pendingEvent, policy.getWindowMS())))
+        {
+            pendingEvent.dispatch();
+        }
+    }
+
+
+    /**
+     * <p>Schedules the specified {@link WindowExpiry} to run once its window has elapsed.</p>
+     * 
+     * @param windowExpiry The {@link WindowExpiry}
+     * 
+     * @return <code>false</code> if the {@link WindowExpiry} couldn't be scheduled (ie: the
+     *         {@link ScheduledExecutorService} has been shut down)
+     */
+    private boolean schedule(WindowExpiry windowExpiry)
+    {
+        ScheduledExecutorService scheduler = environment == null
+                                             ? null : environment.getResource(ScheduledExecutorService.class);
+
+        try
+        {
+            (scheduler == null ? DefaultScheduler.INSTANCE : scheduler).schedule(windowExpiry, windowExpiry.windowMS,
+                                                                                 TimeUnit.MILLISECONDS);
+
+            return true;
+        }
+        catch (RejectedExecutionException e)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * <p>Dispatches the pending {@link BackingMapEntryUpdatedEvent} (if any) for the specified binary key.</p>
+     * 
+     * @param key The binary key of the entry
+     */
+    void flush(Binary key)
+    {
+        if (!pendingEvents.isEmpty())
+        {
+            PendingEvent pendingEvent = pendingEvents.get(key);
+
+            if (pendingEvent != null)
+            {
+                pendingEvent.dispatch();
+            }
+        }
+    }
+
+
+    /**
+     * <p>Returns the number of entries with pending {@link BackingMapEntryUpdatedEvent}s.</p>
+     * 
+     * @return The number of pending {@link BackingMapEntryUpdatedEvent}s
+     */
+    int getPendingCount()
+    {
+        return pendingEvents.size();
+    }
+
+
+    /**
+     * <p>A {@link PendingEvent} is a (possibly coalesced) {@link BackingMapEntryUpdatedEvent} waiting for its window
+     * to close.</p>
+     */
+    private class PendingEvent implements Runnable
+    {
+        /**
+         * <p>The binary key of the entry.</p>
+         */
+        private final Binary key;
+
+        /**
+         * <p>The maximum number of updates that may be coalesced.</p>
+         */
+        private final int maximumCount;
+
+        /**
+         * <p>The latch released once the {@link BackingMapEntryUpdatedEvent} has been dispatched.</p>
+         */
+        private final CountDownLatch dispatched;
+
+        /**
+         * <p>The {@link EventProcessor} for the {@link BackingMapEntryUpdatedEvent}.</p>
+         */
+        private EventProcessor<?> processor;
+
+        /**
+         * <p>The (coalesced) {@link BackingMapEntryUpdatedEvent}.</p>
+         */
+        private BackingMapEntryUpdatedEvent event;
+
+        /**
+         * <p>The {@link Thread} dispatching the {@link BackingMapEntryUpdatedEvent} (<code>null</code> until it is
+         * being dispatched).</p>
+         */
+        private Thread dispatchingThread;
+
+
+        /**
+         * <p>Standard Constructor.</p>
+         * 
+         * @param key          The binary key of the entry
+         * @param event        The first {@link BackingMapEntryUpdatedEvent}
+         * @param processor    The {@link EventProcessor} for the {@link BackingMapEntryUpdatedEvent}
+         * @param maximumCount The maximum number of updates that may be coalesced
+         */
+        PendingEvent(Binary key,
+                     BackingMapEntryUpdatedEvent event,
+                     EventProcessor<?> processor,
+                     int maximumCount)
+        {
+            this.key = key;
+            this.event = event;
+            this.processor = processor;
+            this.maximumCount = maximumCount;
+            this.dispatched = new CountDownLatch(1);
+            this.dispatchingThread = null;
+        }
+
+
+        /**
+         * <p>Attempts to coalesce the specified {@link BackingMapEntryUpdatedEvent} into this {@link PendingEvent}.
+         * Should the maximum number of updates be reached, the coalesced {@link BackingMapEntryUpdatedEvent} is
+         * dispatched.</p>
+         * 
+         * @param laterEvent The later {@link BackingMapEntryUpdatedEvent}
+         * @param processor  The {@link EventProcessor} for the later {@link BackingMapEntryUpdatedEvent}
+         * 
+         * @return <code>true</code> if the {@link BackingMapEntryUpdatedEvent} was coalesced
+         */
+        boolean coalesce(BackingMapEntryUpdatedEvent laterEvent,
+                         EventProcessor<?> processor)
+        {
+            boolean isFull;
+
+            synchronized (this)
+            {
+                if (dispatchingThread != null || !isSameClass(this.processor, processor))
+                {
+                    return false;
+                }
+
+                event = event.coalesce(laterEvent);
+
+                // the latest processor is used as it corresponds to the latest value of the entry
+                this.processor = processor;
+
+                isFull = event.getUpdateCount() >= maximumCount;
+            }
+
+            if (isFull)
+            {
+                dispatch();
+            }
+
+            return true;
+        }
+
+
+        /**
+         * <p>Dispatches the (coalesced) {@link BackingMapEntryUpdatedEvent}, unless it has already been
+         * dispatched, in which case waits until it has been dispatched.</p>
+         */
+        void dispatch()
+        {
+            if (!dispatchIfPending())
+            {
+                awaitDispatched();
+            }
+        }
+
+
+        /**
+         * <p>Dispatches the (coalesced) {@link BackingMapEntryUpdatedEvent} on the calling thread, unless another
+         * thread has already started to dispatch it.  The {@link EventProcessor} is run without holding the monitor
+         * of the {@link PendingEvent}.</p>
+         * 
+         * @return <code>true</code> if the calling thread dispatched the {@link BackingMapEntryUpdatedEvent}
+         */
+        private boolean dispatchIfPending()
+        {
+            BackingMapEntryUpdatedEvent eventToDispatch;
+            EventProcessor<?> processorToUse;
+
+            synchronized (this)
+            {
+                if (dispatchingThread != null)
+                {
+                    return false;
+                }
+
+                dispatchingThread = Thread.currentThread();
+                eventToDispatch = event;
+                processorToUse = processor;
+            }
+
+            // we remain in the pending events until dispatched so that flushing threads wait for us
+            try
+            {
+                listener.dispatch(eventToDispatch, processorToUse);
+            }
+            finally
+            {
+                pendingEvents.remove(key, this);
+                dispatched.countDown();
+            }
+
+            return true;
+        }
+
+
+        /**
+         * <p>Waits for another thread to dispatch the {@link BackingMapEntryUpdatedEvent}.  An {@link EventProcessor}
+         * re-entering on the dispatching thread doesn't wait (as it would wait for itself).</p>
+         */
+        private void awaitDispatched()
+        {
+            synchronized (this)
+            {
+                if (dispatchingThread == Thread.currentThread())
+                {
+                    return;
+                }
+            }
+
+            boolean isInterrupted = false;
+
+            while (true)
+            {
+                try
+                {
+                    dispatched.await();
+
+                    break;
+                }
+                catch (InterruptedException e)
+                {
+                    isInterrupted = true;
+                }
+            }
+
+            if (isInterrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+
+        /**
+         * <p>Determines if the specified {@link EventProcessor}s are of the same class.  {@link EventProcessor}s are
+         * compared by class (rather than identity) as an {@link EventProcessor} that is the value of an entry is a new
+         * instance for each {@link BackingMapEntryUpdatedEvent}.</p>
+         * 
+         * @param processor      An {@link EventProcessor} (may be <code>null</code>)
+         * @param otherProcessor Another {@link EventProcessor} (may be <code>null</code>)
+         * 
+         * @return <code>true</code> if the {@link EventProcessor}s are of the same class
+         */
+        private boolean isSameClass(EventProcessor<?> processor,
+                                    EventProcessor<?> otherProcessor)
+        {
+            return processor == null ? otherProcessor == null
+                                     : otherProcessor != null && processor.getClass() == otherProcessor.getClass();
+        }
+
+
+        /**
+         * <p>Determines if the {@link BackingMapEntryUpdatedEvent} is yet to be dispatched.</p>
+         * 
+         * @return <code>true</code> if no thread has started to dispatch the {@link BackingMapEntryUpdatedEvent}
+         */
+        synchronized boolean isPending()
+        {
+            return dispatchingThread == null;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run()
+        {
+            dispatchIfPending();
+        }
+    }
+
+
+    /**
+     * <p>A {@link WindowExpiry} is scheduled to close the window of a {@link PendingEvent}, handing the
+     * {@link PendingEvent} to the {@link ExecutorService} of the {@link Environment} for dispatching.  It only hands
+     * the {@link PendingEvent} over; it never runs {@link EventProcessor}s itself (unless the {@link ExecutorService}
+     * is unavailable).</p>
+     */
+    private class WindowExpiry implements Runnable
+    {
+        /**
+         * <p>The {@link PendingEvent} whose window is to be closed.</p>
+         */
+        private final PendingEvent pendingEvent;
+
+        /**
+         * <p>The duration (in milliseconds) of the window.</p>
+         */
+        private final long windowMS;
+
+
+        /**
+         * <p>Standard Constructor.</p>
+         * 
+         * @param pendingEvent The {@link PendingEvent} whose window is to be closed
+         * @param windowMS     The duration (in milliseconds) of the window
+         */
+        WindowExpiry(PendingEvent pendingEvent,
+                     long windowMS)
+        {
+            this.pendingEvent = pendingEvent;
+            this.windowMS = windowMS;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run()
+        {
+            // the pending event may have already been dispatched (ie: flushed or full)
+            if (!pendingEvent.isPending())
+            {
+                return;
+            }
+
+            ExecutorService executorService = environment == null ? null
+                                                                  : environment.getResource(ExecutorService.class);
+
+            if (executorService != null)
+            {
+                try
+                {
+                    executorService.execute(new FutureTask<Object>(pendingEvent, null)
+                    {
+                        @Override
+                        protected void done()
+                        {
+                            // an executor may discard (and thus cancel) the pending event when its queue is full,
+                            // in which case we re-arm the window rather than lose the event
+                            if (isCancelled() && pendingEvent.isPending() && !schedule(WindowExpiry.this))
+                            {
+                                pendingEvent.run();
+                            }
+                        }
+                    });
+
+                    return;
+                }
+                catch (RejectedExecutionException e)
+                {
+                    // the executor is shutting down, so dispatch the event here rather than lose it
+                }
+            }
+
+            pendingEvent.run();
+        }
+    }
+
+
+    /**
+     * <p>Holds the {@link ScheduledExecutorService} used to detect windows that have expired when the
+     * {@link Environment} doesn't provide one (it's only created when first required).</p>
+     */
+    private static class DefaultScheduler
+    {
+        /**
+         * <p>The shared {@link ScheduledExecutorService}.</p>
+         */
+        private static final ScheduledExecutorService INSTANCE =
+            ExecutorServiceFactory.newSingleThreadScheduledExecutor(ThreadFactories.newThreadFactory(true,
+                "UpdatedEventCoalescer", null));
+    }
+}
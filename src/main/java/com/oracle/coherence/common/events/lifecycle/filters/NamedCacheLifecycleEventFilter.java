@@ -21,9 +21,10 @@
  */
 package com.oracle.coherence.common.events.lifecycle.filters;
 
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.dispatching.EventTypeFilter;
 import com.oracle.coherence.common.events.lifecycle.NamedCacheLifecycleEvent;
 import com.tangosol.net.NamedCache;
-import com.tangosol.util.Filter;
 
 /**
  * <p>A {@link NamedCacheLifecycleEventFilter} may be used to filter {@link NamedCacheLifecycleEvent}s
@@ -35,7 +36,7 @@ import com.tangosol.util.Filter;
  *
  * @author Brian Oliver
  */
-public class NamedCacheLifecycleEventFilter implements Filter
+public class NamedCacheLifecycleEventFilter implements EventTypeFilter
 {
 
     /**
@@ -55,6 +56,37 @@ public class NamedCacheLifecycleEventFilter implements Filter
     }
 
 
+    /**
+     * <p>Returns the name of the {@link NamedCache} being filtered (may contain wildcards).</p>
+     *
+     * @return The name of the {@link NamedCache}
+     */
+    public String getCacheName()
+    {
+        return cacheName;
+    }
+
+
+    /**
+     * <p>Determines if the name of the {@link NamedCache} being filtered contains a wildcard.</p>
+     *
+     * @return <code>true</code> if the cache name contains a wildcard
+     */
+    public boolean isWildcard()
+    {
+        return cacheName.indexOf("*") >= 0;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<? extends Event> getEventType()
+    {
+        return NamedCacheLifecycleEvent.class;
+    }
+
+
     /**
      * {@inheritDoc}
      */
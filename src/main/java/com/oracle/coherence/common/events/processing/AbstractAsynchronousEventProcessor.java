@@ -21,10 +21,18 @@
  */
 package com.oracle.coherence.common.events.processing;
 
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 
+import com.oracle.coherence.common.events.EntryEvent;
 import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.AbstractBackingMapEntryEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryEventPool;
 import com.oracle.coherence.common.events.dispatching.EventDispatcher;
+import com.oracle.coherence.common.threading.KeyedRunnable;
+import com.oracle.coherence.common.threading.PartitionOrderedExecutorService;
+import com.oracle.coherence.common.threading.PartitionedRunnable;
 import com.oracle.coherence.environment.Environment;
 import com.tangosol.net.CacheFactory;
 
@@ -32,6 +40,12 @@ import com.tangosol.net.CacheFactory;
  * <p>An {@link AbstractAsynchronousEventProcessor} provides an abstract implementation of an {@link EventProcessor}
  * that will aysnchronously process an event (on another thread), instead of the dispatching thread.</p>
  *
+ * <p>When the {@link Environment} has a {@link PartitionOrderedExecutorService} (ie: an
+ * <code>&lt;environment:partitioned-executor&gt;</code> has been configured), {@link BackingMapEntryEvent}s are
+ * processed in the order they were raised for each partition, while those of different partitions may be processed
+ * concurrently.  Otherwise {@link Event}s are processed using the {@link ExecutorService} of the
+ * {@link Environment}.</p>
+ *
  *@param <E> the type of the {@link Event}
  *
  * @author Brian Oliver
@@ -43,21 +57,82 @@ public abstract class AbstractAsynchronousEventProcessor<E extends Event> implem
      * {@inheritDoc}
      */
     public final void process(final EventDispatcher eventDispatcher,
-                              final E event)
+                              E event)
     {
-        //schedule the event to be processed later on another thread provided by the executor service
+        // the event is processed later, so it can't be a reusable event
+        final E retainableEvent = BackingMapEntryEventPool.ensureRetainable(event);
+
+        //when a partitioned executor has been configured, backing map events are processed in order per partition
+        //(and concurrently for different partitions)
+        final int partitionId = retainableEvent instanceof AbstractBackingMapEntryEvent
+                                ? ((AbstractBackingMapEntryEvent) retainableEvent).getPartitionId()
+                                : AbstractBackingMapEntryEvent.UNKNOWN_PARTITION;
+
         Environment environment = (Environment) CacheFactory.getConfigurableCacheFactory();
-        environment.getResource(ExecutorService.class).execute(new Runnable()
+        ExecutorService executorService = partitionId == AbstractBackingMapEntryEvent.UNKNOWN_PARTITION
+                                          ? null : environment.getResource(PartitionOrderedExecutorService.class);
+
+        if (executorService == null)
+        {
+            executorService = environment.getResource(ExecutorService.class);
+        }
+
+        //schedule the event to be processed later on another thread provided by the executor service
+        executorService.execute(new PartitionedKeyedRunnable()
         {
 
+            public int getPartitionId()
+            {
+                return partitionId;
+            }
+
+
+            public Object getKey()
+            {
+                // pending events of the same type for the same entry (and this processor) may be coalesced by the
+                // executor service
+                return getCoalescingKey(retainableEvent);
+            }
+
+
             public void run()
             {
-                processLater(eventDispatcher, event);
+                processLater(eventDispatcher, retainableEvent);
             }
         });
     }
 
 
+    /**
+     * <p>Determines the key with which a pending {@link Event} for this {@link EventProcessor} may be replaced by a
+     * later {@link Event}, should the queue of the {@link ExecutorService} be full and configured to coalesce.</p>
+     *
+     * <p>By default {@link EntryEvent}s are coalesced per entry key and type of {@link Event}, so that a pending
+     * {@link Event} is only ever replaced by a later {@link Event} of the same type (eg: an insert is never replaced
+     * by an update or a removal).  Override this method to return <code>null</code> for {@link EventProcessor}s that
+     * must process every {@link Event}.</p>
+     *
+     * @param event The {@link Event}
+     *
+     * @return The key or <code>null</code> if the {@link Event} may not be coalesced
+     */
+    protected Object getCoalescingKey(E event)
+    {
+        if (event instanceof BackingMapEntryEvent)
+        {
+            return Arrays.asList(this, event.getClass(), ((BackingMapEntryEvent) event).getEntry().getBinaryKey());
+        }
+        else if (event instanceof EntryEvent)
+        {
+            return Arrays.asList(this, event.getClass(), ((EntryEvent<?>) event).getEntry().getKey());
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+
     /**
      * <p>Process the {@link Event} raised by the specified {@link EventDispatcher}.</p>
      * 
@@ -69,4 +144,12 @@ public abstract class AbstractAsynchronousEventProcessor<E extends Event> implem
      */
     public abstract void processLater(EventDispatcher eventDispatcher,
                                       E event);
+
+
+    /**
+     * <p>A {@link Runnable} that is both a {@link PartitionedRunnable} and a {@link KeyedRunnable}.</p>
+     */
+    private interface PartitionedKeyedRunnable extends PartitionedRunnable, KeyedRunnable
+    {
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * File: BatchingEventProcessor.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.processing;
+
+import java.util.List;
+
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.dispatching.EventDispatcher;
+
+/**
+ * <p>A {@link BatchingEventProcessor} is an {@link EventProcessor} that prefers to process {@link Event}s in
+ * micro-batches, for example so that it can update a downstream cache or store with a single request per batch.</p>
+ * 
+ * <p>When an {@link EventDispatcher} supports batching, {@link Event}s for a {@link BatchingEventProcessor} are
+ * accumulated and delivered using {@link #processBatch(EventDispatcher, List)} once either the maximum batch size
+ * has been reached or the oldest {@link Event} in the batch has waited for the maximum batch latency.  Batches are
+ * grouped by cache and, for backing map {@link Event}s, by partition, so each batch only ever contains
+ * {@link Event}s from a single cache (and partition), in the order they were dispatched.</p>
+ * 
+ * <p><strong>NOTE:</strong> Batches may be delivered on a background thread (when the maximum batch latency expires)
+ * rather than the thread that dispatched the {@link Event}s.  {@link EventDispatcher}s that don't support batching
+ * will call {@link #process(EventDispatcher, Event)} for each {@link Event}, so implementations should handle both.</p>
+ * 
+ * <p><strong>NOTE:</strong> A batch is delivered once.  Should {@link #processBatch(EventDispatcher, List)} throw
+ * an exception, the failure is logged and the batch is dropped (it is neither retried nor delivered to
+ * {@link #process(EventDispatcher, Event)}), so implementations that can't afford to lose {@link Event}s should
+ * handle their own failures.</p>
+ * 
+ * @param <E> The {@link Event} type
+ */
+public interface BatchingEventProcessor<E extends Event> extends EventProcessor<E>
+{
+
+    /**
+     * <p>Returns the maximum number of {@link Event}s to deliver in a single batch.</p>
+     * 
+     * @return The maximum batch size
+     */
+    public int getMaximumBatchSize();
+
+
+    /**
+     * <p>Returns the maximum number of milliseconds an {@link Event} may wait in a batch before the batch is
+     * delivered.</p>
+     * 
+     * @return The maximum batch latency in milliseconds
+     */
+    public long getMaximumBatchLatencyMS();
+
+
+    /**
+     * <p>Perform necessary processing of the provided batch of {@link Event}s.</p>
+     * 
+     * @param eventDispatcher The {@link EventDispatcher} that dispatched the {@link Event}s
+     * @param events          The {@link Event}s to be processed (in the order they were dispatched)
+     */
+    public void processBatch(EventDispatcher eventDispatcher,
+                             List<E> events);
+}
@@ -0,0 +1,47 @@
+/*
+ * File: CoalescingEventProcessor.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.processing;
+
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryUpdatedEvent;
+
+/**
+ * <p>A {@link CoalescingEventProcessor} is an {@link EventProcessor} that is only interested in the latest state
+ * of an entry, and thus allows consecutive {@link BackingMapEntryUpdatedEvent}s on the same entry to be coalesced
+ * (according to a {@link CoalescingPolicy}) before they are dispatched to it.</p>
+ * 
+ * <p><strong>NOTE:</strong> Coalesced {@link BackingMapEntryUpdatedEvent}s are dispatched on a background thread
+ * once their window has closed, not on the thread that raised the original {@link Event}s.</p>
+ * 
+ * @param <E> The {@link Event} type
+ */
+public interface CoalescingEventProcessor<E extends Event> extends EventProcessor<E>
+{
+
+    /**
+     * <p>Returns the {@link CoalescingPolicy} to use when coalescing {@link BackingMapEntryUpdatedEvent}s for this
+     * {@link EventProcessor}.</p>
+     * 
+     * @return The {@link CoalescingPolicy}
+     */
+    public CoalescingPolicy getCoalescingPolicy();
+}
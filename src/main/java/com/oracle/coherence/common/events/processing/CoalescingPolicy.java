@@ -0,0 +1,98 @@
+/*
+ * File: CoalescingPolicy.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.processing;
+
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryUpdatedEvent;
+
+/**
+ * <p>A {@link CoalescingPolicy} defines the window in which consecutive {@link BackingMapEntryUpdatedEvent}s on the
+ * same entry may be coalesced into a single {@link BackingMapEntryUpdatedEvent}, carrying the original value of the
+ * first and the new value of the last update.</p>
+ * 
+ * <p>A window closes (and the coalesced {@link BackingMapEntryUpdatedEvent} is dispatched) when either the
+ * window duration has elapsed since the first update or the maximum number of updates has been coalesced, which
+ * ever happens first.</p>
+ */
+public class CoalescingPolicy
+{
+
+    /**
+     * <p>The maximum duration (in milliseconds) of a window.</p>
+     */
+    private final long windowMS;
+
+    /**
+     * <p>The maximum number of updates that may be coalesced in a window.</p>
+     */
+    private final int maximumCount;
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     * 
+     * @param windowMS     The maximum duration (in milliseconds) of a window (must be positive)
+     * @param maximumCount The maximum number of updates that may be coalesced in a window (must be positive)
+     */
+    public CoalescingPolicy(long windowMS,
+                            int maximumCount)
+    {
+        if (windowMS <= 0 || maximumCount <= 0)
+        {
+            throw new IllegalArgumentException("The window and maximum count of a CoalescingPolicy must be positive");
+        }
+
+        this.windowMS = windowMS;
+        this.maximumCount = maximumCount;
+    }
+
+
+    /**
+     * <p>Returns the maximum duration (in milliseconds) of a window.</p>
+     * 
+     * @return The window duration in milliseconds
+     */
+    public long getWindowMS()
+    {
+        return windowMS;
+    }
+
+
+    /**
+     * <p>Returns the maximum number of updates that may be coalesced in a window.</p>
+     * 
+     * @return The maximum number of updates
+     */
+    public int getMaximumCount()
+    {
+        return maximumCount;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("CoalescingPolicy{windowMS=%d, maximumCount=%d}", windowMS, maximumCount);
+    }
+}
@@ -21,6 +21,7 @@
  */
 package com.oracle.coherence.common.serialization;
 
+import com.oracle.coherence.common.serialization.annotations.PofField;
 import com.oracle.coherence.common.serialization.fieldserializers.BigDecimalFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.BigIntegerFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.BinaryFieldSerializer;
@@ -31,6 +32,7 @@ import com.oracle.coherence.common.serialization.fieldserializers.ByteFieldSeria
 import com.oracle.coherence.common.serialization.fieldserializers.CharacterArrayFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.CharacterFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.CollectionFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.ColumnarArrayFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.DateFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.DoubleArrayFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.DoubleFieldSerializer;
@@ -43,6 +45,7 @@ import com.oracle.coherence.common.serialization.fieldserializers.LongFieldSeria
 import com.oracle.coherence.common.serialization.fieldserializers.MapFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.ObjectArrayFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.ObjectFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.PrimitiveCollectionFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.RawQuadFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.ShortArrayFieldSerializer;
 import com.oracle.coherence.common.serialization.fieldserializers.ShortFieldSerializer;
@@ -56,11 +59,17 @@ import java.math.BigInteger;
 import java.sql.Date;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A {@link DefaultFieldSerializationProvider} in an implementation of a {@link FieldSerializationProvider}
  * that provides {@link FieldSerializer} for each of the Java primitive types and several of the Coherence
  * Portable Object types.
+ * <p>
+ * {@link FieldSerializer}s are selected using a table keyed by the exact type of a {@link Field}.  Additional
+ * (shared) {@link FieldSerializer}s for application specific types may be registered using
+ * {@link #registerFieldSerializer(Class, FieldSerializer)}.
  *
  * @author Charlie Helin
  */
@@ -68,95 +77,35 @@ public class DefaultFieldSerializationProvider implements FieldSerializationProv
 {
 
     /**
-     * The {@link BigDecimalFieldSerializer}.
-     */
-    private final BigDecimalFieldSerializer bigDecimalFieldSerializer;
-
-    /**
-     * The {@link BigIntegerFieldSerializer}.
-     */
-    private final BigIntegerFieldSerializer bigIntFieldSerializer;
-
-    /**
-     * The {@link BinaryFieldSerializer}.
-     */
-    private final BinaryFieldSerializer binaryFieldSerializer;
-
-    /**
-     * The {@link BooleanFieldSerializer}.
+     * The shared {@link FieldSerializer}s arranged by the exact type of the {@link Field}s they serialize.
      */
-    private final BooleanArrayFieldSerializer booleanArrayFieldSerializer;
+    private final ConcurrentMap<Class<?>, FieldSerializer> fieldSerializersByType;
 
     /**
-     * The {@link BooleanFieldSerializer}.
+     * The shared {@link ObjectArrayFieldSerializer}s arranged by array component type.
      */
-    private final BooleanFieldSerializer booleanFieldSerializer;
+    private final ConcurrentMap<Class<?>, ObjectArrayFieldSerializer> objectArrayFieldSerializersByComponentType;
 
     /**
-     * The {@link ByteArrayFieldSerializer}.
-     */
-    private final ByteArrayFieldSerializer byteArrayFieldSerializer;
-
-    /**
-     * The {@link ByteFieldSerializer}.
+     * The {@link BigDecimalFieldSerializer}.
      */
-    private final ByteFieldSerializer byteFieldSerializer;
+    private final BigDecimalFieldSerializer bigDecimalFieldSerializer;
 
     /**
-     * The {@link CharacterArrayFieldSerializer}.
+     * The {@link BigIntegerFieldSerializer}.
      */
-    private final CharacterArrayFieldSerializer charArrayFieldSerializer;
+    private final BigIntegerFieldSerializer bigIntFieldSerializer;
 
     /**
-     * The {@link CharacterFieldSerializer}.
+     * The {@link BinaryFieldSerializer}.
      */
-    private final CharacterFieldSerializer charFieldSerializer;
+    private final BinaryFieldSerializer binaryFieldSerializer;
 
     /**
      * The {@link DateFieldSerializer}.
      */
     private final DateFieldSerializer dateFieldSerializer;
 
-    /**
-     * The {@link DoubleArrayFieldSerializer}.
-     */
-    private final DoubleArrayFieldSerializer doubleArrayFieldSerializer;
-
-    /**
-     * The {@link DoubleFieldSerializer}.
-     */
-    private final DoubleFieldSerializer doubleFieldSerializer;
-
-    /**
-     * The {@link FloatArrayFieldSerializer}.
-     */
-    private final FloatArrayFieldSerializer floatArrayFieldSerializer;
-
-    /**
-     * The {@link FloatFieldSerializer}.
-     */
-    private final FloatFieldSerializer floatFieldSerializer;
-
-    /**
-     * The {@link IntegerArrayFieldSerializer}.
-     */
-    private final IntegerArrayFieldSerializer intArrayFieldSerializer;
-
-    /**
-     * The {@link IntegerFieldSerializer}.
-     */
-    private final IntegerFieldSerializer intFieldSerializer;
-
-    /**
-     * The {@link LongArrayFieldSerializer}.
-     */
-    private final LongArrayFieldSerializer longArrayFieldSerializer;
-
-    /**
-     * The {@link LongFieldSerializer}.
-     */
-    private final LongFieldSerializer longFieldSerializer;
-
     /**
      * The {@link ObjectFieldSerializer}.
      */
@@ -167,53 +116,62 @@ public class DefaultFieldSerializationProvider implements FieldSerializationProv
      */
     private final RawQuadFieldSerializer rawQuadFieldSerializer;
 
-    /**
-     * The {@link ShortArrayFieldSerializer}.
-     */
-    private final ShortArrayFieldSerializer shortArrayFieldSerializer;
-
-    /**
-     * The {@link ShortFieldSerializer}.
-     */
-    private final ShortFieldSerializer shortFieldSerializer;
-
-    /**
-     * The {@link StringFieldSerializer}.
-     */
-    private final StringFieldSerializer stringFieldSerializer;
-
 
     /**
      * Standard Constructor.
      */
     public DefaultFieldSerializationProvider()
     {
-        intFieldSerializer = new IntegerFieldSerializer();
-        stringFieldSerializer = new StringFieldSerializer();
-        longFieldSerializer = new LongFieldSerializer();
-        byteFieldSerializer = new ByteFieldSerializer();
-        charFieldSerializer = new CharacterFieldSerializer();
-        shortFieldSerializer = new ShortFieldSerializer();
-        booleanFieldSerializer = new BooleanFieldSerializer();
-        doubleFieldSerializer = new DoubleFieldSerializer();
-        floatFieldSerializer = new FloatFieldSerializer();
-
-        intArrayFieldSerializer = new IntegerArrayFieldSerializer();
-        longArrayFieldSerializer = new LongArrayFieldSerializer();
-        byteArrayFieldSerializer = new ByteArrayFieldSerializer();
-        charArrayFieldSerializer = new CharacterArrayFieldSerializer();
-        shortArrayFieldSerializer = new ShortArrayFieldSerializer();
-        booleanArrayFieldSerializer = new BooleanArrayFieldSerializer();
-        doubleArrayFieldSerializer = new DoubleArrayFieldSerializer();
-        floatArrayFieldSerializer = new FloatArrayFieldSerializer();
+        fieldSerializersByType = new ConcurrentHashMap<Class<?>, FieldSerializer>();
+        objectArrayFieldSerializersByComponentType = new ConcurrentHashMap<Class<?>, ObjectArrayFieldSerializer>();
 
         bigIntFieldSerializer = new BigIntegerFieldSerializer();
         bigDecimalFieldSerializer = new BigDecimalFieldSerializer();
         rawQuadFieldSerializer = new RawQuadFieldSerializer();
         dateFieldSerializer = new DateFieldSerializer();
         binaryFieldSerializer = new BinaryFieldSerializer();
-
         objectFieldSerializer = new ObjectFieldSerializer();
+
+        registerFieldSerializer(int.class, new IntegerFieldSerializer());
+        registerFieldSerializer(String.class, new StringFieldSerializer());
+        registerFieldSerializer(long.class, new LongFieldSerializer());
+        registerFieldSerializer(byte.class, new ByteFieldSerializer());
+        registerFieldSerializer(char.class, new CharacterFieldSerializer());
+        registerFieldSerializer(short.class, new ShortFieldSerializer());
+        registerFieldSerializer(boolean.class, new BooleanFieldSerializer());
+        registerFieldSerializer(double.class, new DoubleFieldSerializer());
+        registerFieldSerializer(float.class, new FloatFieldSerializer());
+
+        registerFieldSerializer(int[].class, new IntegerArrayFieldSerializer());
+        registerFieldSerializer(long[].class, new LongArrayFieldSerializer());
+        registerFieldSerializer(byte[].class, new ByteArrayFieldSerializer());
+        registerFieldSerializer(char[].class, new CharacterArrayFieldSerializer());
+        registerFieldSerializer(short[].class, new ShortArrayFieldSerializer());
+        registerFieldSerializer(boolean[].class, new BooleanArrayFieldSerializer());
+        registerFieldSerializer(double[].class, new DoubleArrayFieldSerializer());
+        registerFieldSerializer(float[].class, new FloatArrayFieldSerializer());
+
+        registerFieldSerializer(BigInteger.class, bigIntFieldSerializer);
+        registerFieldSerializer(BigDecimal.class, bigDecimalFieldSerializer);
+        registerFieldSerializer(RawQuad.class, rawQuadFieldSerializer);
+        registerFieldSerializer(Date.class, dateFieldSerializer);
+        registerFieldSerializer(Binary.class, binaryFieldSerializer);
+    }
+
+
+    /**
+     * Registers a (shared) {@link FieldSerializer} to use for {@link Field}s declared with exactly the specified
+     * type, replacing any previously registered {@link FieldSerializer} for the type.
+     * <p>
+     * Registrations only affect types that are scanned after the registration.
+     *
+     * @param type            The declared type of the {@link Field}s
+     * @param fieldSerializer The {@link FieldSerializer} to use for the said {@link Field}s
+     */
+    public void registerFieldSerializer(Class<?> type,
+                                        FieldSerializer fieldSerializer)
+    {
+        fieldSerializersByType.put(type, fieldSerializer);
     }
 
 
@@ -224,83 +182,36 @@ public class DefaultFieldSerializationProvider implements FieldSerializationProv
                                               java.lang.Class<?> preferredType)
     {
         Class<?> fieldType = field.getType();
+        PofField annotation = field.getAnnotation(PofField.class);
 
-        if (int.class.isAssignableFrom(fieldType))
-        {
-            return intFieldSerializer;
-        }
-        else if (String.class.isAssignableFrom(fieldType))
+        // arrays of PofTypes may be requested to be written in a columnar form
+        if (annotation != null && annotation.columnar() && ColumnarArrayFieldSerializer.isSupported(fieldType))
         {
-            return stringFieldSerializer;
+            return new ColumnarArrayFieldSerializer(fieldType.getComponentType());
         }
-        else if (long.class.isAssignableFrom(fieldType))
-        {
-            return longFieldSerializer;
-        }
-        else if (byte.class.isAssignableFrom(fieldType))
-        {
-            return byteFieldSerializer;
-        }
-        else if (char.class.isAssignableFrom(fieldType))
-        {
-            return charFieldSerializer;
-        }
-        else if (short.class.isAssignableFrom(fieldType))
-        {
-            return shortFieldSerializer;
-        }
-        else if (boolean.class.isAssignableFrom(fieldType))
-        {
-            return booleanFieldSerializer;
-        }
-        else if (double.class.isAssignableFrom(fieldType))
-        {
-            return doubleFieldSerializer;
-        }
-        else if (float.class.isAssignableFrom(fieldType))
+
+        FieldSerializer serializer = fieldSerializersByType.get(fieldType);
+
+        if (serializer != null)
         {
-            return floatFieldSerializer;
+            return serializer;
         }
         else if (fieldType.isArray())
         {
             Class<?> componentType = fieldType.getComponentType();
+            ObjectArrayFieldSerializer arraySerializer = objectArrayFieldSerializersByComponentType.get(componentType);
 
-            if (int.class.isAssignableFrom(componentType))
-            {
-                return intArrayFieldSerializer;
-            }
-            else if (long.class.isAssignableFrom(componentType))
-            {
-                return longArrayFieldSerializer;
-            }
-            else if (byte.class.isAssignableFrom(componentType))
-            {
-                return byteArrayFieldSerializer;
-            }
-            else if (char.class.isAssignableFrom(componentType))
-            {
-                return charArrayFieldSerializer;
-            }
-            else if (short.class.isAssignableFrom(componentType))
+            if (arraySerializer == null)
             {
-                return shortArrayFieldSerializer;
-            }
-            else if (boolean.class.isAssignableFrom(componentType))
-            {
-                return booleanArrayFieldSerializer;
-            }
-            else if (double.class.isAssignableFrom(componentType))
-            {
-                return doubleArrayFieldSerializer;
-            }
-            else if (float.class.isAssignableFrom(componentType))
-            {
-                return floatArrayFieldSerializer;
-            }
-            else
-            {
-                return new ObjectArrayFieldSerializer(componentType);
+                arraySerializer = new ObjectArrayFieldSerializer(componentType);
+
+                ObjectArrayFieldSerializer existing =
+                    objectArrayFieldSerializersByComponentType.putIfAbsent(componentType, arraySerializer);
+
+                arraySerializer = existing == null ? arraySerializer : existing;
             }
+
+            return arraySerializer;
         }
         else if (Map.class.isAssignableFrom(fieldType))
         {
@@ -308,7 +219,12 @@ public class DefaultFieldSerializationProvider implements FieldSerializationProv
         }
         else if (Collection.class.isAssignableFrom(fieldType))
         {
-            return new CollectionFieldSerializer(field, preferredType);
+            CollectionFieldSerializer collectionSerializer = new CollectionFieldSerializer(field, preferredType);
+
+            // collections of boxed primitives may be requested to be written as uniform primitive arrays
+            return annotation != null && annotation.primitiveArray()
+                   && PrimitiveCollectionFieldSerializer.isSupported(collectionSerializer.getTypeArguments())
+                   ? new PrimitiveCollectionFieldSerializer(field, preferredType) : collectionSerializer;
         }
         else if (Binary.class.isAssignableFrom(fieldType))
         {
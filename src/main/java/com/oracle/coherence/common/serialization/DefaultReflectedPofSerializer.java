@@ -22,16 +22,34 @@
 
 package com.oracle.coherence.common.serialization;
 
+import com.oracle.coherence.common.logging.Logger;
+import com.tangosol.io.ReadBuffer.BufferInput;
+import com.tangosol.io.WritableBuffer.BufferOutput;
+import com.tangosol.io.pof.PofBufferReader;
+import com.tangosol.io.pof.PofBufferWriter;
+import com.tangosol.io.pof.PofConstants;
 import com.tangosol.io.pof.PofContext;
+import com.tangosol.util.Base;
+
+import java.io.IOException;
+
+import java.lang.management.ManagementFactory;
 
 import java.lang.reflect.Field;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
 /**
  * A {@link DefaultReflectedPofSerializer} is the base implementation of a {@link ReflectedContext}.
  *
@@ -41,29 +59,32 @@ import java.util.concurrent.ConcurrentMap;
 public class DefaultReflectedPofSerializer implements ReflectedContext
 {
     /**
-     * The {@link FieldSerializationProvider} that {@link DefaultReflectedSerializer}s may use to serialize {@link Field}s.
+     * The largest User Type Id that will be held in the dense array of a {@link Registry}.  Serializers for
+     * larger User Type Ids are held in an overflow {@link Map}.
      */
-    private FieldSerializationProvider serializationProvider;
+    private static final int MAX_DENSE_USER_TYPE_ID = 0xFFFF;
 
     /**
-     * The {@link DefaultReflectedSerializer}s arranged by User Type Id.
+     * The {@link FieldSerializationProvider} that {@link DefaultReflectedSerializer}s may use to serialize {@link Field}s.
      */
-    private Map<Integer, ReflectedSerializer> pofSerializersByUserTypeId;
+    private FieldSerializationProvider serializationProvider;
 
     /**
-     * The User Type Ids arranged by {@link Class}.
+     * The current (immutable) {@link Registry} of {@link ReflectedSerializer}s.  Registration replaces the
+     * {@link Registry} with an updated copy (while holding the monitor of this object), so readers always
+     * observe a consistent snapshot without locking.
      */
-    private Map<Class<?>, Integer> pofUserTypeIdsByClass;
+    private volatile Registry registry;
 
     /**
-     * The User Type Ids arranged by {@link Class} name.
+     * The Type to the IReflectedSerializer.
      */
-    private Map<String, Integer> pofUserTypeIdsByClassName;
+    private ConcurrentMap<Class<?>, ReflectedSerializer> typeSerializerMap;
 
     /**
-     * The Type to the IReflectedSerializer.
+     * Whether {@link ReflectedTypeStatistics} are recorded for the types in this context.
      */
-    private ConcurrentMap<Class<?>, ReflectedSerializer> typeSerializerMap;
+    private volatile boolean statisticsEnabled;
 
 
     /**
@@ -80,9 +101,7 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
                                                                                       Runtime.getRuntime()
                                                                                           .availableProcessors());
 
-        this.pofSerializersByUserTypeId = new HashMap<Integer, ReflectedSerializer>();
-        this.pofUserTypeIdsByClass      = new HashMap<Class<?>, Integer>();
-        this.pofUserTypeIdsByClassName  = new HashMap<String, Integer>();
+        this.registry = new Registry();
     }
 
 
@@ -91,16 +110,7 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
      */
     public Class<?> getClass(int userTypeId)
     {
-        ReflectedSerializer serializer = pofSerializersByUserTypeId.get(userTypeId);
-
-        if (serializer != null)
-        {
-            return serializer.getType();
-        }
-        else
-        {
-            throw new IllegalArgumentException(String.format("Unknown User Type Id: %d", userTypeId));
-        }
+        return getPofSerializer(userTypeId).getType();
     }
 
 
@@ -109,16 +119,7 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
      */
     public String getClassName(int userTypeId)
     {
-        ReflectedSerializer serializer = pofSerializersByUserTypeId.get(userTypeId);
-
-        if (serializer != null)
-        {
-            return serializer.getType().getName();
-        }
-        else
-        {
-            throw new IllegalArgumentException(String.format("Unknown User Type Id: %d", userTypeId));
-        }
+        return getPofSerializer(userTypeId).getType().getName();
     }
 
 
@@ -127,7 +128,7 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
      */
     public ReflectedSerializer getPofSerializer(int userTypeId)
     {
-        ReflectedSerializer serializer = pofSerializersByUserTypeId.get(userTypeId);
+        ReflectedSerializer serializer = registry.getSerializer(userTypeId);
 
         if (serializer != null)
         {
@@ -145,7 +146,7 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
      */
     public int getUserTypeIdentifier(Class<?> type)
     {
-        Integer id = pofUserTypeIdsByClass.get(type);
+        Integer id = registry.userTypeIdsByClass.get(type);
 
         if (id != null)
         {
@@ -172,7 +173,7 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
      */
     public int getUserTypeIdentifier(String className)
     {
-        Integer id = pofUserTypeIdsByClassName.get(className);
+        Integer id = registry.userTypeIdsByClassName.get(className);
 
         if (id != null)
         {
@@ -190,7 +191,7 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
      */
     public boolean isUserType(Class<?> type)
     {
-        return pofUserTypeIdsByClass.containsKey(type);
+        return registry.userTypeIdsByClass.containsKey(type);
     }
 
 
@@ -208,7 +209,7 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
      */
     public boolean isUserType(String className)
     {
-        return pofUserTypeIdsByClassName.containsKey(className);
+        return registry.userTypeIdsByClassName.containsKey(className);
     }
 
 
@@ -226,16 +227,25 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
 
             int id = ((DefaultReflectedSerializer) serializer).getUserTypeId();
 
-            if (typeSerializerMap.putIfAbsent(type, serializer) == null)
+            synchronized (this)
             {
-                pofSerializersByUserTypeId.put(id, serializer);
-                pofUserTypeIdsByClass.put(type, id);
-                pofUserTypeIdsByClassName.put(type.getName(), id);
+                ReflectedSerializer existing = typeSerializerMap.get(type);
 
-                synchronized (this)
+                if (existing == null)
+                {
+                    // publish the registry before the serializer so that anyone seeing the serializer
+                    // may also resolve its user type id
+                    registry = registry.register(id, type, serializer);
+                    typeSerializerMap.put(type, serializer);
+
+                    if (statisticsEnabled)
+                    {
+                        enableStatistics((DefaultReflectedSerializer) serializer);
+                    }
+                }
+                else
                 {
-                    // read-write memory barrier, flushes the non-concurrent
-                    // maps
+                    serializer = existing;
                 }
             }
         }
@@ -244,6 +254,217 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
     }
 
 
+    /**
+     * Serializes a {@link Collection} of objects of the same type into the specified {@link BufferOutput} as a
+     * Pof uniform collection, in which the User Type Identifier of the type is written once (instead of once for
+     * each object).  The objects are written using the {@link ReflectedSerializer} of the type.
+     * <p>
+     * The objects may be read lazily using {@link #deserializeAll(BufferInput, PofContext)}, or all at once as a
+     * {@link Collection} using a {@link PofBufferReader}.
+     *
+     * @param out        The {@link BufferOutput} to write to
+     * @param type       The type of the objects
+     * @param objects    The objects to serialize (each must be a non-<code>null</code> instance of the type)
+     * @param pofContext The {@link PofContext} in which the type uses a {@link ReflectiveSerializer}
+     *
+     * @throws IOException When writing to the {@link BufferOutput} fails
+     */
+    public void serializeAll(BufferOutput out,
+                             Class<?> type,
+                             Collection<?> objects,
+                             PofContext pofContext) throws IOException
+    {
+        for (Object object : objects)
+        {
+            if (!type.isInstance(object))
+            {
+                throw new IllegalArgumentException(String.format("%s is not an instance of %s", object, type));
+            }
+        }
+
+        new PofBufferWriter(out, pofContext).writeCollection(-1, objects, type);
+    }
+
+
+    /**
+     * Creates an {@link Iterator} that lazily deserializes the objects previously written by
+     * {@link #serializeAll(BufferOutput, Class, Collection, PofContext)}.  Each object is only read from the
+     * {@link BufferInput} when it is requested.
+     *
+     * @param in         The {@link BufferInput} to read from
+     * @param pofContext The {@link PofContext} in which the type of the objects uses a {@link ReflectiveSerializer}
+     *
+     * @return An {@link Iterator} over the deserialized objects
+     *
+     * @throws IOException When the {@link BufferInput} doesn't start with a uniform collection
+     */
+    public Iterator<Object> deserializeAll(BufferInput in,
+                                           PofContext pofContext) throws IOException
+    {
+        int typeId = in.readPackedInt();
+
+        if (typeId == PofConstants.V_COLLECTION_EMPTY)
+        {
+            return new DeserializingIterator(in, pofContext, -1, null, 0);
+        }
+        else if (typeId != PofConstants.T_UNIFORM_COLLECTION)
+        {
+            throw new IOException(String.format("Expected a uniform collection but found the type %d", typeId));
+        }
+
+        int userTypeId = in.readPackedInt();
+        int size = in.readPackedInt();
+
+        return new DeserializingIterator(in,
+                                         pofContext,
+                                         userTypeId,
+                                         ensurePofSerializer(pofContext.getClass(userTypeId), pofContext),
+                                         size);
+    }
+
+
+    /**
+     * Enables (or disables) the recording of {@link ReflectedTypeStatistics} for each of the types known to this
+     * {@link ReflectedContext}.  When enabled, the {@link ReflectedTypeStatistics} of each type are also registered
+     * as MBeans with the platform MBeanServer.
+     *
+     * @param enabled <code>true</code> to record statistics, <code>false</code> to stop recording them
+     */
+    public synchronized void setStatisticsEnabled(boolean enabled)
+    {
+        if (enabled != statisticsEnabled)
+        {
+            statisticsEnabled = enabled;
+
+            for (ReflectedSerializer serializer : typeSerializerMap.values())
+            {
+                if (enabled)
+                {
+                    enableStatistics((DefaultReflectedSerializer) serializer);
+                }
+                else
+                {
+                    disableStatistics((DefaultReflectedSerializer) serializer);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Determines if {@link ReflectedTypeStatistics} are being recorded.
+     *
+     * @return <code>true</code> if statistics are being recorded
+     */
+    public boolean isStatisticsEnabled()
+    {
+        return statisticsEnabled;
+    }
+
+
+    /**
+     * Obtains a snapshot of the {@link ReflectedTypeStatistics} recorded for each of the types known to this
+     * {@link ReflectedContext}.
+     *
+     * @return A {@link Map} of types to their {@link ReflectedTypeStatistics} (empty if statistics are disabled)
+     */
+    public Map<Class<?>, ReflectedTypeStatistics> getStatistics()
+    {
+        HashMap<Class<?>, ReflectedTypeStatistics> snapshot = new HashMap<Class<?>, ReflectedTypeStatistics>();
+
+        for (Map.Entry<Class<?>, ReflectedSerializer> entry : typeSerializerMap.entrySet())
+        {
+            ReflectedTypeStatistics statistics = ((DefaultReflectedSerializer) entry.getValue()).getStatistics();
+
+            if (statistics != null)
+            {
+                snapshot.put(entry.getKey(), new ReflectedTypeStatistics(statistics));
+            }
+        }
+
+        return snapshot;
+    }
+
+
+    /**
+     * Starts recording {@link ReflectedTypeStatistics} for the type of the specified
+     * {@link DefaultReflectedSerializer} and registers them as an MBean.
+     *
+     * @param serializer The {@link DefaultReflectedSerializer}
+     */
+    private void enableStatistics(DefaultReflectedSerializer serializer)
+    {
+        ReflectedTypeStatistics statistics = new ReflectedTypeStatistics(serializer.getUserTypeId(),
+                                                                         serializer.getType().getName());
+
+        serializer.setStatistics(statistics);
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics,
+                                                                     getObjectName(serializer.getType()));
+        }
+        catch (Exception e)
+        {
+            Logger.log(Logger.WARN, "Unable to register the statistics MBean for %s (%s)", serializer.getType(),
+                       e.getMessage());
+        }
+    }
+
+
+    /**
+     * Stops recording {@link ReflectedTypeStatistics} for the type of the specified
+     * {@link DefaultReflectedSerializer} and unregisters the MBean.
+     *
+     * @param serializer The {@link DefaultReflectedSerializer}
+     */
+    private void disableStatistics(DefaultReflectedSerializer serializer)
+    {
+        serializer.setStatistics(null);
+
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = getObjectName(serializer.getType());
+
+            if (server.isRegistered(name))
+            {
+                server.unregisterMBean(name);
+            }
+        }
+        catch (Exception e)
+        {
+            Logger.log(Logger.WARN, "Unable to unregister the statistics MBean for %s (%s)", serializer.getType(),
+                       e.getMessage());
+        }
+    }
+
+
+    /**
+     * Determines the {@link ObjectName} of the {@link ReflectedTypeStatisticsMBean} for the specified type.  As
+     * the same type may be reflected by several {@link ReflectedContext}s (and the same type name may be loaded by
+     * several {@link ClassLoader}s), the {@link ObjectName} includes the identities of this
+     * {@link DefaultReflectedPofSerializer} and the {@link ClassLoader} of the type.
+     *
+     * @param type The type
+     *
+     * @return The {@link ObjectName}
+     *
+     * @throws MalformedObjectNameException Should the type name produce an invalid {@link ObjectName}
+     */
+    private ObjectName getObjectName(Class<?> type) throws MalformedObjectNameException
+    {
+        ClassLoader classLoader = type.getClassLoader();
+        String loader = classLoader == null ? "bootstrap" : Integer.toHexString(System.identityHashCode(classLoader));
+
+        return new ObjectName(String.format("com.oracle.coherence.common:type=ReflectedTypeStatistics,context=%x,"
+                                            + "loader=%s,name=%s",
+                                            System.identityHashCode(this),
+                                            loader,
+                                            ObjectName.quote(type.getName())));
+    }
+
+
     /**
      * {@inheritDoc}
      */
@@ -261,4 +482,230 @@ public class DefaultReflectedPofSerializer implements ReflectedContext
     {
         return typeSerializerMap.get(clazz);
     }
+
+
+    /**
+     * A {@link DeserializingIterator} is an {@link Iterator} that lazily deserializes the elements of a uniform
+     * collection written by {@link DefaultReflectedPofSerializer#serializeAll(BufferOutput, Class, Collection,
+     * PofContext)}.
+     */
+    private static final class DeserializingIterator implements Iterator<Object>
+    {
+        /**
+         * The {@link BufferInput} positioned at the next element.
+         */
+        private final BufferInput in;
+
+        /**
+         * The {@link PofContext} in which the type of the elements is defined.
+         */
+        private final PofContext pofContext;
+
+        /**
+         * The User Type Identifier of the elements.
+         */
+        private final int userTypeId;
+
+        /**
+         * The {@link ReflectedSerializer} for the type of the elements.
+         */
+        private final ReflectedSerializer serializer;
+
+        /**
+         * The number of elements that remain to be read.
+         */
+        private int remaining;
+
+
+        /**
+         * Standard Constructor.
+         *
+         * @param in         The {@link BufferInput} positioned at the first element
+         * @param pofContext The {@link PofContext} in which the type of the elements is defined
+         * @param userTypeId The User Type Identifier of the elements
+         * @param serializer The {@link ReflectedSerializer} for the type of the elements
+         * @param size       The number of elements
+         */
+        DeserializingIterator(BufferInput in,
+                              PofContext pofContext,
+                              int userTypeId,
+                              ReflectedSerializer serializer,
+                              int size)
+        {
+            this.in = in;
+            this.pofContext = pofContext;
+            this.userTypeId = userTypeId;
+            this.serializer = serializer;
+            this.remaining = size;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext()
+        {
+            return remaining > 0;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            remaining--;
+
+            try
+            {
+                // the elements of a uniform collection omit their type, starting with their version
+                int versionId = in.readPackedInt();
+
+                return serializer.deserialize(new PofBufferReader.UserTypeReader(in,
+                                                                                 pofContext,
+                                                                                 userTypeId,
+                                                                                 versionId));
+            }
+            catch (IOException e)
+            {
+                throw Base.ensureRuntimeException(e, "Failed to read the next object of the collection");
+            }
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+
+    /**
+     * A {@link Registry} is an immutable snapshot of the {@link ReflectedSerializer}s known to a
+     * {@link DefaultReflectedPofSerializer}.  {@link ReflectedSerializer}s are indexed by User Type Id using
+     * a dense array so that the most frequent lookup avoids hashing (and boxing) of User Type Ids.
+     */
+    private static final class Registry
+    {
+        /**
+         * The {@link ReflectedSerializer}s indexed by User Type Id (for User Type Ids up to
+         * {@link #MAX_DENSE_USER_TYPE_ID}).
+         */
+        private final ReflectedSerializer[] serializersByUserTypeId;
+
+        /**
+         * The {@link ReflectedSerializer}s for User Type Ids that don't fit into the dense array.
+         */
+        private final Map<Integer, ReflectedSerializer> overflowSerializersByUserTypeId;
+
+        /**
+         * The User Type Ids arranged by {@link Class}.
+         */
+        private final Map<Class<?>, Integer> userTypeIdsByClass;
+
+        /**
+         * The User Type Ids arranged by {@link Class} name.
+         */
+        private final Map<String, Integer> userTypeIdsByClassName;
+
+
+        /**
+         * Constructs an empty {@link Registry}.
+         */
+        Registry()
+        {
+            this(new ReflectedSerializer[0],
+                 new HashMap<Integer, ReflectedSerializer>(),
+                 new HashMap<Class<?>, Integer>(),
+                 new HashMap<String, Integer>());
+        }
+
+
+        /**
+         * Constructs a {@link Registry} with the specified (unshared) state.
+         */
+        private Registry(ReflectedSerializer[] serializersByUserTypeId,
+                         Map<Integer, ReflectedSerializer> overflowSerializersByUserTypeId,
+                         Map<Class<?>, Integer> userTypeIdsByClass,
+                         Map<String, Integer> userTypeIdsByClassName)
+        {
+            this.serializersByUserTypeId        = serializersByUserTypeId;
+            this.overflowSerializersByUserTypeId = overflowSerializersByUserTypeId;
+            this.userTypeIdsByClass             = userTypeIdsByClass;
+            this.userTypeIdsByClassName         = userTypeIdsByClassName;
+        }
+
+
+        /**
+         * Determines the {@link ReflectedSerializer} for the specified User Type Id.
+         *
+         * @param userTypeId The User Type Id
+         *
+         * @return The {@link ReflectedSerializer} or <code>null</code> if the User Type Id is unknown
+         */
+        ReflectedSerializer getSerializer(int userTypeId)
+        {
+            if (userTypeId >= 0 && userTypeId < serializersByUserTypeId.length)
+            {
+                return serializersByUserTypeId[userTypeId];
+            }
+            else if (userTypeId > MAX_DENSE_USER_TYPE_ID || userTypeId < 0)
+            {
+                return overflowSerializersByUserTypeId.get(userTypeId);
+            }
+            else
+            {
+                return null;
+            }
+        }
+
+
+        /**
+         * Creates a new {@link Registry} containing the state of this {@link Registry} together with
+         * the specified {@link ReflectedSerializer}.
+         *
+         * @param userTypeId The User Type Id of the type
+         * @param type       The type
+         * @param serializer The {@link ReflectedSerializer} for the type
+         *
+         * @return A new {@link Registry}
+         */
+        Registry register(int userTypeId,
+                          Class<?> type,
+                          ReflectedSerializer serializer)
+        {
+            ReflectedSerializer[] serializers = serializersByUserTypeId;
+            Map<Integer, ReflectedSerializer> overflowSerializers = overflowSerializersByUserTypeId;
+
+            if (userTypeId >= 0 && userTypeId <= MAX_DENSE_USER_TYPE_ID)
+            {
+                serializers = new ReflectedSerializer[Math.max(serializers.length, userTypeId + 1)];
+                System.arraycopy(serializersByUserTypeId, 0, serializers, 0, serializersByUserTypeId.length);
+                serializers[userTypeId] = serializer;
+            }
+            else
+            {
+                overflowSerializers = new HashMap<Integer, ReflectedSerializer>(overflowSerializers);
+                overflowSerializers.put(userTypeId, serializer);
+            }
+
+            Map<Class<?>, Integer> idsByClass = new HashMap<Class<?>, Integer>(userTypeIdsByClass);
+
+            idsByClass.put(type, userTypeId);
+
+            Map<String, Integer> idsByClassName = new HashMap<String, Integer>(userTypeIdsByClassName);
+
+            idsByClassName.put(type.getName(), userTypeId);
+
+            return new Registry(serializers, overflowSerializers, idsByClass, idsByClassName);
+        }
+    }
 }
@@ -22,20 +22,20 @@
 package com.oracle.coherence.common.serialization;
 
 import java.io.IOException;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.oracle.coherence.common.logging.Logger;
 import com.oracle.coherence.common.serialization.annotations.PofField;
 import com.oracle.coherence.common.serialization.annotations.PofIgnore;
 import com.oracle.coherence.common.serialization.annotations.PofType;
+import com.tangosol.io.pof.PofBufferWriter;
 import com.tangosol.io.pof.PofContext;
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofSerializer;
@@ -73,13 +73,13 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
      * The Pof version number that will be used to serialize the type {@link Class} if none is specified or read
      * with a {@link PofRemainder}.
      */
-    private int version;
+    private volatile int version;
 
     /**
      * The detected Pof version number of the type, based on the highest version number of the annotate
      * {@link PofField}s and {@link PofType}.
      */
-    private int detectedVersion;
+    private volatile int detectedVersion;
 
     /**
      * (optional) The {@link Field} that stores the {@link PofRemainder} (if the type is evolvable).  If no remainder
@@ -88,11 +88,18 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
     private Field remainderField;
 
     /**
-     * A {@link Map} from version numbers (of the type) to all of the {@link Field}s included in the said versions
-     * (where the {@link Field}s themselves are arranged in ascending order of pof indicies based on their alphabetic
-     * field names).
+     * The (immutable) {@link FieldPlan} describing the {@link Field}s to serialize for each version of the type.
+     * The {@link FieldPlan} is replaced (never modified) when the version of the type changes, so that concurrent
+     * serialization always observes a consistent {@link FieldPlan}.
      */
-    private Map<Integer, FieldMetaInfo[]> fieldMetaInfoByVersion;
+    private volatile FieldPlan fieldPlan;
+
+    /**
+     * (optional) The {@link DefaultReflectedSerializer} of the super class of the type, resolved once when this
+     * {@link DefaultReflectedSerializer} is created.  This is <code>null</code> when the super class isn't
+     * annotated as a {@link PofType}.
+     */
+    private DefaultReflectedSerializer superSerializer;
 
     /**
      * The {@link ReflectedContext} in which this {@link PofSerializer} was defined.
@@ -104,6 +111,23 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
      */
     private boolean implementsPortableObject = false;
 
+    /**
+     * The {@link InstantiationStrategy} used to create instances of the type.
+     */
+    private InstantiationStrategy instantiationStrategy;
+
+    /**
+     * The {@link Constructor} used to create instances of the type, resolved once according to the
+     * {@link InstantiationStrategy} (<code>null</code> when the strategy is {@link InstantiationStrategy#UNAVAILABLE}).
+     */
+    private Constructor<?> constructor;
+
+    /**
+     * (optional) The {@link ReflectedTypeStatistics} recording the serialization of the type (<code>null</code>
+     * when statistics are disabled).
+     */
+    private volatile ReflectedTypeStatistics statistics;
+
     /**
      * The arguments for the default constructor.
      */
@@ -140,10 +164,11 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
             }
         }
 
-        //ensure that the super-class is in the pof context
+        //ensure that the super-class is in the pof context (and remember its serializer)
         if (type.getSuperclass().isAnnotationPresent(PofType.class))
         {
-            reflectedPofContext.ensurePofSerializer(type.getSuperclass(), pofContext);
+            this.superSerializer = (DefaultReflectedSerializer) reflectedPofContext
+                .ensurePofSerializer(type.getSuperclass(), pofContext);
         }
 
         //start building the serialization information using reflection
@@ -151,14 +176,50 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
 
         this.userTypeId = pofType == null ? pofContext.getUserTypeIdentifier(type) : pofType.id();
 
+        resolveInstantiationStrategy();
+
         if (!implementsPortableObject)
         {
-            this.fieldMetaInfoByVersion = new HashMap<Integer, FieldMetaInfo[]>();
-
             detectedVersion = pofType == null ? 0 : pofType.version();
-            setVersion(detectedVersion);
+            version = detectedVersion;
+
+            fieldPlan = new FieldPlan(version,
+                                      scanFields(reflectedPofContext.getFieldSerializationProvider(),
+                                                 detectedVersion));
+        }
+    }
+
+
+    /**
+     * Resolves (once) the {@link InstantiationStrategy} and {@link Constructor} to use for creating instances of
+     * the type.  Instances are created with the no-argument constructor of the type (made accessible when it isn't
+     * public).  Types without a no-argument constructor can be serialized, but not deserialized.
+     */
+    private void resolveInstantiationStrategy()
+    {
+        instantiationStrategy = InstantiationStrategy.UNAVAILABLE;
+        constructor = null;
 
-            scanFields(reflectedPofContext.getFieldSerializationProvider(), detectedVersion);
+        if (Modifier.isAbstract(type.getModifiers()) || type.isInterface())
+        {
+            return;
+        }
+
+        try
+        {
+            constructor = type.getDeclaredConstructor(DEFAULT_PARAMETER_TYPES);
+            constructor.setAccessible(true);
+            instantiationStrategy = InstantiationStrategy.CONSTRUCTOR;
+        }
+        catch (NoSuchMethodException e)
+        {
+            Logger.log(Logger.WARN, "%s doesn't declare a no-argument constructor, so it can't be deserialized", type);
+            constructor = null;
+        }
+        catch (SecurityException e)
+        {
+            Logger.log(Logger.WARN, "Unable to access the default constructor of %s (%s)", type, e.getMessage());
+            constructor = null;
         }
     }
 
@@ -171,9 +232,11 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
      * @param fieldSerializer the serializer used to serialize induvidual fields
      *            with
      * @param version the version of the type to scan
+     *
+     * @return the {@link FieldMetaInfo}s of each version (indexed by version)
      */
-    private void scanFields(FieldSerializationProvider fieldSerializer,
-                            int version)
+    private FieldMetaInfo[][] scanFields(FieldSerializationProvider fieldSerializer,
+                                         int version)
     {
 
         // extract all of the field information for the type using
@@ -210,6 +273,8 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
         int nextPofIndex = 1;
 
         List<FieldMetaInfo> fieldMetaInfos = new ArrayList<FieldMetaInfo>();
+        FieldMetaInfo[][] fieldMetaInfoByVersion = new FieldMetaInfo[version + 1][];
+
         for (int iSince = 0; iSince <= version; iSince++)
         {
             for (Field field : alphabeticalFields)
@@ -247,8 +312,10 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
                 }
             }
 
-            fieldMetaInfoByVersion.put(iSince, fieldMetaInfos.toArray(new FieldMetaInfo[0]));
+            fieldMetaInfoByVersion[iSince] = fieldMetaInfos.toArray(new FieldMetaInfo[0]);
         }
+
+        return fieldMetaInfoByVersion;
     }
 
 
@@ -302,14 +369,81 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
      * @{inheritDoc}
      */
     @Override
-    public void setVersion(int version)
+    public synchronized void setVersion(int version)
     {
+        FieldPlan plan = fieldPlan;
+
+        if (plan != null)
+        {
+            if (version > detectedVersion)
+            {
+                // rescan so that there is a plan for each version up to the new version
+                plan = new FieldPlan(version,
+                                     scanFields(reflectedPofSerializer.getFieldSerializationProvider(), version));
+                detectedVersion = version;
+            }
+            else
+            {
+                plan = new FieldPlan(version, plan.fieldMetaInfoByVersion);
+            }
+
+            fieldPlan = plan;
+        }
+
         this.version = version;
+    }
+
+
+    /**
+     * Determines the {@link InstantiationStrategy} used to create instances of the type when deserializing.
+     *
+     * @return An {@link InstantiationStrategy}
+     */
+    public InstantiationStrategy getInstantiationStrategy()
+    {
+        return instantiationStrategy;
+    }
+
+
+    /**
+     * Determines the path of Pof Indexes that locates the value of the named field within a serialized instance
+     * of the type.  Fields declared by a {@link com.oracle.coherence.common.serialization.annotations.PofType}
+     * super class are located through the nested super class value at Pof Index 0.
+     *
+     * @param fieldName The name of the field (as specified by a
+     *                  {@link com.oracle.coherence.common.serialization.annotations.PofField} or as declared)
+     *
+     * @return The path of Pof Indexes or <code>null</code> if the field is unknown
+     */
+    public int[] getFieldPath(String fieldName)
+    {
+        if (implementsPortableObject)
+        {
+            return null;
+        }
+
+        for (FieldMetaInfo fieldMetaInfo : fieldPlan.getFieldMetaInfos(detectedVersion))
+        {
+            if (fieldName.equals(fieldMetaInfo.getName()) || fieldName.equals(fieldMetaInfo.getField().getName()))
+            {
+                return new int[] {fieldMetaInfo.getPofIndex()};
+            }
+        }
 
-        if (version > this.version)
+        int[] superPath = superSerializer == null ? null : superSerializer.getFieldPath(fieldName);
+
+        if (superPath == null)
         {
-            detectedVersion = version;
-            scanFields(reflectedPofSerializer.getFieldSerializationProvider(), version);
+            return null;
+        }
+        else
+        {
+            int[] path = new int[superPath.length + 1];
+
+            path[0] = 0;
+            System.arraycopy(superPath, 0, path, 1, superPath.length);
+
+            return path;
         }
     }
 
@@ -320,7 +454,7 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
      */
     public void resetVersion()
     {
-        this.version = detectedVersion;
+        setVersion(detectedVersion);
     }
 
 
@@ -337,17 +471,61 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
     }
 
 
+    /**
+     * Obtains the {@link ReflectedTypeStatistics} being recorded for the type.
+     *
+     * @return The {@link ReflectedTypeStatistics} or <code>null</code> if statistics are disabled
+     */
+    ReflectedTypeStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+
+    /**
+     * Sets the {@link ReflectedTypeStatistics} in which to record the serialization of the type.
+     *
+     * @param statistics The {@link ReflectedTypeStatistics} (<code>null</code> to disable statistics)
+     */
+    void setStatistics(ReflectedTypeStatistics statistics)
+    {
+        this.statistics = statistics;
+    }
+
+
+    /**
+     * Determines the current offset of the buffer underlying the specified {@link PofWriter}.
+     *
+     * @param writer The {@link PofWriter}
+     *
+     * @return The offset or -1 if the {@link PofWriter} doesn't expose its buffer
+     */
+    private static int getOffset(PofWriter writer)
+    {
+        return writer instanceof PofBufferWriter ? ((PofBufferWriter) writer).getBufferOutput().getOffset() : -1;
+    }
+
+
     /**
      * @{inheritDoc}
      */
     @Override
     public Object deserialize(PofReader reader) throws IOException
     {
+        ReflectedTypeStatistics statistics = this.statistics;
+        long start = statistics == null ? 0 : System.nanoTime();
 
         try
         {
-            // create an instance of this type (using the default constructor)
-            Object instance = getType().getConstructor(DEFAULT_PARAMETER_TYPES).newInstance();
+            // create an instance of this type (using the resolved instantiation strategy)
+            if (constructor == null)
+            {
+                throw new InstantiationException(String.format(
+                    "Can't create instances of %s as it is abstract or doesn't declare a no-argument constructor",
+                    type));
+            }
+
+            Object instance = constructor.newInstance();
 
             if (implementsPortableObject)
             {
@@ -364,6 +542,11 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
                 readRemainder(reader, instance);
             }
 
+            if (statistics != null)
+            {
+                statistics.recordDeserialization(System.nanoTime() - start);
+            }
+
             //we're done!
             return instance;
         }
@@ -421,17 +604,23 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
         NoSuchMethodException
     {
         //deserialize the super class (iff it's annotated as a PofType)
-        if (type.getSuperclass().isAnnotationPresent(PofType.class))
+        if (superSerializer != null)
         {
-            DefaultReflectedSerializer pofSerializer = (DefaultReflectedSerializer) reflectedPofSerializer
-                .getPofSerializer(reflectedPofSerializer.getUserTypeIdentifier(type.getSuperclass()));
             PofReader nestedPofReader = reader.createNestedPofReader(0);
-            pofSerializer.deserializeInto(nestedPofReader, object);
-            pofSerializer.readRemainder(nestedPofReader, object);
+            superSerializer.deserializeInto(nestedPofReader, object);
+            superSerializer.readRemainder(nestedPofReader, object);
+        }
+
+        FieldPlan plan = fieldPlan;
+        ReflectedTypeStatistics statistics = this.statistics;
+
+        if (statistics != null && reader.getVersionId() != plan.version)
+        {
+            statistics.recordVersionMismatch();
         }
 
         //deserialize the fields for the minimum version available (between the reflected version and stream)
-        for (FieldMetaInfo fieldMetaInfo : fieldMetaInfoByVersion.get(Math.min(version, reader.getVersionId())))
+        for (FieldMetaInfo fieldMetaInfo : plan.getReadableFieldMetaInfos(reader.getVersionId()))
         {
             fieldMetaInfo.getFieldSerializer().readField(object, fieldMetaInfo.getField(), reader,
                 fieldMetaInfo.getPofIndex());
@@ -446,6 +635,37 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
     public void serialize(PofWriter writer,
                           Object object) throws IOException
     {
+        ReflectedTypeStatistics statistics = this.statistics;
+
+        if (statistics == null)
+        {
+            serializeObject(writer, object);
+        }
+        else
+        {
+            long start = System.nanoTime();
+            int offset = getOffset(writer);
+
+            serializeObject(writer, object);
+
+            statistics.recordSerialization(System.nanoTime() - start,
+                                           offset < 0 ? -1 : getOffset(writer) - offset);
+        }
+    }
+
+
+    /**
+     * Serializes the specified object (including the fields of its {@link PofType} super classes) to the
+     * {@link PofWriter}, without recording statistics.
+     *
+     * @param writer The {@link PofWriter} to write to
+     * @param object The object to serialize
+     *
+     * @throws IOException When writing to the {@link PofWriter} fails
+     */
+    private void serializeObject(PofWriter writer,
+                                 Object object) throws IOException
+    {
 
         if (implementsPortableObject)
         {
@@ -454,42 +674,41 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
         else
         {
             // determine and set the version of the object to write to the
-            // stream
+            // stream (using a single plan for the entire object)
+            FieldPlan plan = fieldPlan;
             int serializingVersion = 0;
             if (remainderField == null)
             {
                 // when there is no remainder, always use the specified version
-                serializingVersion = version;
+                serializingVersion = plan.version;
             }
             else
             {
                 try
                 {
                     PofRemainder pofRemainder = (PofRemainder) remainderField.get(object);
-                    serializingVersion = pofRemainder == null ? version : pofRemainder.getFromVersion();
+                    serializingVersion = pofRemainder == null ? plan.version : pofRemainder.getFromVersion();
                 }
                 catch (IllegalArgumentException e)
                 {
-                    Base.ensureRuntimeException(e, "While attempting to setVersionId() on the PofWriter");
+                    throw Base.ensureRuntimeException(e, "While attempting to setVersionId() on the PofWriter");
                 }
                 catch (IllegalAccessException e)
                 {
-                    Base.ensureRuntimeException(e, "While attempting to setVersionId() on the PofWriter");
+                    throw Base.ensureRuntimeException(e, "While attempting to setVersionId() on the PofWriter");
                 }
             }
             writer.setVersionId(serializingVersion);
 
             // serialize the super class (iff it's annotated as a PofType)
-            if (type.getSuperclass().isAnnotationPresent(PofType.class))
+            if (superSerializer != null)
             {
-                DefaultReflectedSerializer pofSerializer = (DefaultReflectedSerializer) reflectedPofSerializer
-                    .getPofSerializer(reflectedPofSerializer.getUserTypeIdentifier(type.getSuperclass()));
                 PofWriter nestedPofWriter = writer.createNestedPofWriter(0);
-                pofSerializer.serialize(nestedPofWriter, object);
+                superSerializer.serializeObject(nestedPofWriter, object);
             }
 
             // serialize the Fields
-            for (FieldMetaInfo fieldMetaInfo : fieldMetaInfoByVersion.get(serializingVersion))
+            for (FieldMetaInfo fieldMetaInfo : plan.getFieldMetaInfos(serializingVersion))
             {
                 try
                 {
@@ -524,7 +743,14 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
     {
         if (remainderField == null)
         {
-            reader.readRemainder();
+            Binary remainder = reader.readRemainder();
+
+            ReflectedTypeStatistics statistics = this.statistics;
+
+            if (statistics != null && remainder != null)
+            {
+                statistics.recordRemainder(remainder.length());
+            }
         }
         else
         {
@@ -540,16 +766,23 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
                 else
                 {
                     pofRemainder = new PofRemainder(reader.getVersionId(), remainder);
+
+                    ReflectedTypeStatistics statistics = this.statistics;
+
+                    if (statistics != null)
+                    {
+                        statistics.recordRemainder(remainder.length());
+                    }
                 }
                 remainderField.set(object, pofRemainder);
             }
             catch (IllegalArgumentException e)
             {
-                Base.ensureRuntimeException(e);
+                throw Base.ensureRuntimeException(e);
             }
             catch (IllegalAccessException e)
             {
-                Base.ensureRuntimeException(e);
+                throw Base.ensureRuntimeException(e);
             }
         }
     }
@@ -577,38 +810,90 @@ final class DefaultReflectedSerializer implements ReflectedSerializer
         }
         else
         {
-            Binary binary;
             try
             {
                 PofRemainder pofRemainder = (PofRemainder) remainderField.get(object);
 
-                if (pofRemainder == null)
-                {
-                    binary = null;
-                }
-                else if (pofRemainder.getBinary() == null)
-                {
-                    binary = new Binary();
-                    remainderField.set(object, binary);
-                }
-                else
-                {
-                    binary = pofRemainder.getBinary();
-                }
-                writer.writeRemainder(binary);
+                writer.writeRemainder(pofRemainder == null ? null : pofRemainder.getBinary());
             }
             catch (IllegalArgumentException e)
             {
-                Base.ensureRuntimeException(e);
+                throw Base.ensureRuntimeException(e);
             }
             catch (IllegalAccessException e)
             {
-                Base.ensureRuntimeException(e);
+                throw Base.ensureRuntimeException(e);
             }
         }
     }
 
 
+    /**
+     * A {@link FieldPlan} is an immutable description of the {@link Field}s to serialize for each version of the
+     * type, arranged by version, with the {@link Field}s of the current version available without any lookup.
+     */
+    static final class FieldPlan
+    {
+        /**
+         * The version of the type that will be used to serialize the type.
+         */
+        final int version;
+
+        /**
+         * The {@link FieldMetaInfo}s for each version of the type (indexed by version).
+         */
+        final FieldMetaInfo[][] fieldMetaInfoByVersion;
+
+        /**
+         * The {@link FieldMetaInfo}s for the {@link #version}.
+         */
+        final FieldMetaInfo[] fieldMetaInfos;
+
+
+        /**
+         * Standard Constructor.
+         *
+         * @param version                The version of the type that will be used to serialize the type
+         * @param fieldMetaInfoByVersion The {@link FieldMetaInfo}s for each version of the type
+         */
+        FieldPlan(int version,
+                  FieldMetaInfo[][] fieldMetaInfoByVersion)
+        {
+            this.version = version;
+            this.fieldMetaInfoByVersion = fieldMetaInfoByVersion;
+            this.fieldMetaInfos = fieldMetaInfoByVersion[Math.min(version, fieldMetaInfoByVersion.length - 1)];
+        }
+
+
+        /**
+         * Determines the {@link FieldMetaInfo}s of the specified version of the type.
+         *
+         * @param version The version of the type
+         *
+         * @return The {@link FieldMetaInfo}s
+         */
+        FieldMetaInfo[] getFieldMetaInfos(int version)
+        {
+            return version == this.version
+                   ? fieldMetaInfos : fieldMetaInfoByVersion[Math.min(version, fieldMetaInfoByVersion.length - 1)];
+        }
+
+
+        /**
+         * Determines the {@link FieldMetaInfo}s to read from a stream of the specified version, being those of the
+         * minimum of the stream version and the {@link #version} of this {@link FieldPlan}.
+         *
+         * @param streamVersion The version of the stream
+         *
+         * @return The {@link FieldMetaInfo}s
+         */
+        FieldMetaInfo[] getReadableFieldMetaInfos(int streamVersion)
+        {
+            return streamVersion >= version ? fieldMetaInfos : getFieldMetaInfos(streamVersion);
+        }
+    }
+
+
     /**
      * A {@link FieldMetaInfo} captures runtime information concerning the serialization of a single {@link Field} with
      * in the type for which this {@link PofSerializer} has been generated.
@@ -0,0 +1,40 @@
+/*
+ * File: InstantiationStrategy.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+/**
+ * An {@link InstantiationStrategy} describes how a {@link ReflectedSerializer} creates new instances of its type
+ * during deserialization.  The strategy is resolved once, when the {@link ReflectedSerializer} is created.
+ */
+public enum InstantiationStrategy
+{
+    /**
+     * Instances are created using the no-argument constructor of the type (which need not be public).
+     */
+    CONSTRUCTOR,
+
+    /**
+     * Instances of the type can't be created, as the type is abstract or doesn't declare a no-argument
+     * constructor.  Attempts to deserialize the type will fail.
+     */
+    UNAVAILABLE;
+}
@@ -0,0 +1,189 @@
+/*
+ * File: LazyReflectedObject.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.oracle.coherence.common.serialization.annotations.PofField;
+import com.oracle.coherence.common.serialization.annotations.PofType;
+import com.tangosol.io.pof.PofContext;
+import com.tangosol.io.pof.reflect.PofValue;
+import com.tangosol.io.pof.reflect.PofValueParser;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+/**
+ * A {@link LazyReflectedObject} is a view of a serialized {@link PofType} that decodes individual fields only
+ * when they are requested, instead of deserializing the entire object.
+ * <p>
+ * Fields are identified by name (as specified by the {@link PofField} annotation or as declared) and are
+ * located using the Pof Indexes assigned by the {@link ReflectedSerializer} of the type, including the fields
+ * declared by {@link PofType} super classes.  Decoded values are cached, so each field is decoded at most once.
+ * <p>
+ * Field values are returned in their natural Pof representation (for example, a {@link java.util.Collection}
+ * declared with a preferred type is returned using the default {@link java.util.Collection} implementation).
+ * Use {@link #getObject()} to deserialize the object itself.
+ * <p>
+ * Note: A {@link LazyReflectedObject} is not thread-safe.
+ */
+public class LazyReflectedObject
+{
+    /**
+     * The serialized form of the object.
+     */
+    private Binary binary;
+
+    /**
+     * The {@link PofContext} used to serialize the object.
+     */
+    private PofContext pofContext;
+
+    /**
+     * The parsed (root) {@link PofValue} of the object.  Parsing doesn't decode any fields.
+     */
+    private PofValue root;
+
+    /**
+     * The {@link DefaultReflectedSerializer} for the type of the object.
+     */
+    private DefaultReflectedSerializer serializer;
+
+    /**
+     * The field values decoded so far, arranged by field name.
+     */
+    private Map<String, Object> values;
+
+    /**
+     * The deserialized object (<code>null</code> until {@link #getObject()} is called).
+     */
+    private Object object;
+
+
+    /**
+     * Standard Constructor.
+     *
+     * @param binary     The serialized object (as produced by {@link ExternalizableHelper#toBinary(Object,
+     *                   com.tangosol.io.Serializer)} with the {@link PofContext})
+     * @param pofContext The {@link PofContext} in which the type of the object uses a {@link ReflectiveSerializer}
+     *
+     * @throws IllegalArgumentException If the type of the object doesn't use a {@link ReflectiveSerializer}
+     */
+    public LazyReflectedObject(Binary binary,
+                               PofContext pofContext)
+    {
+        this.binary = binary;
+        this.pofContext = pofContext;
+        this.root = PofValueParser.parse(binary, pofContext);
+        this.values = new HashMap<String, Object>();
+
+        ReflectedSerializer serializer = ReflectiveSerializer.getReflectedSerializer(pofContext.getClass(root
+            .getTypeId()), pofContext);
+
+        if (serializer instanceof DefaultReflectedSerializer)
+        {
+            this.serializer = (DefaultReflectedSerializer) serializer;
+        }
+        else
+        {
+            throw new IllegalArgumentException(String.format("The type %s doesn't use a ReflectiveSerializer",
+                                                             pofContext.getClassName(root.getTypeId())));
+        }
+    }
+
+
+    /**
+     * Determines the type of the serialized object.
+     *
+     * @return The {@link Class} of the object
+     */
+    public Class<?> getType()
+    {
+        return serializer.getType();
+    }
+
+
+    /**
+     * Determines the serialized form of the object.
+     *
+     * @return A {@link Binary}
+     */
+    public Binary getBinary()
+    {
+        return binary;
+    }
+
+
+    /**
+     * Determines the value of the named field, decoding it from the serialized form of the object if it hasn't
+     * already been decoded.
+     *
+     * @param fieldName The name of the field
+     *
+     * @return The value of the field
+     *
+     * @throws IllegalArgumentException If the type of the object doesn't have the named field
+     */
+    public Object getFieldValue(String fieldName)
+    {
+        if (values.containsKey(fieldName))
+        {
+            return values.get(fieldName);
+        }
+
+        int[] path = serializer.getFieldPath(fieldName);
+
+        if (path == null)
+        {
+            throw new IllegalArgumentException(String.format("Unknown field %s for %s", fieldName, getType()));
+        }
+
+        PofValue value = root;
+
+        for (int index : path)
+        {
+            value = value.getChild(index);
+        }
+
+        Object fieldValue = value.getValue();
+
+        values.put(fieldName, fieldValue);
+
+        return fieldValue;
+    }
+
+
+    /**
+     * Determines the deserialized object, deserializing it on first use.
+     *
+     * @return The deserialized object
+     */
+    public Object getObject()
+    {
+        if (object == null)
+        {
+            object = ExternalizableHelper.fromBinary(binary, pofContext);
+        }
+
+        return object;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * File: ReflectedPofExtractorFactory.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+import com.oracle.coherence.common.serialization.annotations.PofField;
+import com.oracle.coherence.common.serialization.annotations.PofType;
+import com.tangosol.io.pof.PofContext;
+import com.tangosol.io.pof.reflect.SimplePofPath;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.PofExtractor;
+
+/**
+ * A {@link ReflectedPofExtractorFactory} creates {@link ValueExtractor}s that extract the value of a field of a
+ * {@link PofType} directly from its serialized form, without deserializing the entire value.
+ * <p>
+ * The Pof Index of a field is determined from the {@link ReflectedSerializer} of the type, honoring the
+ * {@link PofField#name()} of the field and locating fields of {@link PofType} super classes through the
+ * nested super class value at Pof Index 0.  The resulting {@link PofExtractor}s may be used for indexes and
+ * filters of caches that use the said {@link PofContext} as their serializer.
+ */
+public class ReflectedPofExtractorFactory
+{
+    /**
+     * The {@link PofContext} in which the types are configured to use a {@link ReflectiveSerializer}.
+     */
+    private PofContext pofContext;
+
+
+    /**
+     * Standard Constructor.
+     *
+     * @param pofContext The {@link PofContext} in which the types are configured to use a
+     *                   {@link ReflectiveSerializer}
+     */
+    public ReflectedPofExtractorFactory(PofContext pofContext)
+    {
+        this.pofContext = pofContext;
+    }
+
+
+    /**
+     * Creates a {@link ValueExtractor} for the named field of the specified type.
+     *
+     * @param type      The type declaring (or inheriting) the field
+     * @param fieldName The name of the field (as specified by the {@link PofField} annotation or as declared)
+     *
+     * @return A {@link PofExtractor}
+     *
+     * @throws IllegalArgumentException If the type doesn't use a {@link ReflectiveSerializer} or doesn't have
+     *                                  the named field
+     */
+    public PofExtractor createExtractor(Class<?> type,
+                                        String fieldName)
+    {
+        ReflectedSerializer serializer = ReflectiveSerializer.getReflectedSerializer(type, pofContext);
+
+        if (!(serializer instanceof DefaultReflectedSerializer))
+        {
+            throw new IllegalArgumentException(String.format("The type %s doesn't use a ReflectiveSerializer", type));
+        }
+
+        int[] path = ((DefaultReflectedSerializer) serializer).getFieldPath(fieldName);
+
+        if (path == null)
+        {
+            throw new IllegalArgumentException(String.format("Unknown field %s for %s", fieldName, type));
+        }
+
+        return new PofExtractor(null, new SimplePofPath(path));
+    }
+}
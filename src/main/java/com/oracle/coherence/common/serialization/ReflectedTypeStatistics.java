@@ -0,0 +1,304 @@
+/*
+ * File: ReflectedTypeStatistics.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ReflectedTypeStatistics} records the serialization statistics for a single type managed by a
+ * {@link DefaultReflectedPofSerializer}.  The statistics are only recorded while they are enabled with
+ * {@link DefaultReflectedPofSerializer#setStatisticsEnabled(boolean)}.
+ * <p>
+ * Instances returned by {@link DefaultReflectedPofSerializer#getStatistics()} are snapshots and are not updated.
+ */
+public class ReflectedTypeStatistics implements ReflectedTypeStatisticsMBean
+{
+    /**
+     * The User Type Identifier of the type.
+     */
+    private final int userTypeId;
+
+    /**
+     * The name of the type.
+     */
+    private final String typeName;
+
+    /**
+     * The number of serialized objects.
+     */
+    private final AtomicLong serializedCount;
+
+    /**
+     * The number of deserialized objects.
+     */
+    private final AtomicLong deserializedCount;
+
+    /**
+     * The number of bytes written during serialization.
+     */
+    private final AtomicLong bytesWritten;
+
+    /**
+     * The total nanoseconds spent serializing.
+     */
+    private final AtomicLong serializationNanos;
+
+    /**
+     * The total nanoseconds spent deserializing.
+     */
+    private final AtomicLong deserializationNanos;
+
+    /**
+     * The number of non-empty remainders read.
+     */
+    private final AtomicLong remainderCount;
+
+    /**
+     * The number of bytes of remainders read.
+     */
+    private final AtomicLong remainderBytes;
+
+    /**
+     * The number of reads of a version other than the serialization version.
+     */
+    private final AtomicLong versionMismatchCount;
+
+
+    /**
+     * Standard Constructor.
+     *
+     * @param userTypeId The User Type Identifier of the type
+     * @param typeName   The name of the type
+     */
+    public ReflectedTypeStatistics(int userTypeId,
+                                   String typeName)
+    {
+        this.userTypeId = userTypeId;
+        this.typeName = typeName;
+        this.serializedCount = new AtomicLong();
+        this.deserializedCount = new AtomicLong();
+        this.bytesWritten = new AtomicLong();
+        this.serializationNanos = new AtomicLong();
+        this.deserializationNanos = new AtomicLong();
+        this.remainderCount = new AtomicLong();
+        this.remainderBytes = new AtomicLong();
+        this.versionMismatchCount = new AtomicLong();
+    }
+
+
+    /**
+     * Constructs a snapshot of the specified {@link ReflectedTypeStatistics}.
+     *
+     * @param statistics The {@link ReflectedTypeStatistics} to copy
+     */
+    public ReflectedTypeStatistics(ReflectedTypeStatistics statistics)
+    {
+        this(statistics.userTypeId, statistics.typeName);
+
+        this.serializedCount.set(statistics.serializedCount.get());
+        this.deserializedCount.set(statistics.deserializedCount.get());
+        this.bytesWritten.set(statistics.bytesWritten.get());
+        this.serializationNanos.set(statistics.serializationNanos.get());
+        this.deserializationNanos.set(statistics.deserializationNanos.get());
+        this.remainderCount.set(statistics.remainderCount.get());
+        this.remainderBytes.set(statistics.remainderBytes.get());
+        this.versionMismatchCount.set(statistics.versionMismatchCount.get());
+    }
+
+
+    /**
+     * Records the serialization of an object.
+     *
+     * @param nanos The number of nanoseconds taken to serialize the object
+     * @param bytes The number of bytes written (or -1 if unknown)
+     */
+    void recordSerialization(long nanos,
+                             long bytes)
+    {
+        serializedCount.incrementAndGet();
+        serializationNanos.addAndGet(nanos);
+
+        if (bytes > 0)
+        {
+            bytesWritten.addAndGet(bytes);
+        }
+    }
+
+
+    /**
+     * Records the deserialization of an object.
+     *
+     * @param nanos The number of nanoseconds taken to deserialize the object
+     */
+    void recordDeserialization(long nanos)
+    {
+        deserializedCount.incrementAndGet();
+        deserializationNanos.addAndGet(nanos);
+    }
+
+
+    /**
+     * Records the reading of a non-empty remainder.
+     *
+     * @param bytes The size of the remainder in bytes
+     */
+    void recordRemainder(long bytes)
+    {
+        remainderCount.incrementAndGet();
+        remainderBytes.addAndGet(bytes);
+    }
+
+
+    /**
+     * Records the reading of an object with a version different to the serialization version.
+     */
+    void recordVersionMismatch()
+    {
+        versionMismatchCount.incrementAndGet();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getUserTypeId()
+    {
+        return userTypeId;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getTypeName()
+    {
+        return typeName;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getSerializedCount()
+    {
+        return serializedCount.get();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getDeserializedCount()
+    {
+        return deserializedCount.get();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getBytesWritten()
+    {
+        return bytesWritten.get();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getAverageSerializationNanos()
+    {
+        long count = serializedCount.get();
+
+        return count == 0 ? 0 : serializationNanos.get() / count;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getAverageDeserializationNanos()
+    {
+        long count = deserializedCount.get();
+
+        return count == 0 ? 0 : deserializationNanos.get() / count;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getRemainderCount()
+    {
+        return remainderCount.get();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getRemainderBytes()
+    {
+        return remainderBytes.get();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getVersionMismatchCount()
+    {
+        return versionMismatchCount.get();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void reset()
+    {
+        serializedCount.set(0);
+        deserializedCount.set(0);
+        bytesWritten.set(0);
+        serializationNanos.set(0);
+        deserializationNanos.set(0);
+        remainderCount.set(0);
+        remainderBytes.set(0);
+        versionMismatchCount.set(0);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("ReflectedTypeStatistics{userTypeId=%d, typeName=%s, serializedCount=%d, "
+                             + "deserializedCount=%d, bytesWritten=%d, averageSerializationNanos=%d, "
+                             + "averageDeserializationNanos=%d, remainderCount=%d, remainderBytes=%d, "
+                             + "versionMismatchCount=%d}", userTypeId, typeName, getSerializedCount(),
+                             getDeserializedCount(), getBytesWritten(), getAverageSerializationNanos(),
+                             getAverageDeserializationNanos(), getRemainderCount(), getRemainderBytes(),
+                             getVersionMismatchCount());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * File: ReflectedTypeStatisticsMBean.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+/**
+ * The JMX management interface of {@link ReflectedTypeStatistics}.
+ */
+public interface ReflectedTypeStatisticsMBean
+{
+    /**
+     * Obtains the User Type Identifier of the type.
+     *
+     * @return The User Type Identifier
+     */
+    public int getUserTypeId();
+
+
+    /**
+     * Obtains the name of the type.
+     *
+     * @return The fully qualified class name of the type
+     */
+    public String getTypeName();
+
+
+    /**
+     * Obtains the number of objects of the type that have been serialized.
+     *
+     * @return The number of serialized objects
+     */
+    public long getSerializedCount();
+
+
+    /**
+     * Obtains the number of objects of the type that have been deserialized.
+     *
+     * @return The number of deserialized objects
+     */
+    public long getDeserializedCount();
+
+
+    /**
+     * Obtains the total number of bytes written when serializing objects of the type.
+     *
+     * @return The number of bytes written
+     */
+    public long getBytesWritten();
+
+
+    /**
+     * Obtains the average number of nanoseconds taken to serialize an object of the type.
+     *
+     * @return The average number of nanoseconds per serialization (0 if none have occurred)
+     */
+    public long getAverageSerializationNanos();
+
+
+    /**
+     * Obtains the average number of nanoseconds taken to deserialize an object of the type.
+     *
+     * @return The average number of nanoseconds per deserialization (0 if none have occurred)
+     */
+    public long getAverageDeserializationNanos();
+
+
+    /**
+     * Obtains the number of non-empty remainders read when deserializing objects of the type.
+     *
+     * @return The number of remainders
+     */
+    public long getRemainderCount();
+
+
+    /**
+     * Obtains the total number of bytes of the remainders read when deserializing objects of the type.
+     *
+     * @return The number of remainder bytes
+     */
+    public long getRemainderBytes();
+
+
+    /**
+     * Obtains the number of objects of the type that were read from a stream with a version different to the
+     * version the type is being serialized with.
+     *
+     * @return The number of version mismatched reads
+     */
+    public long getVersionMismatchCount();
+
+
+    /**
+     * Resets all of the statistics to zero.
+     */
+    public void reset();
+}
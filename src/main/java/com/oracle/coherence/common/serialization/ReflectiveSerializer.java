@@ -28,6 +28,7 @@ import com.oracle.coherence.common.serialization.annotations.PofField;
 import com.oracle.coherence.common.serialization.annotations.PofIgnore;
 import com.oracle.coherence.common.serialization.annotations.PofType;
 import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.PofContext;
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofSerializer;
 import com.tangosol.io.pof.PofWriter;
@@ -151,6 +152,27 @@ public class ReflectiveSerializer implements PofSerializer
         return pofContext;
     }
 
+    /**
+     * Determines the {@link ReflectedSerializer} for the specified type when the type is configured to use a
+     * {@link ReflectiveSerializer} in the specified {@link PofContext}.
+     *
+     * @param type       The type
+     * @param pofContext The {@link PofContext} in which the type is configured
+     *
+     * @return The {@link ReflectedSerializer} or <code>null</code> if the type doesn't use a
+     *         {@link ReflectiveSerializer}
+     */
+    public static ReflectedSerializer getReflectedSerializer(Class<?> type,
+                                                             PofContext pofContext)
+    {
+        PofSerializer serializer = pofContext.getPofSerializer(pofContext.getUserTypeIdentifier(type));
+
+        return serializer instanceof ReflectiveSerializer
+               ? ((ReflectiveSerializer) serializer).getReflectedPofContext().ensurePofSerializer(type, pofContext)
+               : null;
+    }
+
+
     static
     {
         serializationProvider = new DefaultFieldSerializationProvider();
@@ -68,4 +68,31 @@ public @interface PofField
       * annonated {@link Field}.
       */
     public Class<?> type() default Object.class;
+
+
+    /**
+     * (Optional) Specifies that an array of {@link PofType}s should be written using a columnar encoding, in which
+     * each {@link Field} of the array elements is written as a contiguous (uniform where possible) array, instead
+     * of writing the elements one after another.  This is considerably more compact for large arrays of small
+     * types and allows a single {@link Field} of the elements to be read without reading the others.
+     * <p>
+     * Note: Columnar encoding ignores the {@link PofType#version()} and remainders of the elements and is only
+     * applied to {@link Field}s declared as arrays of {@link PofType}s.  The elements must be instances of exactly
+     * the component type of the array (not sub-classes).  Changing this value changes the serialized form of the
+     * {@link Field}.
+     */
+    public boolean columnar() default false;
+
+
+    /**
+     * (Optional) Specifies that a {@link java.util.Collection} of boxed primitives (for example
+     * <code>List&lt;Long&gt;</code>) should be written as a uniform array of the corresponding primitive type,
+     * instead of as a collection of individual objects.  Collections containing <code>null</code> elements are
+     * written as collections (as if this value was <code>false</code>).
+     * <p>
+     * Note: The array encoding remains readable as a {@link java.util.Collection}, but it is only applied to
+     * {@link Field}s whose declared element type is a boxed primitive.  Changing this value changes the serialized
+     * form of the {@link Field}.
+     */
+    public boolean primitiveArray() default false;
 }
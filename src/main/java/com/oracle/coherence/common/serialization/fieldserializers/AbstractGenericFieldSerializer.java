@@ -113,6 +113,17 @@ public abstract class AbstractGenericFieldSerializer implements FieldSerializer
     }
 
 
+    /**
+     * Determines the resolved concrete type arguments of the {@link Field}.
+     *
+     * @return The concrete type arguments or <code>null</code> if the type arguments are not all concrete
+     */
+    public Type[] getTypeArguments()
+    {
+        return typeArguments;
+    }
+
+
     /**
      * Determines the concrete {@link Class} for a given {@link Type}.
      *
@@ -0,0 +1,509 @@
+/*
+ * File: ColumnarArrayFieldSerializer.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.fieldserializers;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.oracle.coherence.common.serialization.FieldSerializer;
+import com.oracle.coherence.common.serialization.PofRemainder;
+import com.oracle.coherence.common.serialization.annotations.PofField;
+import com.oracle.coherence.common.serialization.annotations.PofIgnore;
+import com.oracle.coherence.common.serialization.annotations.PofType;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.util.Base;
+
+/**
+ * A {@link ColumnarArrayFieldSerializer} is a {@link FieldSerializer} for arrays of {@link PofType}s that writes
+ * the arrays in a columnar form (see {@link PofField#columnar()}).
+ * <p>
+ * An array is written as a nested Pof stream containing the length of the array (at index 0), an optional
+ * <code>boolean[]</code> identifying the <code>null</code> elements (at index 1), followed by one array per
+ * {@link Field} of the elements (from index 2).  {@link Field}s of primitive types are written as uniform
+ * primitive arrays, all others as {@link Object} arrays.
+ * <p>
+ * The columns are the non-static, non-transient, non-final and non-ignored {@link Field}s of the element type
+ * (and its {@link PofType} super classes), ordered from the top-most super class and then by name.
+ * <p>
+ * As the columns are determined by the component type, the elements of an array must be instances of exactly the
+ * component type.  Attempting to write an array containing an instance of a sub-class (whose additional
+ * {@link Field}s would otherwise be silently lost) fails with an {@link IllegalArgumentException}.
+ */
+public final class ColumnarArrayFieldSerializer implements FieldSerializer
+{
+    /**
+     * The component type of the arrays.
+     */
+    private Class<?> componentType;
+
+    /**
+     * The {@link Field}s of the component type, one per column.
+     */
+    private Field[] columns;
+
+    /**
+     * The no-argument {@link Constructor} used to create the elements when deserializing.
+     */
+    private Constructor<?> constructor;
+
+
+    /**
+     * Standard Constructor.
+     *
+     * @param componentType The component type of arrays produced by this {@link FieldSerializer}
+     */
+    public ColumnarArrayFieldSerializer(Class<?> componentType)
+    {
+        if (!componentType.isAnnotationPresent(PofType.class))
+        {
+            throw new IllegalArgumentException(String.format("The type %s isn't a PofType", componentType));
+        }
+
+        this.componentType = componentType;
+
+        try
+        {
+            this.constructor = componentType.getDeclaredConstructor();
+            this.constructor.setAccessible(true);
+        }
+        catch (NoSuchMethodException e)
+        {
+            throw new IllegalArgumentException(String.format("The type %s doesn't declare a no-argument constructor",
+                                                             componentType));
+        }
+
+        ArrayList<Field> fields = new ArrayList<Field>();
+
+        for (Class<?> type = componentType; type != null && type.isAnnotationPresent(PofType.class);
+             type = type.getSuperclass())
+        {
+            Field[] declaredFields = type.getDeclaredFields();
+
+            Arrays.sort(declaredFields, new Comparator<Field>()
+            {
+                public int compare(Field field1,
+                                   Field field2)
+                {
+                    return field1.getName().compareTo(field2.getName());
+                }
+            });
+
+            List<Field> declared = new ArrayList<Field>();
+
+            for (Field field : declaredFields)
+            {
+                if ((field.getModifiers() & (Modifier.TRANSIENT | Modifier.STATIC | Modifier.FINAL)) == 0
+                        && !field.isAnnotationPresent(PofIgnore.class) && !field.getType().equals(PofRemainder.class))
+                {
+                    field.setAccessible(true);
+                    declared.add(field);
+                }
+            }
+
+            // super class columns come first
+            fields.addAll(0, declared);
+        }
+
+        this.columns = fields.toArray(new Field[fields.size()]);
+    }
+
+
+    /**
+     * Determines if the specified type of {@link Field} may be serialized by a
+     * {@link ColumnarArrayFieldSerializer}.
+     *
+     * @param fieldType The type of the {@link Field}
+     *
+     * @return <code>true</code> if the type is an array of {@link PofType}s
+     */
+    public static boolean isSupported(Class<?> fieldType)
+    {
+        return fieldType.isArray() && fieldType.getComponentType().isAnnotationPresent(PofType.class);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readField(Object object,
+                          Field field,
+                          PofReader reader,
+                          int index) throws IllegalArgumentException, IllegalAccessException, IOException
+    {
+        PofReader nestedReader = reader.createNestedPofReader(index);
+        int length = nestedReader.readInt(0);
+
+        if (length < 0)
+        {
+            field.set(object, null);
+        }
+        else
+        {
+            Object[] array = (Object[]) Array.newInstance(componentType, length);
+            boolean[] nulls = nestedReader.readBooleanArray(1);
+
+            try
+            {
+                for (int i = 0; i < length; i++)
+                {
+                    array[i] = nulls != null && nulls[i] ? null : constructor.newInstance();
+                }
+            }
+            catch (InstantiationException e)
+            {
+                throw Base.ensureRuntimeException(e);
+            }
+            catch (InvocationTargetException e)
+            {
+                throw Base.ensureRuntimeException(e);
+            }
+
+            for (int column = 0; column < columns.length; column++)
+            {
+                readColumn(columns[column], array, nestedReader, column + 2);
+            }
+
+            field.set(object, array);
+        }
+
+        nestedReader.readRemainder();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeField(Object object,
+                           Field field,
+                           PofWriter writer,
+                           int index) throws IllegalArgumentException, IOException, IllegalAccessException
+    {
+        Object[] array = (Object[]) field.get(object);
+
+        if (array != null)
+        {
+            for (Object element : array)
+            {
+                if (element != null && element.getClass() != componentType)
+                {
+                    throw new IllegalArgumentException(String.format("The %s can't be written in a columnar form as "
+                                                                     + "it contains an instance of %s (only instances "
+                                                                     + "of %s are supported)",
+                                                                     field, element.getClass(), componentType));
+                }
+            }
+        }
+
+        PofWriter nestedWriter = writer.createNestedPofWriter(index);
+
+        if (array == null)
+        {
+            nestedWriter.writeInt(0, -1);
+        }
+        else
+        {
+            nestedWriter.writeInt(0, array.length);
+
+            boolean[] nulls = null;
+
+            for (int i = 0; i < array.length; i++)
+            {
+                if (array[i] == null)
+                {
+                    nulls = nulls == null ? new boolean[array.length] : nulls;
+                    nulls[i] = true;
+                }
+            }
+
+            nestedWriter.writeBooleanArray(1, nulls);
+
+            for (int column = 0; column < columns.length; column++)
+            {
+                writeColumn(columns[column], array, nestedWriter, column + 2);
+            }
+        }
+
+        nestedWriter.writeRemainder(null);
+    }
+
+
+    /**
+     * Writes the values of the specified {@link Field} of each element of an array as a single column.
+     *
+     * @param column The {@link Field} of the elements
+     * @param array  The array of elements (which may contain <code>null</code>s)
+     * @param writer The {@link PofWriter} to write the column to
+     * @param index  The index of the column
+     *
+     * @throws IllegalAccessException When the {@link Field} can't be accessed
+     * @throws IOException            When writing fails
+     */
+    private void writeColumn(Field column,
+                             Object[] array,
+                             PofWriter writer,
+                             int index) throws IllegalAccessException, IOException
+    {
+        Class<?> type = column.getType();
+        int length = array.length;
+
+        if (type == int.class)
+        {
+            int[] values = new int[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? 0 : column.getInt(array[i]);
+            }
+
+            writer.writeIntArray(index, values);
+        }
+        else if (type == long.class)
+        {
+            long[] values = new long[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? 0 : column.getLong(array[i]);
+            }
+
+            writer.writeLongArray(index, values);
+        }
+        else if (type == double.class)
+        {
+            double[] values = new double[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? 0 : column.getDouble(array[i]);
+            }
+
+            writer.writeDoubleArray(index, values);
+        }
+        else if (type == float.class)
+        {
+            float[] values = new float[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? 0 : column.getFloat(array[i]);
+            }
+
+            writer.writeFloatArray(index, values);
+        }
+        else if (type == short.class)
+        {
+            short[] values = new short[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? 0 : column.getShort(array[i]);
+            }
+
+            writer.writeShortArray(index, values);
+        }
+        else if (type == byte.class)
+        {
+            byte[] values = new byte[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? 0 : column.getByte(array[i]);
+            }
+
+            writer.writeByteArray(index, values);
+        }
+        else if (type == char.class)
+        {
+            char[] values = new char[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? 0 : column.getChar(array[i]);
+            }
+
+            writer.writeCharArray(index, values);
+        }
+        else if (type == boolean.class)
+        {
+            boolean[] values = new boolean[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? false : column.getBoolean(array[i]);
+            }
+
+            writer.writeBooleanArray(index, values);
+        }
+        else
+        {
+            Object[] values = new Object[length];
+
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = array[i] == null ? null : column.get(array[i]);
+            }
+
+            writer.writeObjectArray(index, values);
+        }
+    }
+
+
+    /**
+     * Reads a single column and assigns the values to the specified {@link Field} of each element of an array.
+     *
+     * @param column The {@link Field} of the elements
+     * @param array  The array of elements (which may contain <code>null</code>s)
+     * @param reader The {@link PofReader} to read the column from
+     * @param index  The index of the column
+     *
+     * @throws IllegalAccessException When the {@link Field} can't be accessed
+     * @throws IOException            When reading fails
+     */
+    private void readColumn(Field column,
+                            Object[] array,
+                            PofReader reader,
+                            int index) throws IllegalAccessException, IOException
+    {
+        Class<?> type = column.getType();
+        int length = array.length;
+
+        if (type == int.class)
+        {
+            int[] values = reader.readIntArray(index);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.setInt(array[i], values[i]);
+                }
+            }
+        }
+        else if (type == long.class)
+        {
+            long[] values = reader.readLongArray(index);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.setLong(array[i], values[i]);
+                }
+            }
+        }
+        else if (type == double.class)
+        {
+            double[] values = reader.readDoubleArray(index);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.setDouble(array[i], values[i]);
+                }
+            }
+        }
+        else if (type == float.class)
+        {
+            float[] values = reader.readFloatArray(index);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.setFloat(array[i], values[i]);
+                }
+            }
+        }
+        else if (type == short.class)
+        {
+            short[] values = reader.readShortArray(index);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.setShort(array[i], values[i]);
+                }
+            }
+        }
+        else if (type == byte.class)
+        {
+            byte[] values = reader.readByteArray(index);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.setByte(array[i], values[i]);
+                }
+            }
+        }
+        else if (type == char.class)
+        {
+            char[] values = reader.readCharArray(index);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.setChar(array[i], values[i]);
+                }
+            }
+        }
+        else if (type == boolean.class)
+        {
+            boolean[] values = reader.readBooleanArray(index);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.setBoolean(array[i], values[i]);
+                }
+            }
+        }
+        else
+        {
+            Object[] values = reader.readObjectArray(index, null);
+
+            for (int i = 0; values != null && i < length; i++)
+            {
+                if (array[i] != null)
+                {
+                    column.set(array[i], values[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * File: PrimitiveCollectionFieldSerializer.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization.fieldserializers;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import com.oracle.coherence.common.logging.Logger;
+import com.oracle.coherence.common.serialization.FieldSerializer;
+import com.oracle.coherence.common.util.DoubleArrayList;
+import com.oracle.coherence.common.util.IntegerArrayList;
+import com.oracle.coherence.common.util.LongArrayList;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+/**
+ * A {@link PrimitiveCollectionFieldSerializer} is a {@link FieldSerializer} for {@link Collection}s whose
+ * (declared) element type is a boxed primitive, for example <code>List&lt;Long&gt;</code>.
+ * <p>
+ * Such {@link Collection}s are written as uniform arrays of the corresponding primitive type, which avoids
+ * writing the elements as individual objects.  As uniform arrays may be read as {@link Collection}s, the values
+ * remain readable by the {@link CollectionFieldSerializer}.
+ * <p>
+ * When the preferred type of the {@link Field} is a {@link LongArrayList}, {@link IntegerArrayList} or
+ * {@link DoubleArrayList} (and the element type matches), the values are read directly into the said
+ * primitive-backed {@link Collection} without boxing the individual elements.
+ * <p>
+ * As <code>null</code>s can't be represented in primitive arrays, {@link Collection}s containing
+ * <code>null</code> elements are written by a {@link CollectionFieldSerializer} instead.
+ */
+public final class PrimitiveCollectionFieldSerializer extends AbstractGenericFieldSerializer
+{
+    /**
+     * The boxed primitive element type of the {@link Collection}s.
+     */
+    private Class<?> elementType;
+
+    /**
+     * The constructor to use for creating new {@link Collection}s.
+     */
+    private Constructor<?> collectionConstructor;
+
+    /**
+     * The {@link CollectionFieldSerializer} used to write {@link Collection}s containing <code>null</code> elements.
+     */
+    private CollectionFieldSerializer collectionFieldSerializer;
+
+
+    /**
+     * Standard Constructor.
+     *
+     * @param field         The {@link Field} containing the {@link Collection} to serialize.
+     * @param preferredType The preferred type of {@link Collection} to instantiate when deserializing.
+     */
+    public PrimitiveCollectionFieldSerializer(Field field,
+                                              Class<?> preferredType)
+    {
+        super(field, preferredType);
+
+        if (!isSupported(typeArguments))
+        {
+            throw new IllegalArgumentException(String.format("The field %s isn't a collection of primitives", field));
+        }
+
+        this.elementType = (Class<?>) typeArguments[0];
+        this.collectionFieldSerializer = new CollectionFieldSerializer(field, preferredType);
+
+        // the inherited constructor defaults to a map for interfaces, so choose an appropriate collection instead
+        if (Collection.class.isAssignableFrom(constructor.getDeclaringClass()))
+        {
+            this.collectionConstructor = constructor;
+        }
+        else
+        {
+            try
+            {
+                this.collectionConstructor = Set.class.isAssignableFrom(field.getType())
+                                             ? HashSet.class.getConstructor() : ArrayList.class.getConstructor();
+            }
+            catch (NoSuchMethodException e)
+            {
+                Logger.log(Logger.ERROR, "Cannot locate constructor for %s (%s)", field, e.getMessage());
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+
+    /**
+     * Determines if the specified (resolved) type arguments of a {@link Collection} {@link Field} describe a
+     * {@link Collection} that may be serialized by a {@link PrimitiveCollectionFieldSerializer}.
+     *
+     * @param typeArguments The resolved type arguments (may be <code>null</code>)
+     *
+     * @return <code>true</code> if the element type is a supported boxed primitive
+     */
+    public static boolean isSupported(Object[] typeArguments)
+    {
+        if (typeArguments == null || typeArguments.length != 1)
+        {
+            return false;
+        }
+        else
+        {
+            Object type = typeArguments[0];
+
+            return type == Long.class || type == Integer.class || type == Short.class || type == Double.class
+                   || type == Float.class || type == Boolean.class;
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readField(Object object,
+                          Field field,
+                          PofReader reader,
+                          int index) throws IllegalArgumentException, IllegalAccessException, IOException
+    {
+        Object value = reader.readObject(index);
+
+        if (value == null)
+        {
+            field.set(object, null);
+        }
+        else if (collectionConstructor.getDeclaringClass() == LongArrayList.class && value instanceof long[])
+        {
+            field.set(object, new LongArrayList((long[]) value));
+        }
+        else if (collectionConstructor.getDeclaringClass() == IntegerArrayList.class && value instanceof int[])
+        {
+            field.set(object, new IntegerArrayList((int[]) value));
+        }
+        else if (collectionConstructor.getDeclaringClass() == DoubleArrayList.class && value instanceof double[])
+        {
+            field.set(object, new DoubleArrayList((double[]) value));
+        }
+        else
+        {
+            @SuppressWarnings("unchecked")
+            Collection<Object> collection = (Collection<Object>) field.get(object);
+
+            if (collection == null)
+            {
+                try
+                {
+                    collection = (Collection<Object>) collectionConstructor.newInstance();
+                }
+                catch (Exception e)
+                {
+                    Logger.log(Logger.ERROR, "Failed to create a new instance (%s): %s", field, e.getMessage());
+                    throw new IllegalStateException(e);
+                }
+            }
+            else
+            {
+                collection.clear();
+            }
+
+            if (value instanceof Collection<?>)
+            {
+                // the value was written as a (uniform) collection
+                collection.addAll((Collection<?>) value);
+            }
+            else if (value.getClass().isArray())
+            {
+                for (int i = 0, length = Array.getLength(value); i < length; i++)
+                {
+                    collection.add(Array.get(value, i));
+                }
+            }
+            else
+            {
+                throw new IOException(String.format("Unexpected value of type %s for %s", value.getClass(), field));
+            }
+
+            field.set(object, collection);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeField(Object object,
+                           Field field,
+                           PofWriter writer,
+                           int index) throws IllegalArgumentException, IOException, IllegalAccessException
+    {
+        Collection<?> collection = (Collection<?>) field.get(object);
+
+        if (collection == null)
+        {
+            writer.writeObject(index, null);
+        }
+        else if (containsNull(collection))
+        {
+            collectionFieldSerializer.writeField(object, field, writer, index);
+        }
+        else if (elementType == Long.class)
+        {
+            long[] values;
+
+            if (collection instanceof LongArrayList)
+            {
+                values = ((LongArrayList) collection).toLongArray();
+            }
+            else
+            {
+                values = new long[collection.size()];
+
+                Iterator<?> iterator = collection.iterator();
+
+                for (int i = 0; i < values.length; i++)
+                {
+                    values[i] = (Long) iterator.next();
+                }
+            }
+
+            writer.writeLongArray(index, values);
+        }
+        else if (elementType == Integer.class)
+        {
+            int[] values;
+
+            if (collection instanceof IntegerArrayList)
+            {
+                values = ((IntegerArrayList) collection).toIntArray();
+            }
+            else
+            {
+                values = new int[collection.size()];
+
+                Iterator<?> iterator = collection.iterator();
+
+                for (int i = 0; i < values.length; i++)
+                {
+                    values[i] = (Integer) iterator.next();
+                }
+            }
+
+            writer.writeIntArray(index, values);
+        }
+        else if (elementType == Double.class)
+        {
+            double[] values;
+
+            if (collection instanceof DoubleArrayList)
+            {
+                values = ((DoubleArrayList) collection).toDoubleArray();
+            }
+            else
+            {
+                values = new double[collection.size()];
+
+                Iterator<?> iterator = collection.iterator();
+
+                for (int i = 0; i < values.length; i++)
+                {
+                    values[i] = (Double) iterator.next();
+                }
+            }
+
+            writer.writeDoubleArray(index, values);
+        }
+        else if (elementType == Short.class)
+        {
+            short[] values = new short[collection.size()];
+
+            Iterator<?> iterator = collection.iterator();
+
+            for (int i = 0; i < values.length; i++)
+            {
+                values[i] = (Short) iterator.next();
+            }
+
+            writer.writeShortArray(index, values);
+        }
+        else if (elementType == Float.class)
+        {
+            float[] values = new float[collection.size()];
+
+            Iterator<?> iterator = collection.iterator();
+
+            for (int i = 0; i < values.length; i++)
+            {
+                values[i] = (Float) iterator.next();
+            }
+
+            writer.writeFloatArray(index, values);
+        }
+        else
+        {
+            boolean[] values = new boolean[collection.size()];
+
+            Iterator<?> iterator = collection.iterator();
+
+            for (int i = 0; i < values.length; i++)
+            {
+                values[i] = (Boolean) iterator.next();
+            }
+
+            writer.writeBooleanArray(index, values);
+        }
+    }
+
+
+    /**
+     * Determines if the specified {@link Collection} contains a <code>null</code> element (which can't be written
+     * in a primitive array).
+     *
+     * @param collection The {@link Collection}
+     *
+     * @return <code>true</code> if the {@link Collection} contains a <code>null</code> element
+     */
+    private static boolean containsNull(Collection<?> collection)
+    {
+        if (collection instanceof LongArrayList || collection instanceof IntegerArrayList
+            || collection instanceof DoubleArrayList)
+        {
+            return false;
+        }
+
+        for (Object element : collection)
+        {
+            if (element == null)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
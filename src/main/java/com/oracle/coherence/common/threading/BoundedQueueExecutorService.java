@@ -0,0 +1,734 @@
+/*
+ * File: BoundedQueueExecutorService.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.threading;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A {@link BoundedQueueExecutorService} is a {@link LogExceptionThreadPoolExecutor} that limits the number of
+ * {@link Runnable}s waiting to be executed.  When the queue of waiting {@link Runnable}s has reached its capacity,
+ * the {@link OverflowPolicy} determines what happens to a newly submitted {@link Runnable}.</p>
+ *
+ * <p>Both the capacity and the {@link OverflowPolicy} may be changed while the {@link BoundedQueueExecutorService}
+ * is running.  The {@link BoundedQueueExecutorService} also records the depth of the queue and the time
+ * {@link Runnable}s spend waiting in the queue.</p>
+ *
+ * <p>The capacity is enforced while holding a lock, so the queue never holds more than the capacity, even when
+ * {@link Runnable}s are submitted concurrently.  {@link Runnable}s that are submitted while fewer than the
+ * configured number of threads are running are handed directly to a new thread and don't occupy the queue.</p>
+ *
+ * <p>{@link Future}s created by the <code>submit</code> methods are queued like any other {@link Runnable}.  A
+ * {@link Future} discarded by the {@link OverflowPolicy#DROP_OLDEST} policy, or replaced by the
+ * {@link OverflowPolicy#COALESCE} policy, is cancelled.</p>
+ */
+public class BoundedQueueExecutorService extends LogExceptionThreadPoolExecutor
+{
+    /**
+     * <p>The policies that may be applied when a {@link Runnable} is submitted to a full queue.</p>
+     */
+    public enum OverflowPolicy
+    {
+        /**
+         * <p>The submitting thread blocks until there is space in the queue.  A {@link Runnable} submitted by one
+         * of the threads of the {@link BoundedQueueExecutorService} (which could otherwise block forever, waiting
+         * for itself) is executed by that thread, as for the {@link #CALLER_RUNS} policy.</p>
+         */
+        BLOCK,
+
+        /**
+         * <p>The oldest waiting {@link Runnable} is discarded to make space in the queue (a discarded {@link Future}
+         * is cancelled).</p>
+         */
+        DROP_OLDEST,
+
+        /**
+         * <p>A {@link KeyedRunnable} replaces a waiting {@link KeyedRunnable} with the same key (a replaced
+         * {@link Future} is cancelled).  When there is no such {@link KeyedRunnable} (or the submitted
+         * {@link Runnable} has no key) the submitting thread blocks, as for the {@link #BLOCK} policy.</p>
+         */
+        COALESCE,
+
+        /**
+         * <p>The submitting thread executes the {@link Runnable} itself.</p>
+         */
+        CALLER_RUNS;
+    }
+
+
+    /**
+     * <p>The maximum number of {@link Runnable}s that may wait in the queue.</p>
+     */
+    private volatile int capacity;
+
+    /**
+     * <p>The {@link OverflowPolicy} to apply when the queue is full.</p>
+     */
+    private volatile OverflowPolicy overflowPolicy;
+
+    /**
+     * <p>The monitor held while admitting {@link Runnable}s to the queue, also used to block (and release) submitting
+     * threads when the queue is full.</p>
+     */
+    private final Object monitor;
+
+    /**
+     * <p>The number of threads blocked waiting for space in the queue.</p>
+     */
+    private final AtomicInteger blockedThreadCount;
+
+    /**
+     * <p>Whether the current thread is one of the threads of the {@link BoundedQueueExecutorService} executing a
+     * {@link Runnable} (such threads must never block waiting for space in the queue).</p>
+     */
+    private final ThreadLocal<Boolean> isExecuting;
+
+    /**
+     * <p>The waiting {@link KeyedRunnable}s by key (only tracked for the {@link OverflowPolicy#COALESCE} policy).</p>
+     */
+    private final ConcurrentHashMap<Object, QueuedRunnable> waitingByKey;
+
+    /**
+     * <p>The number of {@link Runnable}s submitted.</p>
+     */
+    private final AtomicLong submittedCount;
+
+    /**
+     * <p>The number of {@link Runnable}s that have started executing after waiting in the queue.</p>
+     */
+    private final AtomicLong dequeuedCount;
+
+    /**
+     * <p>The total number of nanoseconds {@link Runnable}s have waited in the queue.</p>
+     */
+    private final AtomicLong totalQueuedNanos;
+
+    /**
+     * <p>The number of {@link Runnable}s discarded by the {@link OverflowPolicy#DROP_OLDEST} policy.</p>
+     */
+    private final AtomicLong droppedCount;
+
+    /**
+     * <p>The number of {@link Runnable}s replaced by the {@link OverflowPolicy#COALESCE} policy.</p>
+     */
+    private final AtomicLong coalescedCount;
+
+    /**
+     * <p>The number of {@link Runnable}s executed by submitting threads with the {@link OverflowPolicy#CALLER_RUNS}
+     * policy.</p>
+     */
+    private final AtomicLong callerRunsCount;
+
+    /**
+     * <p>The maximum observed depth of the queue.</p>
+     */
+    private final AtomicInteger maximumQueueDepth;
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     *
+     * @param threadCount    The number of threads to execute {@link Runnable}s
+     * @param capacity       The maximum number of {@link Runnable}s that may wait to be executed
+     * @param overflowPolicy The {@link OverflowPolicy} to apply when the queue is full
+     * @param threadFactory  The {@link ThreadFactory} to use
+     */
+    public BoundedQueueExecutorService(int threadCount,
+                                       int capacity,
+                                       OverflowPolicy overflowPolicy,
+                                       ThreadFactory threadFactory)
+    {
+        super(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+
+        setCapacity(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.monitor = new Object();
+        this.blockedThreadCount = new AtomicInteger();
+        this.isExecuting = new ThreadLocal<Boolean>();
+        this.waitingByKey = new ConcurrentHashMap<Object, QueuedRunnable>();
+        this.submittedCount = new AtomicLong();
+        this.dequeuedCount = new AtomicLong();
+        this.totalQueuedNanos = new AtomicLong();
+        this.droppedCount = new AtomicLong();
+        this.coalescedCount = new AtomicLong();
+        this.callerRunsCount = new AtomicLong();
+        this.maximumQueueDepth = new AtomicInteger();
+    }
+
+
+    /**
+     * <p>Returns the maximum number of {@link Runnable}s that may wait to be executed.</p>
+     *
+     * @return The capacity of the queue
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+
+    /**
+     * <p>Sets the maximum number of {@link Runnable}s that may wait to be executed.</p>
+     *
+     * @param capacity The capacity of the queue (must be positive)
+     */
+    public void setCapacity(int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("The capacity of a BoundedQueueExecutorService must be positive");
+        }
+
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * <p>Returns the {@link OverflowPolicy} applied when the queue is full.</p>
+     *
+     * @return The {@link OverflowPolicy}
+     */
+    public OverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+
+    /**
+     * <p>Sets the {@link OverflowPolicy} to apply when the queue is full.</p>
+     *
+     * @param overflowPolicy The {@link OverflowPolicy}
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy)
+    {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(Runnable runnable)
+    {
+        if (runnable == null)
+        {
+            throw new NullPointerException();
+        }
+
+        submittedCount.incrementAndGet();
+
+        QueuedRunnable queuedRunnable = new QueuedRunnable(runnable);
+        boolean callerRuns = false;
+
+        // the queue only grows while holding the monitor, so the capacity can't be exceeded by concurrent submitters
+        synchronized (monitor)
+        {
+            while (getQueue().size() >= capacity && !isShutdown() && !callerRuns)
+            {
+                switch (overflowPolicy)
+                {
+                case DROP_OLDEST :
+                    Runnable oldest = getQueue().poll();
+
+                    if (oldest != null)
+                    {
+                        droppedCount.incrementAndGet();
+
+                        if (oldest instanceof QueuedRunnable)
+                        {
+                            ((QueuedRunnable) oldest).discard();
+                        }
+                    }
+
+                    break;
+
+                case CALLER_RUNS :
+                    callerRuns = true;
+
+                    break;
+
+                case COALESCE :
+                    if (queuedRunnable.key != null)
+                    {
+                        QueuedRunnable waiting = waitingByKey.get(queuedRunnable.key);
+
+                        if (waiting != null && waiting.replace(queuedRunnable.runnable))
+                        {
+                            coalescedCount.incrementAndGet();
+
+                            return;
+                        }
+                    }
+
+                    callerRuns = blockOrRun();
+
+                    break;
+
+                default :
+                    callerRuns = blockOrRun();
+                }
+            }
+
+            if (!callerRuns)
+            {
+                if (queuedRunnable.key != null)
+                {
+                    waitingByKey.put(queuedRunnable.key, queuedRunnable);
+                }
+
+                super.execute(queuedRunnable);
+
+                int depth = getQueue().size();
+                int maximum = maximumQueueDepth.get();
+                while (depth > maximum && !maximumQueueDepth.compareAndSet(maximum, depth))
+                {
+                    maximum = maximumQueueDepth.get();
+                }
+            }
+        }
+
+        // the caller runs the runnable without holding the monitor (so other submitters aren't blocked)
+        if (callerRuns)
+        {
+            callerRunsCount.incrementAndGet();
+            queuedRunnable.run();
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<?> submit(Runnable runnable)
+    {
+        return submit(runnable, null);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Future<T> submit(Runnable runnable,
+                                T result)
+    {
+        if (runnable == null)
+        {
+            throw new NullPointerException();
+        }
+
+        // keyed runnables remain keyed so that they may be coalesced
+        FutureTask<T> future = runnable instanceof KeyedRunnable
+                               ? new KeyedFutureTask<T>((KeyedRunnable) runnable, result)
+                               : new FutureTask<T>(runnable, result);
+
+        execute(future);
+
+        return future;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Future<T> submit(Callable<T> callable)
+    {
+        if (callable == null)
+        {
+            throw new NullPointerException();
+        }
+
+        FutureTask<T> future = new FutureTask<T>(callable);
+
+        execute(future);
+
+        return future;
+    }
+
+
+    /**
+     * <p>Blocks the calling thread until there may be space in the queue, unless it's one of the threads of the
+     * {@link BoundedQueueExecutorService}, in which case it should run the {@link Runnable} itself.  Must be called
+     * while holding the monitor.</p>
+     *
+     * @return <code>true</code> if the calling thread should run the {@link Runnable} itself
+     */
+    private boolean blockOrRun()
+    {
+        if (isExecuting.get() != null)
+        {
+            return true;
+        }
+
+        block();
+
+        return false;
+    }
+
+
+    /**
+     * <p>Blocks the calling thread until there may be space in the queue.  Must be called while holding the
+     * monitor (which is released while waiting).</p>
+     */
+    private void block()
+    {
+        blockedThreadCount.incrementAndGet();
+
+        try
+        {
+            // we wait with a timeout so that changes to the capacity (and policy) are noticed
+            monitor.wait(100);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new RejectedExecutionException("Interrupted while waiting for space in the queue");
+        }
+        finally
+        {
+            blockedThreadCount.decrementAndGet();
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void beforeExecute(Thread thread,
+                                 Runnable runnable)
+    {
+        super.beforeExecute(thread, runnable);
+
+        isExecuting.set(Boolean.TRUE);
+
+        // a runnable has left the queue, so release any blocked threads
+        if (blockedThreadCount.get() > 0)
+        {
+            synchronized (monitor)
+            {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void afterExecute(Runnable runnable,
+                                Throwable throwable)
+    {
+        isExecuting.remove();
+
+        super.afterExecute(runnable, throwable);
+    }
+
+
+    /**
+     * <p>Returns the number of {@link Runnable}s currently waiting to be executed.</p>
+     *
+     * @return The depth of the queue
+     */
+    public int getQueueDepth()
+    {
+        return getQueue().size();
+    }
+
+
+    /**
+     * <p>Returns the maximum observed number of {@link Runnable}s waiting to be executed.</p>
+     *
+     * @return The maximum depth of the queue
+     */
+    public int getMaximumQueueDepth()
+    {
+        return maximumQueueDepth.get();
+    }
+
+
+    /**
+     * <p>Returns the number of {@link Runnable}s submitted for execution.</p>
+     *
+     * @return The number of submitted {@link Runnable}s
+     */
+    public long getSubmittedCount()
+    {
+        return submittedCount.get();
+    }
+
+
+    /**
+     * <p>Returns the average number of nanoseconds {@link Runnable}s waited in the queue before being executed.</p>
+     *
+     * @return The average queue latency in nanoseconds (0 if no {@link Runnable}s have been executed)
+     */
+    public long getAverageQueueLatencyNanos()
+    {
+        long count = dequeuedCount.get();
+
+        return count == 0 ? 0 : totalQueuedNanos.get() / count;
+    }
+
+
+    /**
+     * <p>Returns the number of {@link Runnable}s discarded by the {@link OverflowPolicy#DROP_OLDEST} policy.</p>
+     *
+     * @return The number of dropped {@link Runnable}s
+     */
+    public long getDroppedCount()
+    {
+        return droppedCount.get();
+    }
+
+
+    /**
+     * <p>Returns the number of {@link Runnable}s replaced by the {@link OverflowPolicy#COALESCE} policy.</p>
+     *
+     * @return The number of coalesced {@link Runnable}s
+     */
+    public long getCoalescedCount()
+    {
+        return coalescedCount.get();
+    }
+
+
+    /**
+     * <p>Returns the number of {@link Runnable}s executed by submitting threads due to the
+     * {@link OverflowPolicy#CALLER_RUNS} policy.</p>
+     *
+     * @return The number of {@link Runnable}s run by the callers
+     */
+    public long getCallerRunsCount()
+    {
+        return callerRunsCount.get();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("BoundedQueueExecutorService{capacity=%d, overflowPolicy=%s, queueDepth=%d, "
+                             + "maximumQueueDepth=%d, submittedCount=%d, averageQueueLatencyNanos=%d, "
+                             + "droppedCount=%d, coalescedCount=%d, callerRunsCount=%d}", capacity, overflowPolicy,
+                             getQueueDepth(), getMaximumQueueDepth(), getSubmittedCount(),
+                             getAverageQueueLatencyNanos(), getDroppedCount(), getCoalescedCount(),
+                             getCallerRunsCount());
+    }
+
+
+    /**
+     * <p>A {@link QueuedRunnable} wraps a submitted {@link Runnable} while it waits in the queue.</p>
+     */
+    private class QueuedRunnable implements Runnable
+    {
+        /**
+         * <p>The key of the {@link Runnable} (when it's a {@link KeyedRunnable} and coalescing is enabled).</p>
+         */
+        private final Object key;
+
+        /**
+         * <p>The time (in nanoseconds) the {@link QueuedRunnable} was created.</p>
+         */
+        private final long queuedNanos;
+
+        /**
+         * <p>The {@link Runnable} to execute (may be replaced until it has started).</p>
+         */
+        private Runnable runnable;
+
+        /**
+         * <p>Whether the {@link Runnable} has started (or been discarded).</p>
+         */
+        private boolean isStarted;
+
+
+        /**
+         * <p>Standard Constructor.</p>
+         *
+         * @param runnable The {@link Runnable} to execute
+         */
+        QueuedRunnable(Runnable runnable)
+        {
+            this.runnable = runnable;
+            this.key = overflowPolicy == OverflowPolicy.COALESCE && runnable instanceof KeyedRunnable
+                       ? ((KeyedRunnable) runnable).getKey() : null;
+            this.queuedNanos = System.nanoTime();
+            this.isStarted = false;
+        }
+
+
+        /**
+         * <p>Replaces the {@link Runnable} to execute, unless it has already started.</p>
+         *
+         * @param runnable The replacement {@link Runnable}
+         *
+         * @return <code>true</code> if the {@link Runnable} was replaced
+         */
+        boolean replace(Runnable runnable)
+        {
+            Runnable replaced;
+
+            synchronized (this)
+            {
+                if (isStarted)
+                {
+                    return false;
+                }
+
+                replaced = this.runnable;
+                this.runnable = runnable;
+            }
+
+            cancel(replaced);
+
+            return true;
+        }
+
+
+        /**
+         * <p>Discards the {@link QueuedRunnable} (after it has been removed from the queue).</p>
+         */
+        void discard()
+        {
+            Runnable discarded;
+
+            synchronized (this)
+            {
+                isStarted = true;
+                discarded = runnable;
+            }
+
+            if (key != null)
+            {
+                waitingByKey.remove(key, this);
+            }
+
+            cancel(discarded);
+        }
+
+
+        /**
+         * <p>Cancels a {@link Runnable} that will never be executed, when it's a {@link Future} (so that threads
+         * waiting for its result are released).</p>
+         *
+         * @param runnable The {@link Runnable}
+         */
+        private void cancel(Runnable runnable)
+        {
+            if (runnable instanceof Future<?>)
+            {
+                ((Future<?>) runnable).cancel(false);
+            }
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run()
+        {
+            Runnable toRun;
+
+            synchronized (this)
+            {
+                isStarted = true;
+                toRun = runnable;
+            }
+
+            if (key != null)
+            {
+                waitingByKey.remove(key, this);
+            }
+
+            dequeuedCount.incrementAndGet();
+            totalQueuedNanos.addAndGet(System.nanoTime() - queuedNanos);
+
+            toRun.run();
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString()
+        {
+            return String.valueOf(runnable);
+        }
+    }
+
+
+    /**
+     * <p>A {@link KeyedFutureTask} is a {@link FutureTask} for a {@link KeyedRunnable}, which retains the key of the
+     * {@link KeyedRunnable} so that it may be coalesced.</p>
+     *
+     * @param <T> The type of the result
+     */
+    private static class KeyedFutureTask<T> extends FutureTask<T> implements KeyedRunnable
+    {
+        /**
+         * <p>The key of the {@link KeyedRunnable}.</p>
+         */
+        private final Object key;
+
+
+        /**
+         * <p>Standard Constructor.</p>
+         *
+         * @param runnable The {@link KeyedRunnable} to execute
+         * @param result   The result to return on successful completion
+         */
+        KeyedFutureTask(KeyedRunnable runnable,
+                        T result)
+        {
+            super(runnable, result);
+
+            this.key = runnable.getKey();
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object getKey()
+        {
+            return key;
+        }
+    }
+}
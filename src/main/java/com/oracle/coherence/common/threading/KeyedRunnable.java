@@ -0,0 +1,37 @@
+/*
+ * File: KeyedRunnable.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.threading;
+
+/**
+ * <p>A {@link KeyedRunnable} is a {@link Runnable} that is identified by a key.  A pending {@link KeyedRunnable}
+ * may be replaced by a later {@link KeyedRunnable} with an equal key, for example when a
+ * {@link BoundedQueueExecutorService} uses the {@link BoundedQueueExecutorService.OverflowPolicy#COALESCE} policy.</p>
+ */
+public interface KeyedRunnable extends Runnable
+{
+    /**
+     * <p>Returns the key identifying the {@link KeyedRunnable}.</p>
+     *
+     * @return The key (must implement equals and hashCode)
+     */
+    public Object getKey();
+}
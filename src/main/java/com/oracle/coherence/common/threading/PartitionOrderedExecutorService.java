@@ -0,0 +1,373 @@
+/*
+ * File: PartitionOrderedExecutorService.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.threading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService.OverflowPolicy;
+
+/**
+ * <p>A {@link PartitionOrderedExecutorService} is an {@link java.util.concurrent.ExecutorService} that executes the
+ * {@link PartitionedRunnable}s of a partition one at a time, in the order they were submitted, while executing the
+ * {@link PartitionedRunnable}s of other partitions concurrently.</p>
+ *
+ * <p>Partitions are assigned to a fixed number of lanes, each being a single threaded
+ * {@link BoundedQueueExecutorService}, so the {@link PartitionedRunnable}s of a partition always execute on the
+ * same thread.  Other {@link Runnable}s are assigned to the lanes in turn.  The capacity and
+ * {@link OverflowPolicy} apply to each lane.</p>
+ *
+ * <p>NOTE: The {@link OverflowPolicy#CALLER_RUNS} policy doesn't preserve the order of a partition (as the caller
+ * may execute a {@link Runnable} before those waiting in the lane).</p>
+ */
+public class PartitionOrderedExecutorService extends AbstractExecutorService
+{
+    /**
+     * <p>The {@link ThreadFactory} for the threads of the lanes.</p>
+     */
+    private final ThreadFactory threadFactory;
+
+    /**
+     * <p>The lanes (each with a single thread).</p>
+     */
+    private volatile BoundedQueueExecutorService[] lanes;
+
+    /**
+     * <p>The lane to which the next {@link Runnable} without a partition is assigned.</p>
+     */
+    private final AtomicInteger nextLane;
+
+    /**
+     * <p>Whether a {@link Runnable} has been submitted (after which the number of lanes can't change).</p>
+     */
+    private volatile boolean isStarted;
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     *
+     * @param laneCount      The number of lanes (and thus threads)
+     * @param capacity       The maximum number of {@link Runnable}s that may wait in each lane
+     * @param overflowPolicy The {@link OverflowPolicy} to apply when a lane is full
+     * @param threadFactory  The {@link ThreadFactory} to use
+     */
+    public PartitionOrderedExecutorService(int laneCount,
+                                           int capacity,
+                                           OverflowPolicy overflowPolicy,
+                                           ThreadFactory threadFactory)
+    {
+        this.threadFactory = threadFactory;
+        this.nextLane = new AtomicInteger();
+        this.isStarted = false;
+
+        this.lanes = newLanes(laneCount, capacity, overflowPolicy);
+    }
+
+
+    /**
+     * <p>Creates the specified number of lanes.</p>
+     *
+     * @param laneCount      The number of lanes
+     * @param capacity       The capacity of each lane
+     * @param overflowPolicy The {@link OverflowPolicy} of each lane
+     *
+     * @return The lanes
+     */
+    private BoundedQueueExecutorService[] newLanes(int laneCount,
+                                                   int capacity,
+                                                   OverflowPolicy overflowPolicy)
+    {
+        if (laneCount <= 0)
+        {
+            throw new IllegalArgumentException("The number of lanes of a PartitionOrderedExecutorService must be positive");
+        }
+
+        BoundedQueueExecutorService[] lanes = new BoundedQueueExecutorService[laneCount];
+
+        for (int i = 0; i < laneCount; i++)
+        {
+            lanes[i] = new BoundedQueueExecutorService(1, capacity, overflowPolicy, threadFactory);
+        }
+
+        return lanes;
+    }
+
+
+    /**
+     * <p>Returns the number of lanes (and thus threads).</p>
+     *
+     * @return The number of lanes
+     */
+    public int getLaneCount()
+    {
+        return lanes.length;
+    }
+
+
+    /**
+     * <p>Sets the number of lanes (and thus threads).  As the lane of a partition must not change, the number of
+     * lanes may only be set before the first {@link Runnable} is submitted.</p>
+     *
+     * @param laneCount The number of lanes (must be positive)
+     */
+    public synchronized void setLaneCount(int laneCount)
+    {
+        if (isStarted)
+        {
+            throw new IllegalStateException(
+                "The number of lanes of a PartitionOrderedExecutorService can't change once it has been used");
+        }
+
+        if (laneCount != lanes.length)
+        {
+            BoundedQueueExecutorService[] existingLanes = lanes;
+
+            lanes = newLanes(laneCount, existingLanes[0].getCapacity(), existingLanes[0].getOverflowPolicy());
+
+            for (BoundedQueueExecutorService lane : existingLanes)
+            {
+                lane.shutdown();
+            }
+        }
+    }
+
+
+    /**
+     * <p>Returns the maximum number of {@link Runnable}s that may wait in each lane.</p>
+     *
+     * @return The capacity of each lane
+     */
+    public int getCapacity()
+    {
+        return lanes[0].getCapacity();
+    }
+
+
+    /**
+     * <p>Sets the maximum number of {@link Runnable}s that may wait in each lane.</p>
+     *
+     * @param capacity The capacity of each lane (must be positive)
+     */
+    public void setCapacity(int capacity)
+    {
+        for (BoundedQueueExecutorService lane : lanes)
+        {
+            lane.setCapacity(capacity);
+        }
+    }
+
+
+    /**
+     * <p>Returns the {@link OverflowPolicy} applied when a lane is full.</p>
+     *
+     * @return The {@link OverflowPolicy}
+     */
+    public OverflowPolicy getOverflowPolicy()
+    {
+        return lanes[0].getOverflowPolicy();
+    }
+
+
+    /**
+     * <p>Sets the {@link OverflowPolicy} to apply when a lane is full.</p>
+     *
+     * @param overflowPolicy The {@link OverflowPolicy}
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy)
+    {
+        for (BoundedQueueExecutorService lane : lanes)
+        {
+            lane.setOverflowPolicy(overflowPolicy);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void execute(Runnable runnable)
+    {
+        if (!isStarted)
+        {
+            // synchronize with setLaneCount so the lanes don't change from now on
+            synchronized (this)
+            {
+                isStarted = true;
+            }
+        }
+
+        BoundedQueueExecutorService[] lanes = this.lanes;
+
+        int partitionId = runnable instanceof PartitionedRunnable ? ((PartitionedRunnable) runnable).getPartitionId()
+                                                                  : -1;
+
+        int lane = partitionId < 0 ? (nextLane.getAndIncrement() & Integer.MAX_VALUE) % lanes.length
+                                   : partitionId % lanes.length;
+
+        lanes[lane].execute(runnable);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable,
+                                              T value)
+    {
+        // retain the partition of submitted PartitionedRunnables
+        return runnable instanceof PartitionedRunnable
+               ? new PartitionedFutureTask<T>(runnable, value, ((PartitionedRunnable) runnable).getPartitionId())
+               : super.newTaskFor(runnable, value);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void shutdown()
+    {
+        for (BoundedQueueExecutorService lane : lanes)
+        {
+            lane.shutdown();
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<Runnable> shutdownNow()
+    {
+        List<Runnable> runnables = new ArrayList<Runnable>();
+
+        for (BoundedQueueExecutorService lane : lanes)
+        {
+            runnables.addAll(lane.shutdownNow());
+        }
+
+        return runnables;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isShutdown()
+    {
+        return lanes[0].isShutdown();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isTerminated()
+    {
+        for (BoundedQueueExecutorService lane : lanes)
+        {
+            if (!lane.isTerminated())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean awaitTermination(long timeout,
+                                    TimeUnit unit) throws InterruptedException
+    {
+        long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+
+        for (BoundedQueueExecutorService lane : lanes)
+        {
+            if (!lane.awaitTermination(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("PartitionOrderedExecutorService{laneCount=%d, capacity=%d, overflowPolicy=%s}",
+                             getLaneCount(), getCapacity(), getOverflowPolicy());
+    }
+
+
+    /**
+     * <p>A {@link PartitionedFutureTask} is a {@link FutureTask} for a submitted {@link PartitionedRunnable}.</p>
+     *
+     * @param <T> the type of the result
+     */
+    private static class PartitionedFutureTask<T> extends FutureTask<T> implements PartitionedRunnable
+    {
+        /**
+         * <p>The partition of the {@link PartitionedRunnable}.</p>
+         */
+        private final int partitionId;
+
+
+        /**
+         * <p>Standard Constructor.</p>
+         *
+         * @param runnable    The {@link Runnable} to execute
+         * @param value       The result of the {@link FutureTask}
+         * @param partitionId The partition of the {@link Runnable}
+         */
+        PartitionedFutureTask(Runnable runnable,
+                              T value,
+                              int partitionId)
+        {
+            super(runnable, value);
+
+            this.partitionId = partitionId;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        public int getPartitionId()
+        {
+            return partitionId;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * File: CompactTicketAggregator.java
+ * 
+ * Copyright (c) 2008-2010. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.ticketing;
+
+import com.tangosol.util.ValueExtractor;
+
+/**
+ * <p>A {@link CompactTicketAggregator} is a {@link TicketAggregator} that produces its partial
+ * and final results as {@link TicketBookList}s, which use a considerably more compact serialized
+ * form than the {@link java.util.TreeSet}s and {@link java.util.LinkedList}s produced by a
+ * {@link TicketAggregator}.</p>
+ * 
+ * <p>As the {@link CompactTicketAggregator} and {@link TicketBookList} are distinct user types,
+ * they should only be used once all members of a cluster are able to deserialize them.</p>
+ * 
+ * @see TicketBookList
+ */
+@SuppressWarnings("serial")
+public class CompactTicketAggregator extends TicketAggregator
+{
+
+    /**
+     * <p>Required for ExternalizableLite and/or PortableObject.</p>
+     */
+    public CompactTicketAggregator()
+    {
+        super();
+    }
+
+
+    /**
+     * <p>Standard Constructor (when providing the name of the method that returns 
+     * a {@link Ticket} for aggregation).</p>
+     * 
+     * @param methodName The name of the method to use to extract a {@link Ticket} for aggregation
+     */
+    public CompactTicketAggregator(String methodName)
+    {
+        super(methodName);
+    }
+
+
+    /**
+     * <p>Standard Constructor (when providing a {@link ValueExtractor} that returns 
+     * a {@link Ticket} for aggregation).</p>
+     * 
+     * @param extractor The {@link ValueExtractor} to extract a {@link Ticket} for aggregation
+     */
+    public CompactTicketAggregator(ValueExtractor extractor)
+    {
+        super(extractor);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isCompact()
+    {
+        return true;
+    }
+}
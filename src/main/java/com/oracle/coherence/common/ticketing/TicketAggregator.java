@@ -23,6 +23,7 @@ package com.oracle.coherence.common.ticketing;
 
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
@@ -43,12 +44,16 @@ import com.tangosol.util.aggregator.AbstractAggregator;
  * combines the {@link TicketBook}s and produces a {@link LinkedList} of {@link TicketBook}s,
  * representing all of the {@link Ticket}s that have been aggregated.</p>
  * 
+ * <p>To exchange the results in the compact {@link TicketBookList} form, use a
+ * {@link CompactTicketAggregator} instead.</p>
+ * 
  * <p>When using this aggregator constructor, you must specify either the name of the method 
  * that returns a {@link Ticket} OR a {@link ValueExtractor} that produces a {@link Ticket}
  * to be aggregated.</p>
  * 
  * @see Ticket
  * @see TicketBook
+ * @see CompactTicketAggregator
  * 
  * @author Brian Oliver
  */
@@ -104,6 +109,18 @@ public class TicketAggregator extends AbstractAggregator
     }
 
 
+    /**
+     * <p>Determines if the partial and final results are produced as {@link TicketBookList}s
+     * (using the compact serialized form) instead of {@link TreeSet}s and {@link LinkedList}s.</p>
+     * 
+     * @return <code>false</code> (see {@link CompactTicketAggregator})
+     */
+    protected boolean isCompact()
+    {
+        return false;
+    }
+
+
     /**
      * {@inheritDoc}
      */
@@ -127,7 +144,7 @@ public class TicketAggregator extends AbstractAggregator
     {
         if (isFinal)
         {
-            LinkedList<TicketBook> result = new LinkedList<TicketBook>();
+            List<TicketBook> result = isCompact() ? new TicketBookList() : new LinkedList<TicketBook>();
             TicketBook ticketBook = null;
             for (TicketBook aTicketBook : ticketBooks)
             {
@@ -154,7 +171,8 @@ public class TicketAggregator extends AbstractAggregator
                     }
                 }
             }
-            return result;
+
+            return isCompact() ? new TicketBookList(result) : result;
         }
     }
 
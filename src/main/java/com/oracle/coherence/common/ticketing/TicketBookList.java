@@ -0,0 +1,243 @@
+/*
+ * File: TicketBookList.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.ticketing;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+
+import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.util.ExternalizableHelper;
+
+/**
+ * <p>A {@link TicketBookList} is a {@link LinkedList} of {@link TicketBook}s with a compact
+ * serialized form, as produced by the {@link CompactTicketAggregator}.</p>
+ *
+ * <p>When serialized, each distinct issuer is written once (into a dictionary of issuers),
+ * after which each {@link TicketBook} is written as the (packed) index of its issuer, the
+ * start of its range as a delta from the end of the previous {@link TicketBook} of the same
+ * issuer (when adjacent in the list) and the size of its range.  For ordered lists of
+ * {@link TicketBook}s this typically requires a few bytes per {@link TicketBook}.</p>
+ *
+ * @see CompactTicketAggregator
+ */
+@SuppressWarnings("serial")
+public class TicketBookList extends LinkedList<TicketBook> implements ExternalizableLite, PortableObject
+{
+
+    /**
+     * <p>Required for {@link ExternalizableLite} and {@link PortableObject}.</p>
+     */
+    public TicketBookList()
+    {
+        super();
+    }
+
+
+    /**
+     * <p>Standard Constructor.</p>
+     *
+     * @param ticketBooks The {@link TicketBook}s to initially include (in iteration order)
+     */
+    public TicketBookList(Collection<TicketBook> ticketBooks)
+    {
+        super(ticketBooks);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void readExternal(DataInput in) throws IOException
+    {
+        int issuerCount = ExternalizableHelper.readInt(in);
+        long[] issuerIds = new long[issuerCount];
+        for (int i = 0; i < issuerCount; i++)
+        {
+            issuerIds[i] = ExternalizableHelper.readLong(in);
+        }
+
+        int size = ExternalizableHelper.readInt(in);
+        int[] issuerIndexes = new int[size];
+        long[] fromDeltas = new long[size];
+        long[] lengths = new long[size];
+        for (int i = 0; i < size; i++)
+        {
+            issuerIndexes[i] = ExternalizableHelper.readInt(in);
+            fromDeltas[i] = ExternalizableHelper.readLong(in);
+            lengths[i] = ExternalizableHelper.readLong(in);
+        }
+
+        decode(issuerIds, issuerIndexes, fromDeltas, lengths);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void writeExternal(DataOutput out) throws IOException
+    {
+        Encoding encoding = new Encoding();
+
+        ExternalizableHelper.writeInt(out, encoding.issuerIds.length);
+        for (long issuerId : encoding.issuerIds)
+        {
+            ExternalizableHelper.writeLong(out, issuerId);
+        }
+
+        ExternalizableHelper.writeInt(out, encoding.issuerIndexes.length);
+        for (int i = 0; i < encoding.issuerIndexes.length; i++)
+        {
+            ExternalizableHelper.writeInt(out, encoding.issuerIndexes[i]);
+            ExternalizableHelper.writeLong(out, encoding.fromDeltas[i]);
+            ExternalizableHelper.writeLong(out, encoding.lengths[i]);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void readExternal(PofReader reader) throws IOException
+    {
+        decode(reader.readLongArray(0), reader.readIntArray(1), reader.readLongArray(2), reader.readLongArray(3));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void writeExternal(PofWriter writer) throws IOException
+    {
+        Encoding encoding = new Encoding();
+
+        writer.writeLongArray(0, encoding.issuerIds);
+        writer.writeIntArray(1, encoding.issuerIndexes);
+        writer.writeLongArray(2, encoding.fromDeltas);
+        writer.writeLongArray(3, encoding.lengths);
+    }
+
+
+    /**
+     * <p>Replaces the content of the {@link TicketBookList} with the {@link TicketBook}s
+     * described by the specified encoding.</p>
+     *
+     * @param issuerIds     The dictionary of issuers
+     * @param issuerIndexes The index of the issuer (in the dictionary) of each {@link TicketBook}
+     * @param fromDeltas    The start of each {@link TicketBook} as a delta
+     * @param lengths       The size of the range of each {@link TicketBook} (less one)
+     */
+    private void decode(long[] issuerIds,
+                        int[] issuerIndexes,
+                        long[] fromDeltas,
+                        long[] lengths)
+    {
+        clear();
+
+        int previousIndex = -1;
+        long previousTo = 0;
+        for (int i = 0; issuerIndexes != null && i < issuerIndexes.length; i++)
+        {
+            long from = (issuerIndexes[i] == previousIndex ? previousTo : 0) + fromDeltas[i];
+            long to = from + lengths[i];
+
+            add(new TicketBook(issuerIds[issuerIndexes[i]], from, to));
+
+            previousIndex = issuerIndexes[i];
+            previousTo = to;
+        }
+    }
+
+
+    /**
+     * <p>The {@link Encoding} of the {@link TicketBook}s in the {@link TicketBookList}.</p>
+     */
+    private class Encoding
+    {
+        /**
+         * <p>The dictionary of issuers (in order of first occurrence).</p>
+         */
+        private long[] issuerIds;
+
+        /**
+         * <p>The index of the issuer (in the dictionary) of each {@link TicketBook}.</p>
+         */
+        private int[] issuerIndexes;
+
+        /**
+         * <p>The start of each {@link TicketBook}, as a delta from the end of the previous
+         * {@link TicketBook} when it has the same issuer, otherwise from zero.</p>
+         */
+        private long[] fromDeltas;
+
+        /**
+         * <p>The size of the range of each {@link TicketBook} (less one).</p>
+         */
+        private long[] lengths;
+
+
+        /**
+         * <p>Encodes the current content of the {@link TicketBookList}.</p>
+         */
+        private Encoding()
+        {
+            int size = size();
+            HashMap<Long, Integer> indexesByIssuerId = new HashMap<Long, Integer>();
+            long[] issuers = new long[size];
+
+            issuerIndexes = new int[size];
+            fromDeltas = new long[size];
+            lengths = new long[size];
+
+            int i = 0;
+            int previousIndex = -1;
+            long previousTo = 0;
+            for (TicketBook ticketBook : TicketBookList.this)
+            {
+                Integer index = indexesByIssuerId.get(ticketBook.getIssuerId());
+                if (index == null)
+                {
+                    index = indexesByIssuerId.size();
+                    indexesByIssuerId.put(ticketBook.getIssuerId(), index);
+                    issuers[index] = ticketBook.getIssuerId();
+                }
+
+                issuerIndexes[i] = index;
+                fromDeltas[i] = ticketBook.getFrom() - (index == previousIndex ? previousTo : 0);
+                lengths[i] = ticketBook.getTo() - ticketBook.getFrom();
+
+                previousIndex = index;
+                previousTo = ticketBook.getTo();
+                i++;
+            }
+
+            issuerIds = new long[indexesByIssuerId.size()];
+            System.arraycopy(issuers, 0, issuerIds, 0, issuerIds.length);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * File: DoubleArrayList.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A {@link DoubleArrayList} is a {@link List} of {@link Double}s that stores its elements in a double[] instead of
+ * as individually boxed {@link Double}s.
+ * <p>
+ * The primitive accessors ({@link #getDouble(int)}, {@link #addDouble(double)} and {@link #toDoubleArray()}) avoid boxing
+ * altogether.  Null elements are not supported.
+ */
+@SuppressWarnings("serial")
+public class DoubleArrayList extends AbstractList<Double> implements RandomAccess, Serializable
+{
+    /**
+     * The elements of the {@link List}.  Only the first {@link #size} elements are used.
+     */
+    private double[] elements;
+
+    /**
+     * The number of elements in the {@link List}.
+     */
+    private int size;
+
+
+    /**
+     * Standard Constructor.
+     */
+    public DoubleArrayList()
+    {
+        this(10);
+    }
+
+
+    /**
+     * Constructs an empty {@link DoubleArrayList} with the specified initial capacity.
+     *
+     * @param capacity The initial capacity
+     */
+    public DoubleArrayList(int capacity)
+    {
+        this.elements = new double[capacity];
+        this.size = 0;
+    }
+
+
+    /**
+     * Constructs a {@link DoubleArrayList} that uses the specified array as its elements (without copying it).
+     *
+     * @param elements The elements of the {@link List}
+     */
+    public DoubleArrayList(double[] elements)
+    {
+        this.elements = elements;
+        this.size = elements.length;
+    }
+
+
+    /**
+     * Determines the element at the specified position without boxing.
+     *
+     * @param index The position of the element
+     *
+     * @return The element
+     */
+    public double getDouble(int index)
+    {
+        checkIndex(index);
+
+        return elements[index];
+    }
+
+
+    /**
+     * Appends the specified element to the end of the {@link List} without boxing.
+     *
+     * @param value The element to add
+     */
+    public void addDouble(double value)
+    {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+
+    /**
+     * Returns a copy of the elements of the {@link List} as a double[].
+     *
+     * @return A double[]
+     */
+    public double[] toDoubleArray()
+    {
+        return Arrays.copyOf(elements, size);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double get(int index)
+    {
+        return getDouble(index);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double set(int index,
+                  Double value)
+    {
+        checkIndex(index);
+
+        double previous = elements[index];
+
+        elements[index] = value;
+
+        return previous;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int index,
+                    Double value)
+    {
+        if (index < 0 || index > size)
+        {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+        }
+
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double remove(int index)
+    {
+        checkIndex(index);
+
+        double previous = elements[index];
+
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+
+        return previous;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear()
+    {
+        size = 0;
+        modCount++;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+
+    /**
+     * Ensures that the elements array can hold at least the specified number of elements.
+     *
+     * @param capacity The required capacity
+     */
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > elements.length)
+        {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 3 / 2 + 1));
+        }
+    }
+
+
+    /**
+     * Ensures that the specified index refers to an element of the {@link List}.
+     *
+     * @param index The index
+     */
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+        }
+    }
+}
@@ -29,12 +29,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.oracle.coherence.common.builders.BuilderRegistry;
 import com.oracle.coherence.common.builders.NoArgsBuilder;
 import com.oracle.coherence.common.builders.ParameterizedBuilder;
+import com.oracle.coherence.common.events.dispatching.ConcurrentEventDispatcher;
 import com.oracle.coherence.common.events.dispatching.EventDispatcher;
 import com.oracle.coherence.common.events.dispatching.SimpleEventDispatcher;
 import com.oracle.coherence.common.events.lifecycle.LifecycleStartedEvent;
@@ -43,7 +45,10 @@ import com.oracle.coherence.common.events.lifecycle.NamedCacheStorageRealizedEve
 import com.oracle.coherence.common.events.lifecycle.NamedCacheStorageReleasedEvent;
 import com.oracle.coherence.common.logging.CoherenceLogHandler;
 import com.oracle.coherence.common.logging.LogHelper;
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService;
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService.OverflowPolicy;
 import com.oracle.coherence.common.threading.ExecutorServiceFactory;
+import com.oracle.coherence.common.threading.PartitionOrderedExecutorService;
 import com.oracle.coherence.common.threading.ThreadFactories;
 import com.oracle.coherence.configuration.caching.CacheMapping;
 import com.oracle.coherence.configuration.caching.CacheMappingRegistry;
@@ -328,12 +333,21 @@ public class ExtensibleEnvironment extends DefaultConfigurableCacheFactory imple
 
         // register a event dispatcher as a standard resource
         // (we'll use this to dispatch events in a variety of places)
-        registerResource(EventDispatcher.class, new SimpleEventDispatcher(this));
+        //(events are dispatched inline until configured with an <environment:event-dispatcher> element)
+        registerResource(EventDispatcher.class, new ConcurrentEventDispatcher(this));
 
         //TODO: replace the following with the initialization of the ExecutionServiceManager
         //(the following is just temporary until we have an ExecutionServiceManager)
-        registerResource(ExecutorService.class, ExecutorServiceFactory.newSingleThreadExecutor(ThreadFactories
-            .newThreadFactory(true, "Environment.Background.Executor", null)));
+        //the queue is effectively unbounded until configured with an <environment:executor> element
+        registerResource(ExecutorService.class, new BoundedQueueExecutorService(1, Integer.MAX_VALUE,
+            OverflowPolicy.BLOCK, ThreadFactories.newThreadFactory(true, "Environment.Background.Executor", null)));
+
+        //the scheduler is used to time the windows of coalesced events and the latency of batched events
+        registerResource(ScheduledExecutorService.class, ExecutorServiceFactory
+            .newSingleThreadScheduledExecutor(ThreadFactories.newThreadFactory(true, "Environment.Scheduler", null)));
+
+        //NOTE: a PartitionOrderedExecutorService (for processing backing map events asynchronously and concurrently
+        //across partitions) is only registered when configured with an <environment:partitioned-executor> element
     }
 
 
@@ -365,9 +379,31 @@ public class ExtensibleEnvironment extends DefaultConfigurableCacheFactory imple
         // let everyone know that the current environment has stopped
         eventDispatcher.dispatchEvent(new LifecycleStoppedEvent<Environment>(this));
 
+        // stop dispatching threads (after the events already dispatched have been processed)
+        if (eventDispatcher instanceof ConcurrentEventDispatcher)
+        {
+            ((ConcurrentEventDispatcher) eventDispatcher).shutdown();
+        }
+
+        // deliver the events still batched for batching event processors (before the executors are stopped)
+        if (eventDispatcher instanceof SimpleEventDispatcher)
+        {
+            ((SimpleEventDispatcher) eventDispatcher).flushBatches();
+        }
+
         //TODO: replace the following with the shutdown of the ExecutionServiceManager
         //(the following is just temporary until we have an ExecutionServiceManager)
+        //(scheduled windows and batches still expire after the scheduler is shut down, delivered on its thread)
+        getResource(ScheduledExecutorService.class).shutdown();
+
         getResource(ExecutorService.class).shutdown();
+
+        PartitionOrderedExecutorService partitionedExecutorService = getResource(PartitionOrderedExecutorService.class);
+        if (partitionedExecutorService != null)
+        {
+            partitionedExecutorService.shutdown();
+        }
+
         if (logger.isLoggable(Level.FINEST))
         {
             LogHelper.exiting(logger, this.getClass().getName(), "shutdown");
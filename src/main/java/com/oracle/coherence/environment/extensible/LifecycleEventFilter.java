@@ -21,18 +21,18 @@
  */
 package com.oracle.coherence.environment.extensible;
 
+import com.oracle.coherence.common.events.dispatching.EventClassFilter;
 import com.oracle.coherence.common.events.lifecycle.LifecycleEvent;
-import com.tangosol.util.Filter;
 
 /**
- * <p>A {@link LifecycleEventFilter} </p>
+ * <p>A {@link LifecycleEventFilter} is an {@link EventClassFilter} that accepts all {@link LifecycleEvent}s.</p>
  * 
  * <p>NOTE: {@link LifecycleEventFilter}s are not serializable as they 
  * are only ever used locally.</p>
  * 
  * @author Brian Oliver
  */
-public class LifecycleEventFilter implements Filter
+public class LifecycleEventFilter extends EventClassFilter
 {
     /**
      * <p>The static instance of a {@link LifecycleEventFilter}.</p>
@@ -41,10 +41,10 @@ public class LifecycleEventFilter implements Filter
 
 
     /**
-     * {@inheritDoc}
+     * <p>Standard Constructor.</p>
      */
-    public boolean evaluate(Object object)
+    public LifecycleEventFilter()
     {
-        return object != null && object instanceof LifecycleEvent<?>;
+        super(LifecycleEvent.class);
     }
 }
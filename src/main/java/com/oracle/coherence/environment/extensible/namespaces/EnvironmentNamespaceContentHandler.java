@@ -21,7 +21,16 @@
  */
 package com.oracle.coherence.environment.extensible.namespaces;
 
+import java.util.concurrent.ExecutorService;
+
 import com.oracle.coherence.common.builders.ParameterizedBuilder;
+import com.oracle.coherence.common.events.dispatching.ConcurrentEventDispatcher;
+import com.oracle.coherence.common.events.dispatching.ConcurrentEventDispatcher.ExecutionMode;
+import com.oracle.coherence.common.events.dispatching.EventDispatcher;
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService;
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService.OverflowPolicy;
+import com.oracle.coherence.common.threading.PartitionOrderedExecutorService;
+import com.oracle.coherence.common.threading.ThreadFactories;
 import com.oracle.coherence.configuration.parameters.SystemPropertyParameterProvider;
 import com.oracle.coherence.environment.Environment;
 import com.oracle.coherence.environment.extensible.ConfigurationContext;
@@ -29,6 +38,7 @@ import com.oracle.coherence.environment.extensible.ConfigurationException;
 import com.oracle.coherence.environment.extensible.ElementContentHandler;
 import com.oracle.coherence.environment.extensible.QualifiedName;
 import com.tangosol.run.xml.XmlElement;
+import com.tangosol.run.xml.XmlValue;
 
 /**
  * <p>The {@link EnvironmentNamespaceContentHandler} allows for the following configuration options.</p>
@@ -43,6 +53,21 @@ import com.tangosol.run.xml.XmlElement;
  * <li>
  *      <strong>environment:ref</strong> - provides a reference to an object of a specified interface with in an {@link Environment}.
  * </li>
+ * <li>
+ *      <strong>environment:executor</strong> - configures the (background) {@link ExecutorService} of the
+ *      {@link Environment} using the optional "threads", "capacity" and "policy" (block, drop-oldest, coalesce or
+ *      caller-runs) attributes.  eg: &lt;environment:executor capacity="10000" policy="drop-oldest"/&gt;
+ * </li>
+ * <li>
+ *      <strong>environment:partitioned-executor</strong> - configures the {@link PartitionOrderedExecutorService} of
+ *      the {@link Environment} (used to process backing map events asynchronously, in order per partition) using the
+ *      optional "threads", "capacity" and "policy" attributes.  eg: &lt;environment:partitioned-executor threads="8"/&gt;
+ * </li>
+ * <li>
+ *      <strong>environment:event-dispatcher</strong> - configures the {@link ExecutionMode} of the
+ *      {@link ConcurrentEventDispatcher} of the {@link Environment} using the "mode" (inline, ordered or parallel)
+ *      and optional "threads" attributes.  eg: &lt;environment:event-dispatcher mode="ordered" threads="4"/&gt;
+ * </li>
  * </ul>
  *
  * @author Christer Fahlgren
@@ -111,6 +136,158 @@ public class EnvironmentNamespaceContentHandler extends AbstractNamespaceContent
             }
         });
 
+        registerContentHandler("executor", new ElementContentHandler()
+        {
+
+            public Object onElement(ConfigurationContext context,
+                                    QualifiedName qualifiedName,
+                                    XmlElement xmlElement) throws ConfigurationException
+            {
+                ExecutorService executorService = context.getEnvironment().getResource(ExecutorService.class);
+
+                if (!(executorService instanceof BoundedQueueExecutorService))
+                {
+                    throw new ConfigurationException(String.format(
+                        "The <%s:executor> element can't configure the Environment ExecutorService [%s].",
+                        getPrefix(), executorService),
+                        "Please ensure the ExecutorService has not been replaced in the Environment");
+                }
+
+                BoundedQueueExecutorService boundedExecutorService = (BoundedQueueExecutorService) executorService;
+
+                XmlValue threads = xmlElement.getAttribute("threads");
+                if (threads != null)
+                {
+                    boundedExecutorService.setMaximumPoolSize(Math.max(threads.getInt(),
+                        boundedExecutorService.getCorePoolSize()));
+                    boundedExecutorService.setCorePoolSize(threads.getInt());
+                    boundedExecutorService.setMaximumPoolSize(threads.getInt());
+                }
+
+                XmlValue capacity = xmlElement.getAttribute("capacity");
+                if (capacity != null)
+                {
+                    boundedExecutorService.setCapacity(capacity.getInt());
+                }
+
+                XmlValue policy = xmlElement.getAttribute("policy");
+                if (policy != null)
+                {
+                    boundedExecutorService.setOverflowPolicy(getOverflowPolicy(policy, qualifiedName));
+                }
+
+                return boundedExecutorService;
+            }
+        });
+
+        registerContentHandler("partitioned-executor", new ElementContentHandler()
+        {
+
+            public Object onElement(ConfigurationContext context,
+                                    QualifiedName qualifiedName,
+                                    XmlElement xmlElement) throws ConfigurationException
+            {
+                Environment environment = context.getEnvironment();
+                PartitionOrderedExecutorService executorService = environment.getResource(
+                    PartitionOrderedExecutorService.class);
+
+                if (executorService == null)
+                {
+                    //the partitioned executor is only registered when configured (threads are only started when used)
+                    executorService = environment.registerResource(PartitionOrderedExecutorService.class,
+                        new PartitionOrderedExecutorService(Runtime.getRuntime().availableProcessors(),
+                            Integer.MAX_VALUE, OverflowPolicy.BLOCK, ThreadFactories.newThreadFactory(true,
+                                "Environment.Partitioned.Executor", null)));
+                }
+
+                XmlValue threads = xmlElement.getAttribute("threads");
+                if (threads != null)
+                {
+                    try
+                    {
+                        executorService.setLaneCount(threads.getInt());
+                    }
+                    catch (IllegalStateException illegalStateException)
+                    {
+                        throw new ConfigurationException(String.format(
+                            "The threads of the <%s> element can't be changed.", qualifiedName),
+                            "Please ensure the element is declared before any events are processed",
+                            illegalStateException);
+                    }
+                }
+
+                XmlValue capacity = xmlElement.getAttribute("capacity");
+                if (capacity != null)
+                {
+                    executorService.setCapacity(capacity.getInt());
+                }
+
+                XmlValue policy = xmlElement.getAttribute("policy");
+                if (policy != null)
+                {
+                    executorService.setOverflowPolicy(getOverflowPolicy(policy, qualifiedName));
+                }
+
+                return executorService;
+            }
+        });
+
+        registerContentHandler("event-dispatcher", new ElementContentHandler()
+        {
+
+            public Object onElement(ConfigurationContext context,
+                                    QualifiedName qualifiedName,
+                                    XmlElement xmlElement) throws ConfigurationException
+            {
+                EventDispatcher eventDispatcher = context.getEnvironment().getResource(EventDispatcher.class);
+
+                if (!(eventDispatcher instanceof ConcurrentEventDispatcher))
+                {
+                    throw new ConfigurationException(String.format(
+                        "The <%s> element can't configure the Environment EventDispatcher [%s].", qualifiedName,
+                        eventDispatcher), "Please ensure the EventDispatcher has not been replaced in the Environment");
+                }
+
+                ConcurrentEventDispatcher concurrentEventDispatcher = (ConcurrentEventDispatcher) eventDispatcher;
+
+                XmlValue mode = xmlElement.getAttribute("mode");
+                ExecutionMode executionMode;
+                try
+                {
+                    executionMode = mode == null ? ExecutionMode.INLINE
+                                                 : ExecutionMode.valueOf(mode.getString().trim().toUpperCase());
+                }
+                catch (IllegalArgumentException illegalArgumentException)
+                {
+                    throw new ConfigurationException(String.format(
+                        "The mode [%s] specified in the <%s> element is unknown.", mode.getString(), qualifiedName),
+                        "Please use one of inline, ordered or parallel", illegalArgumentException);
+                }
+
+                XmlValue threads = xmlElement.getAttribute("threads");
+                int threadCount = threads == null ? Runtime.getRuntime().availableProcessors() : threads.getInt();
+
+                try
+                {
+                    concurrentEventDispatcher.setExecutionMode(executionMode, threadCount);
+                }
+                catch (IllegalStateException illegalStateException)
+                {
+                    throw new ConfigurationException(String.format(
+                        "The mode of the <%s> element can't be changed.", qualifiedName),
+                        "Please ensure the element is declared only once", illegalStateException);
+                }
+                catch (IllegalArgumentException illegalArgumentException)
+                {
+                    throw new ConfigurationException(String.format(
+                        "The threads of the <%s> element must be positive.", qualifiedName),
+                        "Please specify at least one thread", illegalArgumentException);
+                }
+
+                return concurrentEventDispatcher;
+            }
+        });
+
         registerContentHandler("ref", new ElementContentHandler()
         {
 
@@ -135,4 +312,30 @@ public class EnvironmentNamespaceContentHandler extends AbstractNamespaceContent
             }
         });
     }
+
+
+    /**
+     * <p>Determines the {@link OverflowPolicy} specified by the "policy" attribute of an executor element.</p>
+     *
+     * @param policy        The value of the "policy" attribute
+     * @param qualifiedName The {@link QualifiedName} of the element
+     *
+     * @return The {@link OverflowPolicy}
+     *
+     * @throws ConfigurationException When the policy is unknown
+     */
+    private OverflowPolicy getOverflowPolicy(XmlValue policy,
+                                             QualifiedName qualifiedName) throws ConfigurationException
+    {
+        try
+        {
+            return OverflowPolicy.valueOf(policy.getString().trim().toUpperCase().replace('-', '_'));
+        }
+        catch (IllegalArgumentException illegalArgumentException)
+        {
+            throw new ConfigurationException(String.format("The policy [%s] specified in the <%s> element is unknown.",
+                policy.getString(), qualifiedName), "Please use one of block, drop-oldest, coalesce or caller-runs",
+                illegalArgumentException);
+        }
+    }
 }
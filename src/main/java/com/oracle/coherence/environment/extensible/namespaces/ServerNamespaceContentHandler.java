@@ -22,6 +22,7 @@
 package com.oracle.coherence.environment.extensible.namespaces;
 
 import com.oracle.coherence.common.builders.ParameterizedBuilder;
+import com.oracle.coherence.common.events.processing.CoalescingPolicy;
 import com.oracle.coherence.common.events.processing.EventProcessor;
 import com.oracle.coherence.configuration.caching.CacheMapping;
 import com.oracle.coherence.configuration.caching.CacheMappingRegistry;
@@ -30,11 +31,20 @@ import com.oracle.coherence.environment.extensible.ConfigurationException;
 import com.oracle.coherence.environment.extensible.ElementContentHandler;
 import com.oracle.coherence.environment.extensible.QualifiedName;
 import com.tangosol.run.xml.XmlElement;
+import com.tangosol.run.xml.XmlValue;
 
 /**
  * <p>A {@link ServerNamespaceContentHandler} handles XML Configuration processing for the
  * backing map {@link EventProcessor}s for {@link com.tangosol.net.NamedCache}s.</p>
  *
+ * <p>A backingmap-event-coalescing element declares the {@link CoalescingPolicy} for a cache, using the optional
+ * "window" (milliseconds, default 100) and "maximum-count" (default 100) attributes.
+ * eg: &lt;bm:backingmap-event-coalescing window="50" maximum-count="1000"/&gt;</p>
+ *
+ * <p>A backingmap-reusable-events element declares that reusable (thread-confined) backing map events should be
+ * dispatched for a cache, instead of allocating events for each change.
+ * eg: &lt;bm:backingmap-reusable-events/&gt;</p>
+ *
  * @author Christer Fahlgren
  */
 public class ServerNamespaceContentHandler extends AbstractNamespaceContentHandler
@@ -61,6 +71,56 @@ public class ServerNamespaceContentHandler extends AbstractNamespaceContentHandl
                 return builder;
             }
         });
+
+        registerContentHandler("backingmap-event-coalescing", new ElementContentHandler()
+        {
+
+            public Object onElement(ConfigurationContext context,
+                                    QualifiedName qualifiedName,
+                                    XmlElement xmlElement) throws ConfigurationException
+            {
+                //decorate the CacheMapping for the cache with the CoalescingPolicy
+                String cacheName = getSourceCacheName(xmlElement);
+                CacheMapping cacheMapping = context.getEnvironment().getResource(CacheMappingRegistry.class)
+                    .findCacheMapping(cacheName);
+
+                XmlValue window = xmlElement.getAttribute("window");
+                XmlValue maximumCount = xmlElement.getAttribute("maximum-count");
+
+                CoalescingPolicy policy;
+                try
+                {
+                    policy = new CoalescingPolicy(window == null ? 100 : window.getLong(),
+                        maximumCount == null ? 100 : maximumCount.getInt());
+                }
+                catch (IllegalArgumentException illegalArgumentException)
+                {
+                    throw new ConfigurationException(String.format(
+                        "The window and maximum-count of the %s declaration must be positive", xmlElement),
+                        "Please specify positive values for the window and maximum-count attributes",
+                        illegalArgumentException);
+                }
+
+                cacheMapping.addEnrichment(CoalescingPolicy.class, "event-coalescing", policy);
+                return policy;
+            }
+        });
+
+        registerContentHandler("backingmap-reusable-events", new ElementContentHandler()
+        {
+
+            public Object onElement(ConfigurationContext context,
+                                    QualifiedName qualifiedName,
+                                    XmlElement xmlElement) throws ConfigurationException
+            {
+                //decorate the CacheMapping for the cache to reuse events
+                String cacheName = getSourceCacheName(xmlElement);
+                CacheMapping cacheMapping = context.getEnvironment().getResource(CacheMappingRegistry.class)
+                    .findCacheMapping(cacheName);
+                cacheMapping.addEnrichment(Boolean.class, "reuse-events", Boolean.TRUE);
+                return Boolean.TRUE;
+            }
+        });
     }
 
 
@@ -0,0 +1,364 @@
+/*
+ * File: ConcurrentEventDispatcherTest.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.oracle.coherence.common.events.EntryEvent;
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.dispatching.ConcurrentEventDispatcher.ExecutionMode;
+import com.oracle.coherence.common.events.lifecycle.LifecycleStartedEvent;
+import com.oracle.coherence.common.events.lifecycle.LifecycleStoppedEvent;
+import com.oracle.coherence.common.events.processing.EventProcessor;
+import com.oracle.coherence.environment.Environment;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.filter.AlwaysFilter;
+
+/**
+ * The {@link ConcurrentEventDispatcherTest} exercises the {@link ExecutionMode}s of a
+ * {@link ConcurrentEventDispatcher}.
+ */
+public class ConcurrentEventDispatcherTest
+{
+
+    /**
+     * Ensure that all of the interested {@link EventProcessor}s have processed an {@link Event} when a parallel
+     * dispatch returns.
+     */
+    @Test
+    public void testParallelDispatch()
+    {
+        ConcurrentEventDispatcher dispatcher = new ConcurrentEventDispatcher(mock(Environment.class),
+                                                                             ExecutionMode.PARALLEL,
+                                                                             2);
+        AtomicInteger count = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++)
+        {
+            dispatcher.registerEventProcessor(AlwaysFilter.INSTANCE, new CountingEventProcessor(count, null));
+        }
+
+        dispatcher.dispatchEvent(new LifecycleStartedEvent<String>("test"));
+
+        Assert.assertEquals(4, count.get());
+
+        dispatcher.shutdown();
+    }
+
+
+    /**
+     * Ensure that an {@link EventProcessor} executed by a worker thread may itself dispatch {@link Event}s in
+     * parallel, even when there are no idle worker threads.
+     */
+    @Test(timeout = 10000)
+    public void testNestedParallelDispatch()
+    {
+        final ConcurrentEventDispatcher dispatcher = new ConcurrentEventDispatcher(mock(Environment.class),
+                                                                                   ExecutionMode.PARALLEL,
+                                                                                   1);
+        final AtomicInteger count = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++)
+        {
+            dispatcher.registerEventProcessor(AlwaysFilter.INSTANCE, new EventProcessor<Event>()
+            {
+                public void process(EventDispatcher eventDispatcher,
+                                    Event event)
+                {
+                    count.incrementAndGet();
+
+                    if (event instanceof LifecycleStartedEvent)
+                    {
+                        dispatcher.dispatchEvent(new LifecycleStoppedEvent<String>("nested"));
+                    }
+                }
+            });
+        }
+
+        dispatcher.dispatchEvent(new LifecycleStartedEvent<String>("test"));
+
+        Assert.assertEquals(12, count.get());
+
+        dispatcher.shutdown();
+    }
+
+
+    /**
+     * Ensure that {@link Event}s are processed asynchronously when dispatched in order.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void testOrderedDispatch() throws InterruptedException
+    {
+        ConcurrentEventDispatcher dispatcher = new ConcurrentEventDispatcher(mock(Environment.class),
+                                                                             ExecutionMode.ORDERED,
+                                                                             2);
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        dispatcher.registerEventProcessor(AlwaysFilter.INSTANCE, new CountingEventProcessor(count, latch));
+
+        for (int i = 0; i < 3; i++)
+        {
+            dispatcher.dispatchEvent(new LifecycleStartedEvent<String>("test"));
+        }
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(3, count.get());
+
+        dispatcher.shutdown();
+    }
+
+
+    /**
+     * Ensure that {@link EntryEvent}s for the same key are processed in order (by a single stripe), while the
+     * {@link EntryEvent}s for different keys are striped across the threads.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void testOrderedDispatchPerKey() throws InterruptedException
+    {
+        int keyCount = 8;
+        int eventsPerKey = 100;
+
+        ConcurrentEventDispatcher dispatcher = new ConcurrentEventDispatcher(mock(Environment.class),
+                                                                             ExecutionMode.ORDERED,
+                                                                             4);
+        RecordingEventProcessor processor = new RecordingEventProcessor(keyCount * eventsPerKey);
+
+        dispatcher.registerEventProcessor(AlwaysFilter.INSTANCE, processor);
+
+        for (int sequence = 0; sequence < eventsPerKey; sequence++)
+        {
+            for (int key = 0; key < keyCount; key++)
+            {
+                dispatcher.dispatchEvent(new KeyedEvent(key, sequence));
+            }
+        }
+
+        Assert.assertTrue(processor.latch.await(10, TimeUnit.SECONDS));
+
+        Set<String> threadNames = new HashSet<String>();
+
+        for (int key = 0; key < keyCount; key++)
+        {
+            List<Integer> sequences = processor.sequencesByKey.get(key);
+
+            Assert.assertEquals(eventsPerKey, sequences.size());
+
+            for (int sequence = 0; sequence < eventsPerKey; sequence++)
+            {
+                Assert.assertEquals(Integer.valueOf(sequence), sequences.get(sequence));
+            }
+
+            // all of the events for a key are processed by a single stripe
+            Set<String> keyThreadNames = processor.threadNamesByKey.get(key);
+
+            Assert.assertEquals(1, keyThreadNames.size());
+            threadNames.addAll(keyThreadNames);
+        }
+
+        // the keys are striped across all of the threads
+        Assert.assertEquals(4, threadNames.size());
+
+        dispatcher.shutdown();
+    }
+
+
+    /**
+     * Ensure that an {@link Event} dispatched to a specific {@link EventProcessor} in order is processed by its
+     * stripe, after the previously dispatched {@link Event}s for the same key and before the registered
+     * {@link EventProcessor}s.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void testOrderedDispatchWithEventProcessor() throws InterruptedException
+    {
+        ConcurrentEventDispatcher dispatcher = new ConcurrentEventDispatcher(mock(Environment.class),
+                                                                             ExecutionMode.ORDERED,
+                                                                             2);
+        final List<String> processed = new ArrayList<String>();
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        dispatcher.registerEventProcessor(AlwaysFilter.INSTANCE, new EventProcessor<KeyedEvent>()
+        {
+            public void process(EventDispatcher eventDispatcher,
+                                KeyedEvent event)
+            {
+                synchronized (processed)
+                {
+                    processed.add("registered-" + event.sequence);
+                }
+
+                latch.countDown();
+            }
+        });
+
+        final Thread dispatchingThread = Thread.currentThread();
+
+        dispatcher.dispatchEvent(new KeyedEvent(1, 1));
+        dispatcher.dispatchEvent(new KeyedEvent(1, 2), new EventProcessor<KeyedEvent>()
+        {
+            public void process(EventDispatcher eventDispatcher,
+                                KeyedEvent event)
+            {
+                synchronized (processed)
+                {
+                    processed.add((Thread.currentThread() == dispatchingThread ? "inline-" : "explicit-")
+                                  + event.sequence);
+                }
+            }
+        });
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        synchronized (processed)
+        {
+            Assert.assertEquals("[registered-1, explicit-2, registered-2]", processed.toString());
+        }
+
+        dispatcher.shutdown();
+    }
+
+
+    /**
+     * An {@link EntryEvent} for a key, identified by a sequence number.
+     */
+    @SuppressWarnings("rawtypes")
+    private static class KeyedEvent implements EntryEvent<Map.Entry>
+    {
+        private int key;
+
+        private int sequence;
+
+
+        public KeyedEvent(int key,
+                          int sequence)
+        {
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+
+        public String getCacheName()
+        {
+            return "test";
+        }
+
+
+        public Map.Entry getEntry()
+        {
+            return new SimpleMapEntry(key, sequence);
+        }
+    }
+
+
+    /**
+     * An {@link EventProcessor} that records the sequence numbers and threads of the {@link KeyedEvent}s it
+     * processes (by key).
+     */
+    private static class RecordingEventProcessor implements EventProcessor<Event>
+    {
+        private ConcurrentHashMap<Integer, List<Integer>> sequencesByKey;
+
+        private ConcurrentHashMap<Integer, Set<String>> threadNamesByKey;
+
+        private CountDownLatch latch;
+
+
+        public RecordingEventProcessor(int eventCount)
+        {
+            this.sequencesByKey = new ConcurrentHashMap<Integer, List<Integer>>();
+            this.threadNamesByKey = new ConcurrentHashMap<Integer, Set<String>>();
+            this.latch = new CountDownLatch(eventCount);
+        }
+
+
+        public void process(EventDispatcher eventDispatcher,
+                            Event event)
+        {
+            KeyedEvent keyedEvent = (KeyedEvent) event;
+
+            sequencesByKey.putIfAbsent(keyedEvent.key, new ArrayList<Integer>());
+            threadNamesByKey.putIfAbsent(keyedEvent.key, new HashSet<String>());
+
+            List<Integer> sequences = sequencesByKey.get(keyedEvent.key);
+            Set<String> threadNames = threadNamesByKey.get(keyedEvent.key);
+
+            synchronized (sequences)
+            {
+                sequences.add(keyedEvent.sequence);
+                threadNames.add(Thread.currentThread().getName());
+            }
+
+            latch.countDown();
+        }
+    }
+
+
+    /**
+     * An {@link EventProcessor} that counts the {@link Event}s it processes.
+     */
+    private static class CountingEventProcessor implements EventProcessor<Event>
+    {
+        private AtomicInteger count;
+
+        private CountDownLatch latch;
+
+
+        public CountingEventProcessor(AtomicInteger count,
+                                      CountDownLatch latch)
+        {
+            this.count = count;
+            this.latch = latch;
+        }
+
+
+        public void process(EventDispatcher eventDispatcher,
+                            Event event)
+        {
+            count.incrementAndGet();
+
+            if (latch != null)
+            {
+                latch.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * File: SimpleEventDispatcherTest.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryRemovedEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryUpdatedEvent;
+import com.oracle.coherence.common.events.lifecycle.LifecycleStartedEvent;
+import com.oracle.coherence.common.events.lifecycle.NamedCacheStorageRealizedEvent;
+import com.oracle.coherence.common.events.lifecycle.filters.NamedCacheLifecycleEventFilter;
+import com.oracle.coherence.common.events.partition.PartitionEvent;
+import com.oracle.coherence.common.events.processing.BatchingEventProcessor;
+import com.oracle.coherence.common.events.processing.EventProcessor;
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService;
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService.OverflowPolicy;
+import com.oracle.coherence.common.threading.ThreadFactories;
+import com.oracle.coherence.environment.Environment;
+import com.oracle.coherence.environment.extensible.LifecycleEventFilter;
+import com.tangosol.util.filter.AlwaysFilter;
+
+/**
+ * The {@link SimpleEventDispatcherTest} exercises the routing of {@link Event}s to {@link EventProcessor}s
+ * by a {@link SimpleEventDispatcher}.
+ */
+public class SimpleEventDispatcherTest
+{
+
+    /**
+     * Ensure that indexed and unindexed {@link com.tangosol.util.Filter}s route {@link Event}s as if each
+     * {@link com.tangosol.util.Filter} was evaluated.
+     */
+    @Test
+    public void testFilterRouting()
+    {
+        SimpleEventDispatcher dispatcher = new SimpleEventDispatcher(mock(Environment.class));
+        List<String> processed = new ArrayList<String>();
+
+        dispatcher.registerEventProcessor(new NamedCacheLifecycleEventFilter("dist-test"),
+                                          new RecordingEventProcessor("exact", processed));
+        dispatcher.registerEventProcessor(new NamedCacheLifecycleEventFilter("dist-*"),
+                                          new RecordingEventProcessor("wildcard", processed));
+        dispatcher.registerEventProcessor(new NamedCacheLifecycleEventFilter("other"),
+                                          new RecordingEventProcessor("other", processed));
+        dispatcher.registerEventProcessor(LifecycleEventFilter.INSTANCE,
+                                          new RecordingEventProcessor("lifecycle", processed));
+        dispatcher.registerEventProcessor(new EventClassFilter(PartitionEvent.class),
+                                          new RecordingEventProcessor("partition", processed));
+        dispatcher.registerEventProcessor(AlwaysFilter.INSTANCE, new RecordingEventProcessor("always", processed));
+
+        dispatcher.dispatchEvent(new NamedCacheStorageRealizedEvent("dist-test"));
+
+        Assert.assertEquals(4, processed.size());
+        Assert.assertTrue(processed.contains("exact"));
+        Assert.assertTrue(processed.contains("wildcard"));
+        Assert.assertTrue(processed.contains("lifecycle"));
+        Assert.assertTrue(processed.contains("always"));
+
+        processed.clear();
+
+        dispatcher.dispatchEvent(new LifecycleStartedEvent<String>("test"));
+
+        Assert.assertEquals(2, processed.size());
+        Assert.assertTrue(processed.contains("lifecycle"));
+        Assert.assertTrue(processed.contains("always"));
+    }
+
+
+    /**
+     * Ensure that sub-classes of indexed {@link com.tangosol.util.Filter}s are evaluated rather than indexed.
+     */
+    @Test
+    public void testFilterSubClassRouting()
+    {
+        SimpleEventDispatcher dispatcher = new SimpleEventDispatcher(mock(Environment.class));
+        List<String> processed = new ArrayList<String>();
+
+        dispatcher.registerEventProcessor(new NamedCacheLifecycleEventFilter("dist-test")
+                                          {
+                                              @Override
+                                              public boolean evaluate(Object object)
+                                              {
+                                                  return false;
+                                              }
+                                          },
+                                          new RecordingEventProcessor("rejecting", processed));
+
+        dispatcher.dispatchEvent(new NamedCacheStorageRealizedEvent("dist-test"));
+
+        Assert.assertTrue(processed.isEmpty());
+    }
+
+
+    /**
+     * Ensure that a {@link SimpleEventDispatcher} only reports interest in the types of {@link Event}s its registered
+     * {@link com.tangosol.util.Filter}s could accept.
+     */
+    @Test
+    public void testHasEventProcessorsFor()
+    {
+        SimpleEventDispatcher dispatcher = new SimpleEventDispatcher(mock(Environment.class));
+
+        Assert.assertFalse(dispatcher.hasEventProcessorsFor(PartitionEvent.class));
+
+        dispatcher.registerEventProcessor(new NamedCacheLifecycleEventFilter("dist-test"),
+                                          new RecordingEventProcessor("exact", new ArrayList<String>()));
+
+        Assert.assertTrue(dispatcher.hasEventProcessorsFor(NamedCacheStorageRealizedEvent.class));
+        Assert.assertFalse(dispatcher.hasEventProcessorsFor(PartitionEvent.class));
+
+        dispatcher.registerEventProcessor(AlwaysFilter.INSTANCE,
+                                          new RecordingEventProcessor("always", new ArrayList<String>()));
+
+        Assert.assertTrue(dispatcher.hasEventProcessorsFor(PartitionEvent.class));
+    }
+
+
+    /**
+     * Ensure that a {@link SimpleEventDispatcher} only reports interest in the {@link Event}s of a cache when it has
+     * registrations that could accept them for the cache.
+     */
+    @Test
+    public void testHasEventProcessorsForCache()
+    {
+        SimpleEventDispatcher dispatcher = new SimpleEventDispatcher(mock(Environment.class));
+
+        dispatcher.registerEventProcessor(new EventClassFilter(BackingMapEntryUpdatedEvent.class, "dist-a"),
+                                          new RecordingEventProcessor("dist-a", new ArrayList<String>()));
+
+        Assert.assertTrue(dispatcher.hasEventProcessorsFor(BackingMapEntryUpdatedEvent.class, "dist-a"));
+        Assert.assertFalse(dispatcher.hasEventProcessorsFor(BackingMapEntryUpdatedEvent.class, "dist-b"));
+        Assert.assertTrue(dispatcher.hasEventProcessorsFor(BackingMapEntryUpdatedEvent.class, null));
+        Assert.assertFalse(dispatcher.hasEventProcessorsFor(BackingMapEntryRemovedEvent.class, "dist-a"));
+
+        dispatcher.registerEventProcessor(new EventClassFilter(BackingMapEntryUpdatedEvent.class),
+                                          new RecordingEventProcessor("any", new ArrayList<String>()));
+
+        Assert.assertTrue(dispatcher.hasEventProcessorsFor(BackingMapEntryUpdatedEvent.class, "dist-b"));
+    }
+
+
+    /**
+     * Ensure that {@link Event}s are delivered to a {@link BatchingEventProcessor} in batches of (at most) the
+     * maximum batch size.
+     */
+    @Test
+    public void testBatchDelivery()
+    {
+        SimpleEventDispatcher dispatcher = new SimpleEventDispatcher(mock(Environment.class));
+        RecordingBatchingEventProcessor eventProcessor = new RecordingBatchingEventProcessor(3);
+
+        dispatcher.registerEventProcessor(LifecycleEventFilter.INSTANCE, eventProcessor);
+
+        for (int i = 0; i < 7; i++)
+        {
+            dispatcher.dispatchEvent(new LifecycleStartedEvent<Integer>(i));
+        }
+
+        Assert.assertEquals(2, eventProcessor.batchSizes.size());
+        Assert.assertEquals(3, eventProcessor.batchSizes.get(0).intValue());
+        Assert.assertEquals(3, eventProcessor.batchSizes.get(1).intValue());
+
+        dispatcher.flushBatches();
+
+        Assert.assertEquals(3, eventProcessor.batchSizes.size());
+        Assert.assertEquals(1, eventProcessor.batchSizes.get(2).intValue());
+    }
+
+
+    /**
+     * Ensure that a batch whose processing fails is dropped, and that later batches are still delivered.
+     */
+    @Test
+    public void testFailedBatchIsDropped()
+    {
+        SimpleEventDispatcher dispatcher = new SimpleEventDispatcher(mock(Environment.class));
+        RecordingBatchingEventProcessor eventProcessor = new FailingBatchingEventProcessor(2);
+
+        dispatcher.registerEventProcessor(LifecycleEventFilter.INSTANCE, eventProcessor);
+
+        for (int i = 0; i < 4; i++)
+        {
+            dispatcher.dispatchEvent(new LifecycleStartedEvent<Integer>(i));
+        }
+
+        dispatcher.flushBatches();
+
+        Assert.assertEquals(1, eventProcessor.batchSizes.size());
+        Assert.assertEquals(2, eventProcessor.batchSizes.get(0).intValue());
+    }
+
+
+    /**
+     * Ensure that a batch whose latency has expired is still delivered when the {@link ExecutorService} of the
+     * {@link Environment} discards its delivery.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testExpiredBatchRearmedWhenDiscarded() throws InterruptedException
+    {
+        BoundedQueueExecutorService executorService =
+            new BoundedQueueExecutorService(1, 1, OverflowPolicy.DROP_OLDEST,
+                                            ThreadFactories.newThreadFactory(true, "Executor", null));
+
+        Environment environment = mock(Environment.class);
+        when(environment.getResource(ExecutorService.class)).thenReturn(executorService);
+
+        SimpleEventDispatcher dispatcher = new SimpleEventDispatcher(environment);
+        LatentBatchingEventProcessor eventProcessor = new LatentBatchingEventProcessor(10, 50);
+
+        dispatcher.registerEventProcessor(LifecycleEventFilter.INSTANCE, eventProcessor);
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try
+        {
+            // occupy the only thread of the executor
+            executorService.execute(new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        release.await();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+
+            dispatcher.dispatchEvent(new LifecycleStartedEvent<Integer>(0));
+
+            // wait for the expired batch to be queued and then discard it
+            while (executorService.getQueueDepth() == 0)
+            {
+                Thread.sleep(10);
+            }
+
+            executorService.execute(new Runnable()
+            {
+                public void run()
+                {
+                }
+            });
+
+            Assert.assertEquals(1, executorService.getDroppedCount());
+
+            release.countDown();
+
+            Assert.assertTrue(eventProcessor.delivered.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(1, eventProcessor.batchSizes.get(0).intValue());
+        }
+        finally
+        {
+            release.countDown();
+            executorService.shutdown();
+        }
+    }
+
+
+    /**
+     * A {@link BatchingEventProcessor} that records the size of each batch it processes.
+     */
+    private static class RecordingBatchingEventProcessor implements BatchingEventProcessor<Event>
+    {
+        private int maximumBatchSize;
+
+        private List<Integer> batchSizes;
+
+
+        public RecordingBatchingEventProcessor(int maximumBatchSize)
+        {
+            this.maximumBatchSize = maximumBatchSize;
+            this.batchSizes = new ArrayList<Integer>();
+        }
+
+
+        public int getMaximumBatchSize()
+        {
+            return maximumBatchSize;
+        }
+
+
+        public long getMaximumBatchLatencyMS()
+        {
+            return 60000;
+        }
+
+
+        public void processBatch(EventDispatcher eventDispatcher,
+                                 List<Event> events)
+        {
+            batchSizes.add(events.size());
+        }
+
+
+        public void process(EventDispatcher eventDispatcher,
+                            Event event)
+        {
+            batchSizes.add(1);
+        }
+    }
+
+
+    /**
+     * A {@link RecordingBatchingEventProcessor} with a short maximum batch latency that signals when it has processed
+     * a batch.
+     */
+    private static class LatentBatchingEventProcessor extends RecordingBatchingEventProcessor
+    {
+        private long maximumBatchLatencyMS;
+
+        private CountDownLatch delivered;
+
+
+        public LatentBatchingEventProcessor(int maximumBatchSize,
+                                            long maximumBatchLatencyMS)
+        {
+            super(maximumBatchSize);
+
+            this.maximumBatchLatencyMS = maximumBatchLatencyMS;
+            this.delivered = new CountDownLatch(1);
+        }
+
+
+        @Override
+        public long getMaximumBatchLatencyMS()
+        {
+            return maximumBatchLatencyMS;
+        }
+
+
+        @Override
+        public void processBatch(EventDispatcher eventDispatcher,
+                                 List<Event> events)
+        {
+            super.processBatch(eventDispatcher, events);
+
+            delivered.countDown();
+        }
+    }
+
+
+    /**
+     * A {@link RecordingBatchingEventProcessor} that fails to process the first batch.
+     */
+    private static class FailingBatchingEventProcessor extends RecordingBatchingEventProcessor
+    {
+        private boolean hasFailed;
+
+
+        public FailingBatchingEventProcessor(int maximumBatchSize)
+        {
+            super(maximumBatchSize);
+        }
+
+
+        @Override
+        public void processBatch(EventDispatcher eventDispatcher,
+                                 List<Event> events)
+        {
+            if (!hasFailed)
+            {
+                hasFailed = true;
+
+                throw new IllegalStateException("Failed to process a batch");
+            }
+
+            super.processBatch(eventDispatcher, events);
+        }
+    }
+
+
+    /**
+     * An {@link EventProcessor} that records its name when it processes an {@link Event}.
+     */
+    private static class RecordingEventProcessor implements EventProcessor<Event>
+    {
+        private String name;
+
+        private List<String> processed;
+
+
+        public RecordingEventProcessor(String name,
+                                       List<String> processed)
+        {
+            this.name = name;
+            this.processed = processed;
+        }
+
+
+        public void process(EventDispatcher eventDispatcher,
+                            Event event)
+        {
+            processed.add(name);
+        }
+    }
+}
@@ -0,0 +1,550 @@
+/*
+ * File: DelegatingBackingMapListenerTest.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.events.dispatching.listeners;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.oracle.coherence.common.builders.ParameterizedBuilder;
+import com.oracle.coherence.common.events.EntryInsertedEvent;
+import com.oracle.coherence.common.events.EntryUpdatedEvent;
+import com.oracle.coherence.common.events.Event;
+import com.oracle.coherence.common.events.backingmap.AbstractBackingMapEntryEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryRemovedEvent;
+import com.oracle.coherence.common.events.backingmap.BackingMapEntryUpdatedEvent;
+import com.oracle.coherence.common.events.dispatching.EventDispatcher;
+import com.oracle.coherence.common.events.dispatching.SimpleEventDispatcher;
+import com.oracle.coherence.common.events.processing.CoalescingPolicy;
+import com.oracle.coherence.common.events.processing.EventProcessor;
+import com.oracle.coherence.common.events.processing.annotations.EventProcessorFor;
+import com.oracle.coherence.common.events.processing.annotations.LiveObject;
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService;
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService.OverflowPolicy;
+import com.oracle.coherence.common.threading.ExecutorServiceFactory;
+import com.oracle.coherence.common.threading.ThreadFactories;
+import com.oracle.coherence.configuration.caching.CacheMapping;
+import com.oracle.coherence.configuration.caching.CacheMappingRegistry;
+import com.oracle.coherence.environment.Environment;
+import com.tangosol.io.Serializer;
+import com.tangosol.io.WriteBuffer.BufferOutput;
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.net.BackingMapManagerContext;
+import com.tangosol.net.CacheService;
+import com.tangosol.util.BinaryWriteBuffer;
+import com.tangosol.util.Binary;
+import com.tangosol.util.Converter;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.MapEvent;
+
+/**
+ * The {@link DelegatingBackingMapListenerTest} tests the resolution of event processing methods and the coalescing
+ * of {@link BackingMapEntryUpdatedEvent}s by the {@link DelegatingBackingMapListener}.
+ */
+public class DelegatingBackingMapListenerTest
+{
+
+    /**
+     * Ensure that {@link Event}s are processed by the appropriately annotated methods of a {@link LiveObject} value.
+     */
+    @Test
+    public void testLiveObjectMethodResolution()
+    {
+        Environment environment = mock(Environment.class);
+        when(environment.getResource(EventDispatcher.class)).thenReturn(new SimpleEventDispatcher(environment));
+
+        RecordingLiveObject liveObject = new RecordingLiveObject();
+        Converter converter = mock(Converter.class);
+        when(converter.convert(any())).thenReturn(liveObject);
+
+        DelegatingBackingMapListener listener = newListener(environment, null, converter, null);
+
+        listener.entryUpdated(newMapEvent("key", "v0", "v1"));
+        listener.entryInserted(newMapEvent("key", null, "v2"));
+        listener.entryUpdated(newMapEvent("key", "v2", "v3"));
+
+        Assert.assertEquals(3, liveObject.processed.size());
+        Assert.assertEquals("updated", liveObject.processed.get(0));
+        Assert.assertEquals("inserted", liveObject.processed.get(1));
+        Assert.assertEquals("updated", liveObject.processed.get(2));
+    }
+
+
+    /**
+     * Ensure that the processor for a POF value is determined from its binary form, so that the value is only
+     * deserialized when an annotated method is invoked.
+     *
+     * @throws IOException should the binary value fail to be written
+     */
+    @Test
+    public void testValueClassFromPofHeader() throws IOException
+    {
+        Environment environment = mock(Environment.class);
+        when(environment.getResource(EventDispatcher.class)).thenReturn(new SimpleEventDispatcher(environment));
+
+        RecordingLiveObject liveObject = new RecordingLiveObject();
+        Converter converter = mock(Converter.class);
+        when(converter.convert(any())).thenReturn(liveObject);
+
+        ConfigurablePofContext pofContext = mock(ConfigurablePofContext.class);
+        when(pofContext.getClass(1001)).thenReturn(RecordingLiveObject.class);
+
+        DelegatingBackingMapListener listener = newListener(environment, null, converter, pofContext);
+
+        // RecordingLiveObjects don't process removed events, so the value shouldn't be deserialized
+        MapEvent mapEvent = newMapEvent("key", null, null);
+        when(mapEvent.getOldValue()).thenReturn(newPofBinary(1001));
+
+        listener.entryDeleted(mapEvent);
+
+        verify(converter, never()).convert(any());
+        Assert.assertTrue(liveObject.processed.isEmpty());
+
+        // RecordingLiveObjects process updated events, so the value is deserialized when the method is invoked
+        mapEvent = newMapEvent("key", null, null);
+        when(mapEvent.getOldValue()).thenReturn(newPofBinary(1001));
+        when(mapEvent.getNewValue()).thenReturn(newPofBinary(1001));
+
+        listener.entryUpdated(mapEvent);
+
+        verify(converter).convert(any());
+        Assert.assertEquals(1, liveObject.processed.size());
+
+        // the removed event should have been suppressed, as nothing could process it
+        Assert.assertEquals(1, listener.getSuppressedEventCount());
+        Assert.assertEquals(1, listener.getDispatchedEventCount());
+    }
+
+
+    /**
+     * Ensure that consecutive updates are coalesced into a single {@link BackingMapEntryUpdatedEvent} once the
+     * maximum count has been reached.
+     */
+    @Test
+    public void testCoalescingByCount()
+    {
+        EventDispatcher dispatcher = mock(EventDispatcher.class);
+        DelegatingBackingMapListener listener = newListener(dispatcher, new CoalescingPolicy(60000, 3));
+
+        listener.entryUpdated(newMapEvent("key", "v0", "v1"));
+        listener.entryUpdated(newMapEvent("key", "v1", "v2"));
+
+        verify(dispatcher, never()).dispatchEvent(any(Event.class));
+
+        listener.entryUpdated(newMapEvent("key", "v2", "v3"));
+
+        ArgumentCaptor<BackingMapEntryUpdatedEvent> captor = ArgumentCaptor.forClass(BackingMapEntryUpdatedEvent.class);
+        verify(dispatcher).dispatchEvent(captor.capture());
+
+        BackingMapEntryUpdatedEvent event = captor.getValue();
+        Assert.assertEquals(3, event.getUpdateCount());
+        Assert.assertEquals(new Binary("v0".getBytes()), event.getOriginalEntry().getBinaryValue());
+        Assert.assertEquals(new Binary("v3".getBytes()), event.getEntry().getBinaryValue());
+    }
+
+
+    /**
+     * Ensure that a pending coalesced update is dispatched before a subsequent event on the same entry.
+     */
+    @Test
+    public void testCoalescingPreservesOrder()
+    {
+        EventDispatcher dispatcher = mock(EventDispatcher.class);
+        DelegatingBackingMapListener listener = newListener(dispatcher, new CoalescingPolicy(60000, 100));
+
+        listener.entryUpdated(newMapEvent("key", "v0", "v1"));
+        listener.entryDeleted(newMapEvent("key", "v1", null));
+
+        InOrder inOrder = inOrder(dispatcher);
+        inOrder.verify(dispatcher).dispatchEvent(any(BackingMapEntryUpdatedEvent.class));
+        inOrder.verify(dispatcher).dispatchEvent(any(BackingMapEntryRemovedEvent.class));
+    }
+
+
+    /**
+     * Ensure that updates are coalesced for values that are {@link EventProcessor}s, even though each update has a
+     * new {@link EventProcessor} instance.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCoalescingEventProcessorValues()
+    {
+        EventDispatcher dispatcher = mock(EventDispatcher.class);
+
+        Environment environment = mock(Environment.class);
+        when(environment.getResource(EventDispatcher.class)).thenReturn(dispatcher);
+
+        Converter converter = mock(Converter.class);
+        when(converter.convert(any())).thenAnswer(new Answer<Object>()
+        {
+            public Object answer(InvocationOnMock invocation)
+            {
+                return new NullEventProcessor();
+            }
+        });
+
+        DelegatingBackingMapListener listener = newListener(environment, new CoalescingPolicy(60000, 3), converter,
+                                                            null);
+
+        listener.entryUpdated(newMapEvent("key", "v0", "v1"));
+        listener.entryUpdated(newMapEvent("key", "v1", "v2"));
+        listener.entryUpdated(newMapEvent("key", "v2", "v3"));
+
+        ArgumentCaptor<BackingMapEntryUpdatedEvent> captor = ArgumentCaptor.forClass(BackingMapEntryUpdatedEvent.class);
+        verify(dispatcher).dispatchEvent(captor.capture(), any(EventProcessor.class));
+
+        Assert.assertEquals(3, captor.getValue().getUpdateCount());
+    }
+
+
+    /**
+     * Ensure that an update is dispatched by the {@link ExecutorService} of the {@link Environment} once its window
+     * has expired.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testExpiredWindowDispatchedByExecutor() throws InterruptedException
+    {
+        final CountDownLatch dispatched = new CountDownLatch(1);
+        final AtomicReference<String> threadName = new AtomicReference<String>();
+
+        EventDispatcher dispatcher = mock(EventDispatcher.class);
+        doAnswer(new Answer<Object>()
+        {
+            public Object answer(InvocationOnMock invocation)
+            {
+                threadName.set(Thread.currentThread().getName());
+                dispatched.countDown();
+
+                return null;
+            }
+        }).when(dispatcher).dispatchEvent(any(Event.class));
+
+        ExecutorService executorService =
+            ExecutorServiceFactory.newSingleThreadExecutor(ThreadFactories.newThreadFactory(true, "Executor", null));
+
+        Environment environment = mock(Environment.class);
+        when(environment.getResource(EventDispatcher.class)).thenReturn(dispatcher);
+        when(environment.getResource(ExecutorService.class)).thenReturn(executorService);
+
+        try
+        {
+            DelegatingBackingMapListener listener = newListener(environment, new CoalescingPolicy(50, 100),
+                                                                mock(Converter.class), null);
+
+            listener.entryUpdated(newMapEvent("key", "v0", "v1"));
+
+            Assert.assertTrue(dispatched.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(threadName.get().startsWith("Executor"));
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
+
+    /**
+     * Ensure that an update is still dispatched when the {@link ExecutorService} of the {@link Environment} discards
+     * the dispatching of its expired window.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testExpiredWindowRearmedWhenDiscarded() throws InterruptedException
+    {
+        final CountDownLatch dispatched = new CountDownLatch(1);
+
+        EventDispatcher dispatcher = mock(EventDispatcher.class);
+        doAnswer(new Answer<Object>()
+        {
+            public Object answer(InvocationOnMock invocation)
+            {
+                dispatched.countDown();
+
+                return null;
+            }
+        }).when(dispatcher).dispatchEvent(any(Event.class));
+
+        BoundedQueueExecutorService executorService =
+            new BoundedQueueExecutorService(1, 1, OverflowPolicy.DROP_OLDEST,
+                                            ThreadFactories.newThreadFactory(true, "Executor", null));
+
+        Environment environment = mock(Environment.class);
+        when(environment.getResource(EventDispatcher.class)).thenReturn(dispatcher);
+        when(environment.getResource(ExecutorService.class)).thenReturn(executorService);
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try
+        {
+            // occupy the only thread of the executor
+            executorService.execute(new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        release.await();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+
+            DelegatingBackingMapListener listener = newListener(environment, new CoalescingPolicy(50, 100),
+                                                                mock(Converter.class), null);
+
+            listener.entryUpdated(newMapEvent("key", "v0", "v1"));
+
+            // wait for the expired window to be queued and then discard it
+            while (executorService.getQueueDepth() == 0)
+            {
+                Thread.sleep(10);
+            }
+
+            executorService.execute(new Runnable()
+            {
+                public void run()
+                {
+                }
+            });
+
+            Assert.assertEquals(1, executorService.getDroppedCount());
+
+            release.countDown();
+
+            Assert.assertTrue(dispatched.await(10, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            release.countDown();
+            executorService.shutdown();
+        }
+    }
+
+
+    /**
+     * Ensure that a listener reusing events dispatches the same (reusable) instance for consecutive updates on a
+     * thread and that a copy of the instance may be retained.
+     */
+    @Test
+    public void testReusableEvents()
+    {
+        final List<AbstractBackingMapEntryEvent> copies = new ArrayList<AbstractBackingMapEntryEvent>();
+
+        EventDispatcher dispatcher = mock(EventDispatcher.class);
+        doAnswer(new Answer<Object>()
+        {
+            public Object answer(InvocationOnMock invocation)
+            {
+                copies.add(((AbstractBackingMapEntryEvent) invocation.getArguments()[0]).copy());
+
+                return null;
+            }
+        }).when(dispatcher).dispatchEvent(any(Event.class));
+
+        DelegatingBackingMapListener listener = newListener(dispatcher, null);
+        listener.setReusingEvents(true);
+
+        listener.entryUpdated(newMapEvent("key", "v0", "v1"));
+        listener.entryUpdated(newMapEvent("key", "v1", "v2"));
+
+        ArgumentCaptor<BackingMapEntryUpdatedEvent> captor = ArgumentCaptor.forClass(BackingMapEntryUpdatedEvent.class);
+        verify(dispatcher, times(2)).dispatchEvent(captor.capture());
+
+        Assert.assertSame(captor.getAllValues().get(0), captor.getAllValues().get(1));
+        Assert.assertTrue(captor.getValue().isReusable());
+
+        // the reusable instance is cleared once dispatched
+        Assert.assertNull(captor.getValue().getEntry().getBinaryValue());
+
+        Assert.assertEquals(2, copies.size());
+        Assert.assertFalse(copies.get(0).isReusable());
+        Assert.assertEquals(new Binary("v1".getBytes()), copies.get(0).getEntry().getBinaryValue());
+        Assert.assertEquals(new Binary("v0".getBytes()),
+                            ((BackingMapEntryUpdatedEvent) copies.get(0)).getOriginalEntry().getBinaryValue());
+        Assert.assertEquals(new Binary("v2".getBytes()), copies.get(1).getEntry().getBinaryValue());
+    }
+
+
+    /**
+     * Creates a {@link DelegatingBackingMapListener} using the specified {@link CoalescingPolicy} for its cache.
+     *
+     * @param dispatcher The {@link EventDispatcher} to use
+     * @param policy     The {@link CoalescingPolicy} for the cache
+     *
+     * @return A {@link DelegatingBackingMapListener}
+     */
+    private DelegatingBackingMapListener newListener(EventDispatcher dispatcher,
+                                                     CoalescingPolicy policy)
+    {
+        Environment environment = mock(Environment.class);
+        when(environment.getResource(EventDispatcher.class)).thenReturn(dispatcher);
+
+        // values deserialize to null so that events are dispatched to the registered processors
+        return newListener(environment, policy, mock(Converter.class), null);
+    }
+
+
+    /**
+     * Creates a {@link DelegatingBackingMapListener} for the specified {@link Environment}.
+     *
+     * @param environment The (mock) {@link Environment} providing the {@link EventDispatcher}
+     * @param policy      The {@link CoalescingPolicy} for the cache (may be <code>null</code>)
+     * @param converter   The {@link Converter} to deserialize values
+     * @param serializer  The {@link Serializer} of the cache service (may be <code>null</code>)
+     *
+     * @return A {@link DelegatingBackingMapListener}
+     */
+    private DelegatingBackingMapListener newListener(Environment environment,
+                                                     CoalescingPolicy policy,
+                                                     Converter converter,
+                                                     Serializer serializer)
+    {
+        CacheMapping cacheMapping = mock(CacheMapping.class);
+        when(cacheMapping.getEnrichment(ParameterizedBuilder.class, "event-processor")).thenReturn(null);
+        when(cacheMapping.getEnrichment(CoalescingPolicy.class, "event-coalescing")).thenReturn(policy);
+
+        CacheMappingRegistry registry = mock(CacheMappingRegistry.class);
+        when(registry.findCacheMapping("test")).thenReturn(cacheMapping);
+
+        when(environment.getResource(CacheMappingRegistry.class)).thenReturn(registry);
+
+        BackingMapManagerContext context = mock(BackingMapManagerContext.class);
+        when(context.isKeyOwned(any())).thenReturn(true);
+        when(context.getValueFromInternalConverter()).thenReturn(converter);
+
+        CacheService cacheService = mock(CacheService.class);
+        when(cacheService.getSerializer()).thenReturn(serializer);
+        when(context.getCacheService()).thenReturn(cacheService);
+
+        return new DelegatingBackingMapListener(context, "test", environment);
+    }
+
+
+    /**
+     * Creates a {@link MapEvent} for binary keys and values.
+     *
+     * @param key      The key
+     * @param oldValue The old value (may be <code>null</code>)
+     * @param newValue The new value (may be <code>null</code>)
+     *
+     * @return A {@link MapEvent}
+     */
+    private MapEvent newMapEvent(String key,
+                                 String oldValue,
+                                 String newValue)
+    {
+        MapEvent mapEvent = mock(MapEvent.class);
+        when(mapEvent.getKey()).thenReturn(new Binary(key.getBytes()));
+        when(mapEvent.getOldValue()).thenReturn(oldValue == null ? null : new Binary(oldValue.getBytes()));
+        when(mapEvent.getNewValue()).thenReturn(newValue == null ? null : new Binary(newValue.getBytes()));
+
+        return mapEvent;
+    }
+
+
+    /**
+     * Creates the {@link Binary} header of a POF user type (as produced by a POF {@link Serializer}).
+     *
+     * @param typeId The POF user type identifier
+     *
+     * @return A {@link Binary}
+     *
+     * @throws IOException should the {@link Binary} fail to be written
+     */
+    private Binary newPofBinary(int typeId) throws IOException
+    {
+        BinaryWriteBuffer buffer = new BinaryWriteBuffer(16);
+        BufferOutput out = buffer.getBufferOutput();
+
+        out.writeByte(ExternalizableHelper.FMT_EXT);
+        out.writePackedInt(typeId);
+        out.writePackedInt(0);
+
+        return buffer.toBinary();
+    }
+
+
+    /**
+     * A {@link LiveObject} that records the {@link Event}s it processes.
+     */
+    @LiveObject
+    public static class RecordingLiveObject
+    {
+        private List<String> processed = new ArrayList<String>();
+
+
+        @EventProcessorFor(events = {EntryUpdatedEvent.class})
+        public void onUpdated(EventDispatcher eventDispatcher,
+                              EntryUpdatedEvent<?> event)
+        {
+            processed.add("updated");
+        }
+
+
+        @EventProcessorFor(events = {EntryInsertedEvent.class})
+        public void onInserted(EventDispatcher eventDispatcher,
+                               EntryInsertedEvent<?> event)
+        {
+            processed.add("inserted");
+        }
+    }
+
+
+    /**
+     * An {@link EventProcessor} that ignores the {@link Event}s it processes.
+     */
+    public static class NullEventProcessor implements EventProcessor<Event>
+    {
+        public void process(EventDispatcher eventDispatcher,
+                            Event event)
+        {
+        }
+    }
+}
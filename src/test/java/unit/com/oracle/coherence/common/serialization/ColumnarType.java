@@ -0,0 +1,97 @@
+package com.oracle.coherence.common.serialization;
+
+import com.oracle.coherence.common.serialization.annotations.PofField;
+import com.oracle.coherence.common.serialization.annotations.PofType;
+
+import junit.framework.Assert;
+
+@PofType(id = 1009)
+public class ColumnarType
+{
+
+    @PofField(columnar = true)
+    private Tick[] ticks;
+
+    @PofField(columnar = true)
+    private Tick[] none;
+
+
+    public ColumnarType()
+    {
+    }
+
+
+    public void init()
+    {
+        ticks = new Tick[] { new Tick(1000L, 1.5, "A"), null, new Tick(1001L, 2.5, null) };
+        none = null;
+    }
+
+
+    public void initWithSubclassElement()
+    {
+        ticks = new Tick[] { new Tick(1000L, 1.5, "A"), new VolumeTick(1001L, 2.5, "B", 100) };
+        none = null;
+    }
+
+
+    public void verify()
+    {
+        Assert.assertEquals(3, ticks.length);
+        Assert.assertEquals(1000L, ticks[0].time);
+        Assert.assertEquals(1.5, ticks[0].price);
+        Assert.assertEquals("A", ticks[0].symbol);
+        Assert.assertNull(ticks[1]);
+        Assert.assertEquals(1001L, ticks[2].time);
+        Assert.assertEquals(2.5, ticks[2].price);
+        Assert.assertNull(ticks[2].symbol);
+        Assert.assertNull(none);
+    }
+
+
+    @PofType(id = 1010)
+    public static class Tick
+    {
+        private long time;
+
+        private double price;
+
+        private String symbol;
+
+
+        public Tick()
+        {
+        }
+
+
+        public Tick(long time,
+                    double price,
+                    String symbol)
+        {
+            this.time = time;
+            this.price = price;
+            this.symbol = symbol;
+        }
+    }
+
+
+    public static class VolumeTick extends Tick
+    {
+        private int volume;
+
+
+        public VolumeTick()
+        {
+        }
+
+
+        public VolumeTick(long time,
+                          double price,
+                          String symbol,
+                          int volume)
+        {
+            super(time, price, symbol);
+            this.volume = volume;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * File: FieldSerializationProviderTest.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.oracle.coherence.common.serialization.fieldserializers.BooleanFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.ByteFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.CharacterFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.DoubleFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.FloatFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.IntegerFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.LongFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.ObjectFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.ShortFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.StringFieldSerializer;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofSerializer;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.SimplePofContext;
+import com.tangosol.util.ExternalizableHelper;
+
+/**
+ * The unit tests for the {@link DefaultFieldSerializationProvider} and the {@link FieldSerializer}s it produces.
+ */
+public class FieldSerializationProviderTest
+{
+
+    /**
+     * Ensure that the typed {@link FieldSerializer} is produced for each primitive, {@link String} and
+     * {@link Object} field.
+     *
+     * @throws NoSuchFieldException
+     */
+    @Test
+    public void testFieldSerializers() throws NoSuchFieldException
+    {
+        DefaultFieldSerializationProvider provider = new DefaultFieldSerializationProvider();
+
+        assertFieldSerializer(provider, "a", IntegerFieldSerializer.class);
+        assertFieldSerializer(provider, "b", FloatFieldSerializer.class);
+        assertFieldSerializer(provider, "c", DoubleFieldSerializer.class);
+        assertFieldSerializer(provider, "d", ByteFieldSerializer.class);
+        assertFieldSerializer(provider, "e", CharacterFieldSerializer.class);
+        assertFieldSerializer(provider, "f", BooleanFieldSerializer.class);
+        assertFieldSerializer(provider, "g", ShortFieldSerializer.class);
+        assertFieldSerializer(provider, "h", LongFieldSerializer.class);
+        assertFieldSerializer(provider, "s", StringFieldSerializer.class);
+        assertFieldSerializer(provider, "o", ObjectFieldSerializer.class);
+    }
+
+
+    /**
+     * Ensure that private fields of every primitive type (and {@link String}s and {@link Object}s) survive a
+     * round trip.
+     */
+    @Test
+    public void testRoundTrip()
+    {
+        PrimitiveFieldsType type = new PrimitiveFieldsType(Integer.MIN_VALUE, 2.5f, -3.25, Byte.MAX_VALUE, 'z', true,
+                                                           Short.MIN_VALUE, Long.MAX_VALUE, "text",
+                                                           Integer.valueOf(42));
+
+        Assert.assertEquals(type, roundTrip(new DefaultFieldSerializationProvider(), type));
+    }
+
+
+    /**
+     * Ensure that default (and <code>null</code>) values survive a round trip.
+     */
+    @Test
+    public void testRoundTripDefaults()
+    {
+        PrimitiveFieldsType type = new PrimitiveFieldsType();
+
+        Assert.assertEquals(type, roundTrip(new DefaultFieldSerializationProvider(), type));
+    }
+
+
+    /**
+     * Ensure that a {@link FieldSerializer} registered for a primitive type replaces the default one.
+     *
+     * @throws NoSuchFieldException
+     */
+    @Test
+    public void testRegisteredFieldSerializerTakesPrecedence() throws NoSuchFieldException
+    {
+        DefaultFieldSerializationProvider provider = new DefaultFieldSerializationProvider();
+        CountingLongFieldSerializer serializer = new CountingLongFieldSerializer();
+
+        provider.registerFieldSerializer(long.class, serializer);
+
+        Assert.assertSame(serializer,
+                          provider.getFieldSerializer(PrimitiveFieldsType.class.getDeclaredField("h"), null));
+
+        PrimitiveFieldsType type = new PrimitiveFieldsType(1, 2.0f, 3.0, (byte) 4, 'e', true, (short) 6, 7L, "s",
+                                                           null);
+
+        Assert.assertEquals(type, roundTrip(provider, type));
+        Assert.assertEquals(2, serializer.count);
+    }
+
+
+    /**
+     * Asserts the class of the {@link FieldSerializer} produced for a field of the {@link PrimitiveFieldsType}.
+     *
+     * @param provider  The {@link FieldSerializationProvider}
+     * @param fieldName The name of the field
+     * @param expected  The expected class of {@link FieldSerializer}
+     *
+     * @throws NoSuchFieldException
+     */
+    private void assertFieldSerializer(FieldSerializationProvider provider,
+                                       String fieldName,
+                                       Class<?> expected) throws NoSuchFieldException
+    {
+        Field field = PrimitiveFieldsType.class.getDeclaredField(fieldName);
+
+        Assert.assertEquals(expected, provider.getFieldSerializer(field, null).getClass());
+    }
+
+
+    /**
+     * Serializes and deserializes a {@link PrimitiveFieldsType} using a {@link ReflectedContext} with the specified
+     * {@link FieldSerializationProvider}.
+     *
+     * @param provider The {@link FieldSerializationProvider}
+     * @param type     The {@link PrimitiveFieldsType}
+     *
+     * @return The deserialized {@link PrimitiveFieldsType}
+     */
+    private PrimitiveFieldsType roundTrip(FieldSerializationProvider provider,
+                                 PrimitiveFieldsType type)
+    {
+        final ReflectedContext reflectedContext = new DefaultReflectedPofSerializer(provider);
+        final SimplePofContext pofContext = new SimplePofContext();
+
+        pofContext.registerUserType(1100, PrimitiveFieldsType.class, new PofSerializer()
+        {
+            public void serialize(PofWriter writer,
+                                  Object object) throws IOException
+            {
+                reflectedContext.ensurePofSerializer(PrimitiveFieldsType.class, pofContext).serialize(writer, object);
+            }
+
+
+            public Object deserialize(PofReader reader) throws IOException
+            {
+                return reflectedContext.ensurePofSerializer(PrimitiveFieldsType.class, pofContext).deserialize(reader);
+            }
+        });
+
+        return (PrimitiveFieldsType) ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(type, pofContext),
+                                                            pofContext);
+    }
+
+
+    /**
+     * A {@link FieldSerializer} for <code>long</code>s that counts the fields it reads and writes.
+     */
+    private static class CountingLongFieldSerializer implements FieldSerializer
+    {
+        private int count;
+
+
+        public void readField(Object object,
+                              Field field,
+                              PofReader reader,
+                              int index) throws IllegalArgumentException, IllegalAccessException, IOException
+        {
+            count++;
+            field.setLong(object, reader.readLong(index));
+        }
+
+
+        public void writeField(Object object,
+                               Field field,
+                               PofWriter writer,
+                               int index) throws IllegalArgumentException, IOException, IllegalAccessException
+        {
+            count++;
+            writer.writeLong(index, field.getLong(object));
+        }
+    }
+}
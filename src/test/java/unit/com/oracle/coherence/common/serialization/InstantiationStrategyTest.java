@@ -0,0 +1,250 @@
+/*
+ * File: InstantiationStrategyTest.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+import java.io.IOException;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.oracle.coherence.common.serialization.annotations.PofType;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofSerializer;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.SimplePofContext;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+/**
+ * The unit tests for the {@link InstantiationStrategy}s resolved by {@link DefaultReflectedSerializer}s.
+ */
+public class InstantiationStrategyTest
+{
+
+    /**
+     * Ensure that a public no-argument constructor is used (and thus field initializers are run).
+     */
+    @Test
+    public void testPublicConstructor()
+    {
+        PublicConstructorType type = new PublicConstructorType();
+        type.value = 42;
+        type.initialized = "changed";
+
+        PublicConstructorType copy = roundTrip(PublicConstructorType.class, 1101, type,
+                                               InstantiationStrategy.CONSTRUCTOR);
+
+        Assert.assertEquals(42, copy.value);
+        Assert.assertEquals("initialized", copy.initialized);
+    }
+
+
+    /**
+     * Ensure that a private no-argument constructor is used (made accessible).
+     */
+    @Test
+    public void testNonPublicConstructor()
+    {
+        PrivateConstructorType type = PrivateConstructorType.create(42);
+
+        PrivateConstructorType copy = roundTrip(PrivateConstructorType.class, 1102, type,
+                                                InstantiationStrategy.CONSTRUCTOR);
+
+        Assert.assertEquals(42, copy.value);
+        Assert.assertEquals("initialized", copy.initialized);
+        Assert.assertTrue(copy.constructed);
+    }
+
+
+    /**
+     * Ensure that a type without a no-argument constructor can be serialized, but that deserializing it fails
+     * with an error naming the type.
+     */
+    @Test
+    public void testNoDefaultConstructor()
+    {
+        SimplePofContext pofContext = createPofContext(NoDefaultConstructorType.class, 1103,
+                                                       InstantiationStrategy.UNAVAILABLE);
+        Binary binary = ExternalizableHelper.toBinary(new NoDefaultConstructorType(42), pofContext);
+
+        try
+        {
+            ExternalizableHelper.fromBinary(binary, pofContext);
+
+            Assert.fail("Deserialized a type without a no-argument constructor");
+        }
+        catch (RuntimeException e)
+        {
+            Throwable cause = e;
+
+            while (cause != null && !(cause instanceof InstantiationException))
+            {
+                cause = cause.getCause();
+            }
+
+            Assert.assertNotNull(cause);
+            Assert.assertTrue(cause.getMessage().contains(NoDefaultConstructorType.class.getName()));
+        }
+    }
+
+
+    /**
+     * Ensure that abstract types can't be instantiated.
+     */
+    @Test
+    public void testUnavailable()
+    {
+        DefaultReflectedPofSerializer reflectedContext = new DefaultReflectedPofSerializer(
+            new DefaultFieldSerializationProvider());
+
+        DefaultReflectedSerializer serializer = (DefaultReflectedSerializer) reflectedContext
+            .ensurePofSerializer(AbstractType.class, new SimplePofContext());
+
+        Assert.assertEquals(InstantiationStrategy.UNAVAILABLE, serializer.getInstantiationStrategy());
+    }
+
+
+    /**
+     * Serializes and deserializes an object using a {@link ReflectedContext}, asserting the
+     * {@link InstantiationStrategy} resolved for its type.
+     *
+     * @param type     The type of the object
+     * @param typeId   The user type id of the type
+     * @param object   The object
+     * @param expected The expected {@link InstantiationStrategy}
+     *
+     * @return The deserialized object
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T roundTrip(Class<T> type,
+                            int typeId,
+                            T object,
+                            InstantiationStrategy expected)
+    {
+        SimplePofContext pofContext = createPofContext(type, typeId, expected);
+
+        return (T) ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(object, pofContext), pofContext);
+    }
+
+
+    /**
+     * Creates a {@link SimplePofContext} that serializes the specified type using a {@link ReflectedContext},
+     * asserting the {@link InstantiationStrategy} resolved for the type.
+     *
+     * @param type     The type
+     * @param typeId   The user type id of the type
+     * @param expected The expected {@link InstantiationStrategy}
+     *
+     * @return The {@link SimplePofContext}
+     */
+    private SimplePofContext createPofContext(final Class<?> type,
+                                              int typeId,
+                                              InstantiationStrategy expected)
+    {
+        final ReflectedContext reflectedContext = new DefaultReflectedPofSerializer(
+            new DefaultFieldSerializationProvider());
+        final SimplePofContext pofContext = new SimplePofContext();
+
+        pofContext.registerUserType(typeId, type, new PofSerializer()
+        {
+            public void serialize(PofWriter writer,
+                                  Object object) throws IOException
+            {
+                reflectedContext.ensurePofSerializer(type, pofContext).serialize(writer, object);
+            }
+
+
+            public Object deserialize(PofReader reader) throws IOException
+            {
+                return reflectedContext.ensurePofSerializer(type, pofContext).deserialize(reader);
+            }
+        });
+
+        DefaultReflectedSerializer serializer = (DefaultReflectedSerializer) reflectedContext
+            .ensurePofSerializer(type, pofContext);
+
+        Assert.assertEquals(expected, serializer.getInstantiationStrategy());
+
+        return pofContext;
+    }
+
+
+    @PofType(id = 1101)
+    public static class PublicConstructorType
+    {
+        private int value;
+
+        private transient String initialized = "initialized";
+
+
+        public PublicConstructorType()
+        {
+        }
+    }
+
+
+    @PofType(id = 1102)
+    public static class PrivateConstructorType
+    {
+        private int value;
+
+        private transient String initialized = "initialized";
+
+        private transient boolean constructed;
+
+
+        private PrivateConstructorType()
+        {
+            constructed = true;
+        }
+
+
+        public static PrivateConstructorType create(int value)
+        {
+            PrivateConstructorType type = new PrivateConstructorType();
+            type.value = value;
+
+            return type;
+        }
+    }
+
+
+    @PofType(id = 1103)
+    public static class NoDefaultConstructorType
+    {
+        private int value;
+
+
+        public NoDefaultConstructorType(int value)
+        {
+            this.value = value;
+        }
+    }
+
+
+    @PofType(id = 1104)
+    public abstract static class AbstractType
+    {
+        private int value;
+    }
+}
@@ -0,0 +1,107 @@
+package com.oracle.coherence.common.serialization;
+
+import com.oracle.coherence.common.serialization.annotations.PofField;
+import com.oracle.coherence.common.serialization.annotations.PofType;
+import com.oracle.coherence.common.util.LongArrayList;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+@PofType(id = 1008)
+public class PrimitiveCollectionType
+{
+
+    @PofField(type = ArrayList.class, primitiveArray = true)
+    private List<Long> ids;
+
+    @PofField(type = LongArrayList.class, primitiveArray = true)
+    private List<Long> packedIds;
+
+    @PofField(primitiveArray = true)
+    private Set<Integer> codes;
+
+    @PofField(primitiveArray = true)
+    private List<Double> prices;
+
+    private List<Long> boxedIds;
+
+
+    public PrimitiveCollectionType()
+    {
+    }
+
+
+    public void init()
+    {
+        ids = new ArrayList<Long>();
+        ids.add(1L);
+        ids.add(Long.MAX_VALUE);
+        ids.add(-3L);
+
+        packedIds = new LongArrayList();
+        packedIds.add(4L);
+        packedIds.add(5L);
+
+        codes = new HashSet<Integer>();
+        codes.add(7);
+        codes.add(11);
+
+        prices = null;
+
+        boxedIds = new ArrayList<Long>();
+        boxedIds.add(8L);
+    }
+
+
+    public void initWithNullElements()
+    {
+        init();
+
+        ids.add(1, null);
+
+        prices = new ArrayList<Double>();
+        prices.add(null);
+        prices.add(2.5);
+    }
+
+
+    public void verify()
+    {
+        Assert.assertEquals(3, ids.size());
+        Assert.assertEquals(Long.valueOf(1L), ids.get(0));
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), ids.get(1));
+        Assert.assertEquals(Long.valueOf(-3L), ids.get(2));
+        Assert.assertTrue(ids instanceof ArrayList);
+
+        Assert.assertTrue(packedIds instanceof LongArrayList);
+        Assert.assertEquals(2, packedIds.size());
+        Assert.assertEquals(5L, ((LongArrayList) packedIds).getLong(1));
+
+        Assert.assertEquals(2, codes.size());
+        Assert.assertTrue(codes.contains(7));
+        Assert.assertTrue(codes.contains(11));
+
+        Assert.assertNull(prices);
+
+        Assert.assertEquals(1, boxedIds.size());
+        Assert.assertEquals(Long.valueOf(8L), boxedIds.get(0));
+    }
+
+
+    public void verifyWithNullElements()
+    {
+        Assert.assertEquals(4, ids.size());
+        Assert.assertEquals(Long.valueOf(1L), ids.get(0));
+        Assert.assertNull(ids.get(1));
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), ids.get(2));
+        Assert.assertEquals(Long.valueOf(-3L), ids.get(3));
+
+        Assert.assertEquals(2, prices.size());
+        Assert.assertNull(prices.get(0));
+        Assert.assertEquals(Double.valueOf(2.5), prices.get(1));
+    }
+}
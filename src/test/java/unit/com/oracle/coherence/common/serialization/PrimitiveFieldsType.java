@@ -0,0 +1,106 @@
+/*
+ * File: PrimitiveFieldsType.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+import java.util.Arrays;
+
+import com.oracle.coherence.common.serialization.annotations.PofType;
+
+/**
+ * A type with private fields of every primitive type, a {@link String} and an {@link Object}, used to test the
+ * selection of {@link FieldSerializer}s.  (Fields declared as <code>final</code> are not serialized.)
+ */
+@PofType(id = 1100)
+public class PrimitiveFieldsType
+{
+    private int a;
+    private float b;
+    private double c;
+    private byte d;
+    private char e;
+    private boolean f;
+    private short g;
+    private long h;
+    private String s;
+    private Object o;
+
+
+    public PrimitiveFieldsType()
+    {
+        this(0, 0.0f, 0.0, (byte) 0, '\0', false, (short) 0, 0L, null, null);
+    }
+
+
+    public PrimitiveFieldsType(int a,
+                      float b,
+                      double c,
+                      byte d,
+                      char e,
+                      boolean f,
+                      short g,
+                      long h,
+                      String s,
+                      Object o)
+    {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+        this.e = e;
+        this.f = f;
+        this.g = g;
+        this.h = h;
+        this.s = s;
+        this.o = o;
+    }
+
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (!(other instanceof PrimitiveFieldsType))
+        {
+            return false;
+        }
+
+        PrimitiveFieldsType that = (PrimitiveFieldsType) other;
+
+        return a == that.a && Float.compare(b, that.b) == 0 && Double.compare(c, that.c) == 0 && d == that.d
+               && e == that.e && f == that.f && g == that.g && h == that.h
+               && (s == null ? that.s == null : s.equals(that.s)) && (o == null ? that.o == null : o.equals(that.o));
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(new Object[] {a, b, c, d, e, f, g, h, s, o});
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return String.format("PrimitiveFieldsType{a=%d, b=%s, c=%s, d=%d, e=%s, f=%s, g=%d, h=%d, s=%s, o=%s}",
+                             a, b, c, d, e, f, g, h, s, o);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * File: ReflectedPofExtractorFactoryTest.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.serialization;
+
+import junit.framework.Assert;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.reflect.PofValue;
+import com.tangosol.io.pof.reflect.PofValueParser;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.extractor.PofExtractor;
+
+/**
+ * The unit tests for the {@link ReflectedPofExtractorFactory}.
+ */
+public class ReflectedPofExtractorFactoryTest
+{
+    /**
+     * The {@link ConfigurablePofContext} in which the test types use {@link ReflectiveSerializer}s.
+     */
+    private static ConfigurablePofContext pofContext;
+
+
+    @BeforeClass
+    public static void beforeClass() throws Exception
+    {
+        pofContext = new ConfigurablePofContext("com/oracle/coherence/common/serialization/pof-config.xml");
+    }
+
+
+    @Test
+    public void testExtractDeclaredField()
+    {
+        BasicType type = new BasicType();
+        type.init();
+
+        PofExtractor extractor = new ReflectedPofExtractorFactory(pofContext).createExtractor(BasicType.class, "c");
+
+        Assert.assertEquals("AABCDEFGG", extract(extractor, ExternalizableHelper.toBinary(type, pofContext)));
+    }
+
+
+    @Test
+    public void testExtractSuperClassField()
+    {
+        BasicType type = new BasicType();
+        type.init();
+
+        Binary binary = ExternalizableHelper.toBinary(type, pofContext);
+        ReflectedPofExtractorFactory factory = new ReflectedPofExtractorFactory(pofContext);
+
+        // fields of the BaseType super class are nested in the value at index 0
+        Assert.assertEquals("AAABBBCCC", extract(factory.createExtractor(BasicType.class, "second"), binary));
+        Assert.assertEquals(768955, ((Number) extract(factory.createExtractor(BasicType.class, "bb"), binary))
+            .intValue());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownField()
+    {
+        new ReflectedPofExtractorFactory(pofContext).createExtractor(BasicType.class, "unknown");
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPortableObjectType()
+    {
+        // the fields of types implementing PortableObject aren't known to the ReflectedSerializer
+        new ReflectedPofExtractorFactory(pofContext).createExtractor(PortableObjectType.class, "bb");
+    }
+
+
+    /**
+     * Extracts a value from a serialized {@link Binary} (without deserializing it).
+     *
+     * @param extractor The {@link PofExtractor}
+     * @param binary    The serialized value
+     *
+     * @return The extracted value
+     */
+    private Object extract(PofExtractor extractor,
+                           Binary binary)
+    {
+        PofValue root = PofValueParser.parse(binary, pofContext);
+
+        return extractor.getNavigator().navigate(root).getValue();
+    }
+}
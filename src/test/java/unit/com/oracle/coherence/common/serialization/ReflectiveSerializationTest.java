@@ -22,15 +22,27 @@
 package com.oracle.coherence.common.serialization;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import junit.framework.Assert;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.oracle.coherence.common.serialization.fieldserializers.CollectionFieldSerializer;
+import com.oracle.coherence.common.serialization.fieldserializers.PrimitiveCollectionFieldSerializer;
 import com.tangosol.io.ByteArrayWriteBuffer;
 import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.PofBufferReader;
+import com.tangosol.util.ExternalizableHelper;
 
 /**
  * The unit tests for {@link ReflectiveSerializer}s.
@@ -157,6 +169,54 @@ public class ReflectiveSerializationTest
     }
 
 
+    @Test
+    public void testPrimitiveCollectionTypeSerialization() throws IOException
+    {
+        PrimitiveCollectionType type = new PrimitiveCollectionType();
+        type.init();
+
+        ByteArrayWriteBuffer buffer = new ByteArrayWriteBuffer(1000);
+        Assert.assertEquals(0, buffer.length());
+
+        pofContext.serialize(buffer.getBufferOutput(), type);
+
+        PrimitiveCollectionType copy = (PrimitiveCollectionType) pofContext.deserialize(buffer.getReadBuffer()
+            .getBufferInput());
+
+        copy.verify();
+    }
+
+
+    @Test
+    public void testPrimitiveCollectionWithNullElementsSerialization() throws IOException
+    {
+        PrimitiveCollectionType type = new PrimitiveCollectionType();
+        type.initWithNullElements();
+
+        ByteArrayWriteBuffer buffer = new ByteArrayWriteBuffer(1000);
+        Assert.assertEquals(0, buffer.length());
+
+        pofContext.serialize(buffer.getBufferOutput(), type);
+
+        PrimitiveCollectionType copy = (PrimitiveCollectionType) pofContext.deserialize(buffer.getReadBuffer()
+            .getBufferInput());
+
+        copy.verifyWithNullElements();
+    }
+
+
+    @Test
+    public void testPrimitiveCollectionEncodingIsOptIn() throws NoSuchFieldException
+    {
+        DefaultFieldSerializationProvider provider = new DefaultFieldSerializationProvider();
+
+        Assert.assertTrue(provider.getFieldSerializer(PrimitiveCollectionType.class.getDeclaredField("ids"), null)
+                          instanceof PrimitiveCollectionFieldSerializer);
+        Assert.assertTrue(provider.getFieldSerializer(PrimitiveCollectionType.class.getDeclaredField("boxedIds"), null)
+                          instanceof CollectionFieldSerializer);
+    }
+
+
     @Test
     public void testVersionedTypeV0Serialization() throws IOException
     {
@@ -360,6 +420,187 @@ public class ReflectiveSerializationTest
     }
 
 
+    @Test
+    public void testColumnarArraySerialization() throws IOException
+    {
+        ColumnarType type = new ColumnarType();
+        type.init();
+
+        ((ColumnarType) ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(type, pofContext),
+                                                        pofContext)).verify();
+    }
+
+
+    @Test
+    public void testColumnarArrayRejectsSubclassElements() throws IOException
+    {
+        ColumnarType type = new ColumnarType();
+        type.initWithSubclassElement();
+
+        try
+        {
+            ExternalizableHelper.toBinary(type, pofContext);
+
+            Assert.fail("Expected the sub-class element to be rejected");
+        }
+        catch (RuntimeException e)
+        {
+            Throwable cause = e;
+
+            while (cause != null && !(cause instanceof IllegalArgumentException))
+            {
+                cause = cause.getCause();
+            }
+
+            Assert.assertNotNull(cause);
+            Assert.assertTrue(cause.getMessage().contains(ColumnarType.VolumeTick.class.getName()));
+        }
+    }
+
+
+    @Test
+    public void testBulkSerialization() throws IOException
+    {
+        DefaultReflectedPofSerializer reflectedContext =
+            (DefaultReflectedPofSerializer) ReflectiveSerializer.pofContext;
+        List<SimpleType> types = new ArrayList<SimpleType>();
+        int individualLength = 0;
+
+        for (int i = 0; i < 3; i++)
+        {
+            SimpleType type = new SimpleType();
+            type.init();
+            types.add(type);
+
+            individualLength += simpleTypePofStream.length;
+        }
+
+        ByteArrayWriteBuffer buffer = new ByteArrayWriteBuffer(1000);
+
+        reflectedContext.serializeAll(buffer.getBufferOutput(), SimpleType.class, types, pofContext);
+
+        // the user type identifier is only written once
+        Assert.assertTrue(buffer.length() < individualLength);
+
+        Iterator<Object> iterator = reflectedContext.deserializeAll(buffer.getReadBuffer().getBufferInput(),
+                                                                    pofContext);
+        int count = 0;
+
+        while (iterator.hasNext())
+        {
+            ((SimpleType) iterator.next()).verify();
+            count++;
+        }
+
+        Assert.assertEquals(3, count);
+
+        // the objects are a regular pof uniform collection
+        Collection<?> collection = new PofBufferReader(buffer.getReadBuffer().getBufferInput(), pofContext)
+            .readCollection(-1, new ArrayList<Object>());
+
+        Assert.assertEquals(3, collection.size());
+
+        for (Object object : collection)
+        {
+            ((SimpleType) object).verify();
+        }
+    }
+
+
+    @Test
+    public void testBulkSerializationOfEmptyCollection() throws IOException
+    {
+        DefaultReflectedPofSerializer reflectedContext =
+            (DefaultReflectedPofSerializer) ReflectiveSerializer.pofContext;
+        ByteArrayWriteBuffer buffer = new ByteArrayWriteBuffer(10);
+
+        reflectedContext.serializeAll(buffer.getBufferOutput(), SimpleType.class, new ArrayList<SimpleType>(),
+                                      pofContext);
+
+        Assert.assertFalse(reflectedContext.deserializeAll(buffer.getReadBuffer().getBufferInput(), pofContext)
+            .hasNext());
+    }
+
+
+    @Test
+    public void testLazyFieldAccess() throws IOException
+    {
+        BasicType type = new BasicType();
+        type.init();
+
+        LazyReflectedObject lazy = new LazyReflectedObject(ExternalizableHelper.toBinary(type, pofContext),
+                                                           pofContext);
+
+        Assert.assertEquals(BasicType.class, lazy.getType());
+        Assert.assertEquals(33, lazy.getFieldValue("a"));
+        Assert.assertEquals("AAABBBCCC", lazy.getFieldValue("second"));
+
+        lazy.getObject();
+        ((BasicType) lazy.getObject()).verify();
+    }
+
+
+    @Test
+    public void testStatistics() throws IOException
+    {
+        DefaultReflectedPofSerializer reflectedContext =
+            (DefaultReflectedPofSerializer) ReflectiveSerializer.pofContext;
+
+        reflectedContext.setStatisticsEnabled(true);
+
+        try
+        {
+            SimpleType type = new SimpleType();
+            type.init();
+
+            ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(type, pofContext), pofContext);
+
+            ReflectedTypeStatistics statistics = reflectedContext.getStatistics().get(SimpleType.class);
+
+            Assert.assertEquals(1, statistics.getSerializedCount());
+            Assert.assertEquals(1, statistics.getDeserializedCount());
+        }
+        finally
+        {
+            reflectedContext.setStatisticsEnabled(false);
+        }
+
+        Assert.assertTrue(reflectedContext.getStatistics().isEmpty());
+    }
+
+
+    @Test
+    public void testStatisticsMBeansAreDistinctPerContext() throws Exception
+    {
+        ObjectName pattern = new ObjectName(String.format("com.oracle.coherence.common:type=ReflectedTypeStatistics,"
+                                                          + "name=%s,*", ObjectName.quote(SimpleType.class.getName())));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        DefaultReflectedPofSerializer first = new DefaultReflectedPofSerializer(
+            new DefaultFieldSerializationProvider());
+        DefaultReflectedPofSerializer second = new DefaultReflectedPofSerializer(
+            new DefaultFieldSerializationProvider());
+
+        first.setStatisticsEnabled(true);
+        second.setStatisticsEnabled(true);
+
+        try
+        {
+            first.ensurePofSerializer(SimpleType.class, pofContext);
+            second.ensurePofSerializer(SimpleType.class, pofContext);
+
+            Assert.assertEquals(2, server.queryNames(pattern, null).size());
+        }
+        finally
+        {
+            first.setStatisticsEnabled(false);
+            second.setStatisticsEnabled(false);
+        }
+
+        Assert.assertTrue(server.queryNames(pattern, null).isEmpty());
+    }
+
+
     public static String createByteArrayStatment(byte[] array)
     {
         return String.format("public static final byte[] var = new byte[] {%s};", dumpArrayAsString(array));
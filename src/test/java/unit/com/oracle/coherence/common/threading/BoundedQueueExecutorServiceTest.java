@@ -0,0 +1,347 @@
+/*
+ * File: BoundedQueueExecutorServiceTest.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.threading;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService.OverflowPolicy;
+
+/**
+ * The {@link BoundedQueueExecutorServiceTest} exercises the {@link OverflowPolicy}s of a
+ * {@link BoundedQueueExecutorService}.
+ */
+public class BoundedQueueExecutorServiceTest
+{
+
+    /**
+     * Ensure that the submitting thread executes a {@link Runnable} when the queue is full.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testCallerRuns() throws InterruptedException
+    {
+        BoundedQueueExecutorService executor = new BoundedQueueExecutorService(1,
+                                                                               1,
+                                                                               OverflowPolicy.CALLER_RUNS,
+                                                                               ThreadFactories.newThreadFactory(true,
+                                                                                                                "Test",
+                                                                                                                null));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger callerCount = new AtomicInteger();
+        final Thread caller = Thread.currentThread();
+
+        try
+        {
+            executor.execute(new BlockingRunnable(started, release));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // fills the queue
+            executor.execute(new BlockingRunnable(new CountDownLatch(1), new CountDownLatch(0)));
+
+            // overflows the queue
+            executor.execute(new Runnable()
+            {
+                public void run()
+                {
+                    if (Thread.currentThread() == caller)
+                    {
+                        callerCount.incrementAndGet();
+                    }
+                }
+            });
+
+            Assert.assertEquals(1, callerCount.get());
+            Assert.assertEquals(1, executor.getCallerRunsCount());
+            Assert.assertEquals(1, executor.getQueueDepth());
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Ensure that a waiting {@link KeyedRunnable} is replaced by one with the same key when the queue is full.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testCoalesce() throws InterruptedException
+    {
+        BoundedQueueExecutorService executor = new BoundedQueueExecutorService(1,
+                                                                               1,
+                                                                               OverflowPolicy.COALESCE,
+                                                                               ThreadFactories.newThreadFactory(true,
+                                                                                                                "Test",
+                                                                                                                null));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch executed = new CountDownLatch(1);
+        AtomicInteger value = new AtomicInteger();
+
+        try
+        {
+            executor.execute(new BlockingRunnable(started, release));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            executor.execute(new SettingRunnable("key", value, 1, executed));
+            executor.execute(new SettingRunnable("key", value, 2, executed));
+
+            Assert.assertEquals(1, executor.getCoalescedCount());
+            Assert.assertEquals(1, executor.getQueueDepth());
+
+            release.countDown();
+            Assert.assertTrue(executed.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(2, value.get());
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Ensure that a {@link Future} discarded to make space in the queue is cancelled.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testDropOldestCancelsFuture() throws InterruptedException
+    {
+        BoundedQueueExecutorService executor = new BoundedQueueExecutorService(1,
+                                                                               1,
+                                                                               OverflowPolicy.DROP_OLDEST,
+                                                                               ThreadFactories.newThreadFactory(true,
+                                                                                                                "Test",
+                                                                                                                null));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try
+        {
+            executor.execute(new BlockingRunnable(started, release));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // fills the queue
+            Future<?> oldest = executor.submit(new BlockingRunnable(new CountDownLatch(1), new CountDownLatch(0)));
+
+            // overflows the queue
+            Future<?> newest = executor.submit(new BlockingRunnable(new CountDownLatch(1), new CountDownLatch(0)));
+
+            Assert.assertTrue(oldest.isCancelled());
+            Assert.assertFalse(newest.isCancelled());
+            Assert.assertEquals(1, executor.getDroppedCount());
+            Assert.assertEquals(1, executor.getQueueDepth());
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Ensure that {@link KeyedRunnable}s submitted as {@link Future}s are coalesced, cancelling the replaced
+     * {@link Future}.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCoalesceSubmit() throws Exception
+    {
+        BoundedQueueExecutorService executor = new BoundedQueueExecutorService(1,
+                                                                               1,
+                                                                               OverflowPolicy.COALESCE,
+                                                                               ThreadFactories.newThreadFactory(true,
+                                                                                                                "Test",
+                                                                                                                null));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch executed = new CountDownLatch(1);
+        AtomicInteger value = new AtomicInteger();
+
+        try
+        {
+            executor.execute(new BlockingRunnable(started, release));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            Future<?> replaced = executor.submit(new SettingRunnable("key", value, 1, executed));
+            Future<?> replacement = executor.submit(new SettingRunnable("key", value, 2, executed));
+
+            Assert.assertTrue(replaced.isCancelled());
+            Assert.assertEquals(1, executor.getCoalescedCount());
+            Assert.assertEquals(1, executor.getQueueDepth());
+
+            release.countDown();
+            replacement.get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(2, value.get());
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Ensure that a thread of a {@link BoundedQueueExecutorService} executes a {@link Runnable} it submits to a full
+     * queue rather than blocking (forever) with the {@link OverflowPolicy#BLOCK} policy.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 10000)
+    public void testBlockFromExecutingThread() throws Exception
+    {
+        final BoundedQueueExecutorService executor = new BoundedQueueExecutorService(1,
+                                                                                     1,
+                                                                                     OverflowPolicy.BLOCK,
+                                                                                     ThreadFactories
+                                                                                         .newThreadFactory(true,
+                                                                                                           "Test",
+                                                                                                           null));
+        final AtomicInteger workerCount = new AtomicInteger();
+
+        try
+        {
+            Future<?> future = executor.submit(new Runnable()
+            {
+                public void run()
+                {
+                    final Thread worker = Thread.currentThread();
+
+                    // fills the queue
+                    executor.execute(new BlockingRunnable(new CountDownLatch(1), new CountDownLatch(0)));
+
+                    // overflows the queue
+                    executor.execute(new Runnable()
+                    {
+                        public void run()
+                        {
+                            if (Thread.currentThread() == worker)
+                            {
+                                workerCount.incrementAndGet();
+                            }
+                        }
+                    });
+                }
+            });
+
+            future.get();
+
+            Assert.assertEquals(1, workerCount.get());
+            Assert.assertEquals(1, executor.getCallerRunsCount());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * A {@link Runnable} that signals it has started and then waits to be released.
+     */
+    private static class BlockingRunnable implements Runnable
+    {
+        private final CountDownLatch started;
+
+        private final CountDownLatch release;
+
+
+        BlockingRunnable(CountDownLatch started,
+                         CountDownLatch release)
+        {
+            this.started = started;
+            this.release = release;
+        }
+
+
+        public void run()
+        {
+            started.countDown();
+
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    /**
+     * A {@link KeyedRunnable} that sets a value.
+     */
+    private static class SettingRunnable implements KeyedRunnable
+    {
+        private final Object key;
+
+        private final AtomicInteger target;
+
+        private final int value;
+
+        private final CountDownLatch executed;
+
+
+        SettingRunnable(Object key,
+                        AtomicInteger target,
+                        int value,
+                        CountDownLatch executed)
+        {
+            this.key = key;
+            this.target = target;
+            this.value = value;
+            this.executed = executed;
+        }
+
+
+        public Object getKey()
+        {
+            return key;
+        }
+
+
+        public void run()
+        {
+            target.set(value);
+            executed.countDown();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * File: PartitionOrderedExecutorServiceTest.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.threading;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.oracle.coherence.common.threading.BoundedQueueExecutorService.OverflowPolicy;
+
+/**
+ * The {@link PartitionOrderedExecutorServiceTest} ensures that a {@link PartitionOrderedExecutorService} executes
+ * {@link PartitionedRunnable}s in order per partition and concurrently across partitions.
+ */
+public class PartitionOrderedExecutorServiceTest
+{
+
+    /**
+     * Ensure that the {@link PartitionedRunnable}s of a partition are executed in the order they were submitted.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testOrderPerPartition() throws InterruptedException
+    {
+        PartitionOrderedExecutorService executor = newExecutor(4);
+
+        int partitionCount = 7;
+        int runnableCount = 1000;
+        List<List<Integer>> executed = new ArrayList<List<Integer>>();
+        CountDownLatch completed = new CountDownLatch(partitionCount * runnableCount);
+
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++)
+        {
+            executed.add(Collections.synchronizedList(new ArrayList<Integer>()));
+        }
+
+        try
+        {
+            for (int i = 0; i < runnableCount; i++)
+            {
+                for (int partitionId = 0; partitionId < partitionCount; partitionId++)
+                {
+                    executor.execute(new RecordingRunnable(partitionId, i, executed.get(partitionId), completed));
+                }
+            }
+
+            Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+
+            for (List<Integer> sequence : executed)
+            {
+                Assert.assertEquals(runnableCount, sequence.size());
+
+                for (int i = 0; i < runnableCount; i++)
+                {
+                    Assert.assertEquals(i, sequence.get(i).intValue());
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Ensure that a blocked partition doesn't prevent the {@link PartitionedRunnable}s of a partition in another
+     * lane from executing.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testPartitionsExecuteConcurrently() throws InterruptedException
+    {
+        PartitionOrderedExecutorService executor = newExecutor(2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+
+        try
+        {
+            executor.execute(new PartitionedRunnable()
+            {
+                public int getPartitionId()
+                {
+                    return 0;
+                }
+
+
+                public void run()
+                {
+                    started.countDown();
+
+                    try
+                    {
+                        release.await(10, TimeUnit.SECONDS);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            executor.execute(new RecordingRunnable(1, 0, new ArrayList<Integer>(), completed));
+
+            Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Ensure that the number of lanes can't change once a {@link Runnable} has been submitted.
+     */
+    @Test
+    public void testLaneCountFixedOnceUsed()
+    {
+        PartitionOrderedExecutorService executor = newExecutor(2);
+
+        try
+        {
+            executor.setLaneCount(3);
+            Assert.assertEquals(3, executor.getLaneCount());
+
+            executor.execute(new RecordingRunnable(0, 0, new ArrayList<Integer>(), new CountDownLatch(1)));
+
+            try
+            {
+                executor.setLaneCount(4);
+                Assert.fail("The number of lanes changed after the executor was used");
+            }
+            catch (IllegalStateException illegalStateException)
+            {
+                Assert.assertEquals(3, executor.getLaneCount());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Creates a {@link PartitionOrderedExecutorService} with unbounded lanes.
+     *
+     * @param laneCount The number of lanes
+     *
+     * @return A {@link PartitionOrderedExecutorService}
+     */
+    private PartitionOrderedExecutorService newExecutor(int laneCount)
+    {
+        return new PartitionOrderedExecutorService(laneCount,
+                                                   Integer.MAX_VALUE,
+                                                   OverflowPolicy.BLOCK,
+                                                   ThreadFactories.newThreadFactory(true, "Test", null));
+    }
+
+
+    /**
+     * A {@link PartitionedRunnable} that records its sequence number when executed.
+     */
+    private static class RecordingRunnable implements PartitionedRunnable
+    {
+        private final int partitionId;
+
+        private final int sequence;
+
+        private final List<Integer> executed;
+
+        private final CountDownLatch completed;
+
+
+        RecordingRunnable(int partitionId,
+                          int sequence,
+                          List<Integer> executed,
+                          CountDownLatch completed)
+        {
+            this.partitionId = partitionId;
+            this.sequence = sequence;
+            this.executed = executed;
+            this.completed = completed;
+        }
+
+
+        public int getPartitionId()
+        {
+            return partitionId;
+        }
+
+
+        public void run()
+        {
+            executed.add(sequence);
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * File: TicketAggregatorTest.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.ticketing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+/**
+ * <p>Unit tests for the {@link TicketAggregator} and {@link CompactTicketAggregator} implementations.</p>
+ */
+public class TicketAggregatorTest
+{
+
+    /**
+     * Test that a {@link TicketAggregator} produces its results in the original forms.
+     */
+    @Test
+    public void testTicketAggregatorResults()
+    {
+        TicketAggregator aggregator = new TicketAggregator("getTicket");
+
+        Object partial = aggregatePartial(aggregator);
+        assertEquals(TreeSet.class, partial.getClass());
+
+        Object result = aggregateFinal(aggregator, partial);
+        assertEquals(LinkedList.class, result.getClass());
+        assertTicketBooks(result);
+    }
+
+
+    /**
+     * Test that a {@link CompactTicketAggregator} produces its results as {@link TicketBookList}s.
+     */
+    @Test
+    public void testCompactTicketAggregatorResults()
+    {
+        TicketAggregator aggregator = new CompactTicketAggregator("getTicket");
+
+        Object partial = aggregatePartial(aggregator);
+        assertTrue(partial instanceof TicketBookList);
+
+        Object result = aggregateFinal(aggregator, partial);
+        assertTrue(result instanceof TicketBookList);
+        assertTicketBooks(result);
+    }
+
+
+    /**
+     * Performs the first (non-final) pass of an aggregation over some {@link Ticket}s.
+     *
+     * @param aggregator The {@link TicketAggregator}
+     *
+     * @return The partial result
+     */
+    private Object aggregatePartial(TicketAggregator aggregator)
+    {
+        aggregator.init(false);
+        aggregator.process(new Ticket(1, 3), false);
+        aggregator.process(new Ticket(1, 1), false);
+        aggregator.process(new Ticket(1, 2), false);
+        aggregator.process(new Ticket(2, 5), false);
+
+        return aggregator.finalizeResult(false);
+    }
+
+
+    /**
+     * Performs the second (final) pass of an aggregation over a partial result.
+     *
+     * @param aggregator The {@link TicketAggregator}
+     * @param partial    The partial result
+     *
+     * @return The final result
+     */
+    private Object aggregateFinal(TicketAggregator aggregator,
+                                  Object partial)
+    {
+        aggregator.init(true);
+        aggregator.process(partial, true);
+
+        return aggregator.finalizeResult(true);
+    }
+
+
+    /**
+     * Asserts the {@link TicketBook}s of a final result.
+     *
+     * @param result The final result
+     */
+    @SuppressWarnings("unchecked")
+    private void assertTicketBooks(Object result)
+    {
+        List<TicketBook> ticketBooks = (List<TicketBook>) result;
+
+        assertEquals(2, ticketBooks.size());
+        assertEquals(1, ticketBooks.get(0).getIssuerId());
+        assertEquals(1, ticketBooks.get(0).getFrom());
+        assertEquals(3, ticketBooks.get(0).getTo());
+        assertEquals(2, ticketBooks.get(1).getIssuerId());
+        assertEquals(5, ticketBooks.get(1).getFrom());
+        assertEquals(5, ticketBooks.get(1).getTo());
+    }
+}
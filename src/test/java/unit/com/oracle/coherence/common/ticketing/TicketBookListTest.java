@@ -0,0 +1,61 @@
+/*
+ * File: TicketBookListTest.java
+ * 
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ * 
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ * 
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ * 
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ * 
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.ticketing;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.tangosol.util.ExternalizableHelper;
+
+/**
+ * <p>Unit tests for the {@link TicketBookList} implementation.</p>
+ */
+public class TicketBookListTest
+{
+
+    /**
+     * Test that a {@link TicketBookList} survives serialization.
+     */
+    @Test
+    public void testTicketBookListSerialization()
+    {
+        TicketBookList list = new TicketBookList(Arrays.asList(new TicketBook(1, 100, 199),
+                                                               new TicketBook(1, 250, 250),
+                                                               new TicketBook(7, 1, 10),
+                                                               new TicketBook(1, 300, 400),
+                                                               new TicketBook(2)));
+
+        TicketBookList copy = (TicketBookList) ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(list));
+
+        assertEquals(list.size(), copy.size());
+
+        for (int i = 0; i < list.size(); i++)
+        {
+            assertEquals(list.get(i).getIssuerId(), copy.get(i).getIssuerId());
+            assertEquals(list.get(i).getFrom(), copy.get(i).getFrom());
+            assertEquals(list.get(i).getTo(), copy.get(i).getTo());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * File: LongArrayListTest.java
+ *
+ * Copyright (c) 2011. All Rights Reserved. Oracle Corporation.
+ *
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * This software is the confidential and proprietary information of Oracle
+ * Corporation. You shall not disclose such confidential and proprietary
+ * information and shall use it only in accordance with the terms of the license
+ * agreement you entered into with Oracle Corporation.
+ *
+ * Oracle Corporation makes no representations or warranties about the
+ * suitability of the software, either express or implied, including but not
+ * limited to the implied warranties of merchantability, fitness for a
+ * particular purpose, or non-infringement. Oracle Corporation shall not be
+ * liable for any damages suffered by licensee as a result of using, modifying
+ * or distributing this software or its derivatives.
+ *
+ * This notice may not be removed or altered.
+ */
+package com.oracle.coherence.common.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * <p>Unit Tests for the {@link LongArrayList} class.</p>
+ */
+public class LongArrayListTest
+{
+    /**
+     * Test adding, inserting and removing elements.
+     */
+    @Test
+    public void testListOperations()
+    {
+        LongArrayList list = new LongArrayList(1);
+
+        list.addLong(1);
+        list.add(3L);
+        list.add(1, 2L);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), list);
+        assertEquals(Long.valueOf(2L), list.remove(1));
+        assertEquals(Arrays.asList(1L, 3L), list);
+        assertEquals(Long.valueOf(3L), list.set(1, 4L));
+        assertEquals(4L, list.getLong(1));
+    }
+
+
+    /**
+     * Test wrapping and copying primitive arrays.
+     */
+    @Test
+    public void testPrimitiveArrays()
+    {
+        long[] elements = new long[] {5, 6, 7};
+        LongArrayList list = new LongArrayList(elements);
+
+        assertEquals(3, list.size());
+        assertArrayEquals(elements, list.toLongArray());
+
+        list.clear();
+
+        assertEquals(0, list.size());
+        assertArrayEquals(new long[0], list.toLongArray());
+    }
+
+
+    /**
+     * Test accessing an element beyond the size of the list.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds()
+    {
+        new LongArrayList(new long[4]).subList(0, 2).get(2);
+    }
+}
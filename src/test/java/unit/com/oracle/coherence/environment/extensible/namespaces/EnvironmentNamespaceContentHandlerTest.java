@@ -23,6 +23,10 @@ package com.oracle.coherence.environment.extensible.namespaces;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,7 +36,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import com.oracle.coherence.common.threading.PartitionOrderedExecutorService;
 import com.oracle.coherence.environment.Environment;
 import com.oracle.coherence.environment.extensible.ConfigurationContext;
 import com.oracle.coherence.environment.extensible.ConfigurationException;
@@ -138,4 +145,40 @@ public class EnvironmentNamespaceContentHandlerTest
         Object result = handler.onElement(context, new QualifiedName(elem), elem);
         assertEquals(result.getClass(), Point.class);
     }
+
+
+    /**
+     * Test environment:partitioned-executor registers a PartitionOrderedExecutorService (which an Environment
+     * doesn't have until configured).
+     * 
+     * @throws ConfigurationException if there is a configuration error
+     */
+    @Test
+    public void testEnvironmentPartitionedExecutor() throws ConfigurationException
+    {
+        Environment env = mock(Environment.class);
+
+        doAnswer(new Answer<Object>()
+        {
+            public Object answer(InvocationOnMock invocation)
+            {
+                return invocation.getArguments()[1];
+            }
+        }).when(env).registerResource(eq(PartitionOrderedExecutorService.class), any());
+
+        ConfigurationContext context = new DefaultConfigurationContext(env);
+
+        StringBuilder sb = new StringBuilder("<environment:partitioned-executor threads=\"2\"/>");
+        XmlElement elem = XmlHelper.loadXml(sb.toString());
+
+        EnvironmentNamespaceContentHandler handler = new EnvironmentNamespaceContentHandler();
+        Object result = handler.onElement(context, new QualifiedName(elem), elem);
+
+        assertTrue(result instanceof PartitionOrderedExecutorService);
+        assertEquals(2, ((PartitionOrderedExecutorService) result).getLaneCount());
+
+        verify(env).registerResource(PartitionOrderedExecutorService.class, result);
+
+        ((PartitionOrderedExecutorService) result).shutdown();
+    }
 }